@@ -0,0 +1,273 @@
+package com.danield.passwordgenerator;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Diceware} class represents a passphrase generator: the words of a passphrase are drawn uniformly from a {@link WordList}.
+ * <p>
+ * Every word adds log2(size of the list) bits of entropy, e.g. 12.9 bits with a list of 7776 words. The separator and the
+ * capitalization do not add entropy, they are fixed. You can define the number of words, the separator and the capitalization.
+ * <p>
+ * The separator must not occur in any word, otherwise different words could make up the same passphrase. Words that only differ
+ * in case are dropped when a wordlist gets {@link WordList#compile(java.io.File, java.io.File) compiled}, for the same reason.
+ * <p>
+ * An instance is not thread-safe.
+ * @author Daniel D
+ * @version 0.2
+ */
+public class Diceware {
+
+	/**
+	 * How the words of a passphrase are capitalized.
+	 */
+	public enum Capitalization {
+		/** As they are in the wordlist. */
+		NONE,
+		/** First letter of every word uppercase. */
+		FIRST_LETTER,
+		/** All letters uppercase. */
+		ALL
+	}
+
+	private final WordList wordList;
+	private final PwGen.RandomSource rnd = new PwGen.RandomSource();
+	private int wordCount = 6;
+	private String separator;
+	private Capitalization capitalization = Capitalization.NONE;
+
+	/**
+	 * The default configuration.
+	 * <p>
+	 * 6 words separated by '-', not capitalized.
+	 * @param wordList : the words to draw from
+	 * @throws IllegalArgumentException if a word contains '-'.
+	 */
+	public Diceware(WordList wordList) throws IllegalArgumentException {
+		this(wordList, "-");
+	}
+
+	/**
+	 * 6 words separated by {@code separator}, not capitalized.
+	 * @param wordList : the words to draw from
+	 * @param separator : the separator between the words, see {@link #setSeparator(String)}
+	 * @throws IllegalArgumentException if a word contains the separator.
+	 */
+	public Diceware(WordList wordList, String separator) throws IllegalArgumentException {
+		this(wordList, separator, Capitalization.NONE);
+	}
+
+	/**
+	 * 6 words separated by {@code separator}, capitalized by {@code capitalization}.
+	 * @param wordList : the words to draw from
+	 * @param separator : the separator between the words, see {@link #setSeparator(String)}
+	 * @param capitalization : the capitalization of the words
+	 * @throws IllegalArgumentException if a capitalized word contains the separator.
+	 */
+	public Diceware(WordList wordList, String separator, Capitalization capitalization) throws IllegalArgumentException {
+		this.wordList = wordList;
+		checkSeparator(separator, capitalization);
+		this.separator = separator;
+		this.capitalization = capitalization;
+	}
+
+	/**
+	 * Set the number of words.
+	 * @param wordCount
+	 * @throws IllegalArgumentException if the number of words is less than 1.
+	 */
+	public void setWordCount(int wordCount) throws IllegalArgumentException {
+
+		if (wordCount < 1) {
+			throw new IllegalArgumentException("the number of words must not be less than 1.");
+		}
+		this.wordCount = wordCount;
+
+	}
+
+	/**
+	 * @return the number of words
+	 */
+	public int getWordCount() {
+		return wordCount;
+	}
+
+	/**
+	 * Set the separator between the words.
+	 * <p>
+	 * Without a separator words can run into each other (e.g. "in" "to" and "into"), so the entropy is an upper bound.
+	 * @param separator : can be empty
+	 * @throws IllegalArgumentException if a word, capitalized like in a passphrase, contains the separator.
+	 */
+	public void setSeparator(String separator) throws IllegalArgumentException {
+		checkSeparator(separator, capitalization);
+		this.separator = separator;
+	}
+
+	/**
+	 * @return the separator between the words
+	 */
+	public String getSeparator() {
+		return separator;
+	}
+
+	/**
+	 * Set the capitalization of the words.
+	 * @param capitalization
+	 * @throws IllegalArgumentException if a word capitalized this way contains the separator.
+	 */
+	public void setCapitalization(Capitalization capitalization) throws IllegalArgumentException {
+		checkSeparator(separator, capitalization);
+		this.capitalization = capitalization;
+	}
+
+	/**
+	 * @return the capitalization of the words
+	 */
+	public Capitalization getCapitalization() {
+		return capitalization;
+	}
+
+	/**
+	 * @return the wordlist
+	 */
+	public WordList getWordList() {
+		return wordList;
+	}
+
+	/**
+	 * @return the entropy of a passphrase with the current configuration in bits
+	 */
+	public double getEntropy() {
+		return wordCount * wordList.getBitsPerWord();
+	}
+
+	/**
+	 * Generate one passphrase.
+	 * @return a new passphrase
+	 */
+	public String generate() {
+
+		char[] passphrase = generateChars();
+		String pw = new String(passphrase);
+		Arrays.fill(passphrase, '\0');
+		return pw;
+
+	}
+
+	/**
+	 * Generate one passphrase as a {@code char[]}, which (unlike a {@code String}) can be wiped after use.
+	 * <p>
+	 * The words are decoded from the mapped wordlist right into the array, no {@code String} is created.
+	 * @return a new passphrase
+	 */
+	public char[] generateChars() {
+
+		// Draw the words
+		int[] words = new int[wordCount];
+		int maxLength = separator.length() * (wordCount - 1);
+		for (int i = 0; i < wordCount; i++) {
+			words[i] = rnd.nextInt(wordList.size());
+			maxLength += wordList.getByteLength(words[i]);
+		}
+
+		// Build the passphrase
+		char[] passphrase = new char[maxLength];
+		int length = 0;
+		for (int i = 0; i < wordCount; i++) {
+			if (i > 0) {
+				separator.getChars(0, separator.length(), passphrase, length);
+				length += separator.length();
+			}
+			int wordLength = wordList.copy(words[i], passphrase, length);
+			capitalize(passphrase, length, wordLength, capitalization);
+			length += wordLength;
+		}
+		Arrays.fill(words, 0);
+		if (length == maxLength) {
+			return passphrase;
+		}
+
+		// Non-ASCII words take up less chars than bytes
+		char[] trimmed = Arrays.copyOf(passphrase, length);
+		Arrays.fill(passphrase, '\0');
+		return trimmed;
+
+	}
+
+
+	//########################################PRIVATE METHODS########################################
+
+	/**
+	 * Make sure no word contains the separator once it is capitalized, so every passphrase splits into its words in only one way.
+	 * @param separator : the separator
+	 * @param capitalization : the capitalization of the words
+	 * @throws IllegalArgumentException if a capitalized word contains the separator.
+	 */
+	private void checkSeparator(String separator, Capitalization capitalization) throws IllegalArgumentException {
+
+		if (separator.isEmpty()) {
+			return;
+		}
+		char[] word = new char[0];
+		try {
+			for (int i = 0; i < wordList.size(); i++) {
+				if (word.length < wordList.getByteLength(i)) {
+					Arrays.fill(word, '\0');
+					word = new char[wordList.getByteLength(i)];
+				}
+				int length = wordList.copy(i, word, 0);
+				capitalize(word, 0, length, capitalization);
+				if (indexOf(word, length, separator) != -1) {
+					throw new IllegalArgumentException(String.format("the separator occurs in the word \"%s\".", new String(word, 0, length)));
+				}
+			}
+		}
+		finally {
+			Arrays.fill(word, '\0');
+		}
+
+	}
+
+	/**
+	 * Find a string in the first chars of an array.
+	 * @param chars : the array
+	 * @param length : the number of chars to search
+	 * @param part : the string, not empty
+	 * @return the position of the string, {@code -1} if it does not occur
+	 */
+	private static int indexOf(char[] chars, int length, String part) {
+
+		for (int position = 0; position <= length - part.length(); position++) {
+			int j = 0;
+			while (j < part.length() && chars[position + j] == part.charAt(j)) {
+				j++;
+			}
+			if (j == part.length()) {
+				return position;
+			}
+		}
+		return -1;
+
+	}
+
+	/**
+	 * Capitalize one word of the passphrase.
+	 * @param passphrase : the passphrase
+	 * @param offset : the position of the word
+	 * @param length : the length of the word
+	 * @param capitalization : the capitalization
+	 */
+	private static void capitalize(char[] passphrase, int offset, int length, Capitalization capitalization) {
+
+		if (capitalization == Capitalization.FIRST_LETTER && length > 0) {
+			passphrase[offset] = Character.toUpperCase(passphrase[offset]);
+		}
+		else if (capitalization == Capitalization.ALL) {
+			for (int i = offset; i < offset + length; i++) {
+				passphrase[i] = Character.toUpperCase(passphrase[i]);
+			}
+		}
+
+	}
+
+}
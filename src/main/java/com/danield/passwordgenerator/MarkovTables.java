@@ -0,0 +1,205 @@
+package com.danield.passwordgenerator;
+
+/**
+ * The {@code MarkovTables} class holds the letter model of pronounceable passwords, see {@link PwGen#usePronounceable(boolean)}.
+ * <p>
+ * The model is a trigram Markov chain over the letters a-z: the next letter is drawn depending on the two letters before it.
+ * The transition probabilities were counted from English text (the license texts of a Debian system, about 36k words),
+ * contexts with few samples back off to the counts of the last letter. They are quantized to multiples of 1/256 and stored as a flat
+ * cumulative table, so a letter is sampled with one random byte and a binary search over the 26 letters, without boxing.
+ * <p>
+ * The probabilities of the table are the probabilities of the generator, so {@link #entropy(int)} is exact.
+ * <p>
+ * <b>Generated, do not edit the table by hand.</b> It is written by {@code MarkovTableGenerator} (src/tools/java), which documents
+ * the corpus, the back-off and the scaling, so the table can be reproduced.
+ * @author Daniel D
+ */
+final class MarkovTables {
+
+	/** Number of letters. */
+	static final int LETTERS = 26;
+	/** Marks the start of a password in a state. */
+	private static final int START = LETTERS;
+	/** Number of states: two letters (or {@link #START}) each. */
+	static final int STATES = (LETTERS + 1) * (LETTERS + 1);
+	/** State before the first letter. */
+	static final int INITIAL_STATE = START * (LETTERS + 1) + START;
+	/** Sum of the weights of every row. */
+	private static final int TOTAL_WEIGHT = 256;
+
+	/**
+	 * CUMULATIVE[state * LETTERS + letter] is the sum of the weights (out of {@value #TOTAL_WEIGHT}) of all letters up to and including {@code letter}.
+	 * The state of the letters {@code a, b} is {@code a * (LETTERS + 1) + b}.
+	 */
+	private static final char[] CUMULATIVE = (
+		  "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\003\003\003\003\003\003\003\003(((\317\317\317\364\364\364\364\377\377\u0100\u0100\u0100\u0100\u0100\u0100\000\00022UUU\222\240\240\307\307\307\307\307\307\311\313\313\377\377\377\377\377\u0100\u0100\024\024\024\206\320\320\320\320\334\342\342\342\343\343\344\344\344\344\346\346\346\364\364\364\u0100\u0100\012\012\034<DHKKOOOU[\207\210\214\217\316\353\360\360\365\366\376\u0100\u0100\000\000\000\000\024\212\212\212\212\212\212\212\212\212\212\212\212\212\212\u0100\u0100\u0100\u0100\u0100\u0100\u0100\034\034\034\034\271\271\323\323\324\324\324\324\324\324\324\324\324\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\001\001\001\003\003\003\003\003:}\357\357\357\357\367\367\371\371\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\307\307\307\307\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\001\001\001\001\013\022\022\022!!!\277\277\277\312\312\312\316\355\376\377\377\u0100\u0100\u0100\u0100#+++\236\236\236\236\240\240\240\240\247\247\262\323\323\323\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\001\001\010prr\177\177\203\203\204\204\204\207\211\211\211\211\236\304\306\306\306\306\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100\006\006\006\006\021\021\021 \042\042\042####\372\372\376\376\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\011\011\012\024]]ggzz~\200\200\200\200\200\200\226\227\274\274\274\274\274\u0100\u0100"
+		+ "\000\000\002\002fffhyy\202\202\202\202\244\244\244\244\334\373\u0100\u0100\u0100\u0100\u0100\u0100\006\006\006\006```b\354\354\354\354\354\354\355\355\355\355\360\373\377\377\377\377\u0100\u0100\000\000\000\000\000\000\002\002\002\002\002\002\002\002\002\002\002\002H\u0100\u0100\u0100\u0100\u0100\u0100\u0100CCCC\356\356\356\356\371\371\371\371\371\371\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\000\000\000\000\006\006\006\006KKKK^^qqqq\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000'''''''''//33333\310\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\001\001\031)QW\134k\203\203\203\242\242\252\252\252\252\353\360\373\373\373\373\373\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\007\007\007\007\007\007\007\007mm\336\336\336\336\336\336\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\202\202\202\202\366\366\366\366\366\366\366\366\366\366\366\366\367\367\367\367\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\033\033\033\033\033\036\036\036\036\036\036222<Rmw\375\375\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\362\362\362\362\363\363\363\363\372\372\372\372\372\372\377\377\377\377\377\377\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\000\000\000\000\241\241\241\241\241\241\241\241\241\241\304\304\304\304\304\u0100\u0100\u0100\u0100\u0100\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\000\000\000\000\000\000\002\002\002\002\002\002\002\003\003\003\003\003\006\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\026\026\026\026\026\026\026\026\026\026EErruuz\205\355\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\004\004\004\004\205\205\205\205\205\205\205\205\205\205\347\347\347\347\347\347\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\002\002\002\010\010\010\010\010\027\027\027\030\031\306\306\326\326\336\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100\243\243\243\243\257\257\257\257\316\316\316\316\316\324\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100555CIoooqqq\206\206\225\225\314\314\327\364\377\377\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\230\230\230\230\300\300\300\300\310\310\310\310\310\370\370\370\370\370\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100QQQQ````cccccciiiiii\371\371\371\371\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\035\035\035\035\035\035\035\035 J\224\225\323\323\335\337\337\345\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000oooo\351\351\351\351\351\351\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\000\000\000\000\012\012\012\012\327\327\327\343\343\343\345\345\345\354\366\366\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\037\260\260\265\265\265\303\315\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\023\023\023\023\023\023\023\023\023\023\023:??AA||\364\364\364\364\364\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\0009999\321\321\321\321\321\321\321\321\321\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\003\004\01145DDDDDDIO]]bb\330\356\365\365\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\002\002\012\012\012MMMMMMMMqqqq|\325\365\373\377\377\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\235\235\311\311\311\311\311\311\311\311\351\356\356\357\357\373\373\373\374\374\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100((\271\271\304\304\304\304\304\304\304\321\336\336\336\347\347\374\376\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\004/MMNNNNNSUZ\224\224\224\224\261\341\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\004\004\004\004\037\037\037#LLLMMMYYYYY\353\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\003\026\02611\306\306\306\306\306\306\373\373\373\373\376\376\377\377\377\377\u0100\u0100\001\001\001iiiiiiiim\215\310\310\324\324\343\355\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000R\201\201\201\302\302\302\306\306\306\343\343\343\350\350\360\u0100\u0100\u0100\u0100\u0100\u0100\264\264\264\264\273\273\273\273\334\334\334\351\351\351\351\351\351\360\360\360\376\376\376\376\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\000\000\000\001\001\001\001\001\001\0013399ee\267\267\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\026\026\030\035FTTTggg\211\211\211\267\267\267\267\301\301\301\311\311\311\u0100\u0100&444\275\275\275\275\277\277\277\277\277\313\321\344\344\344\377\377\u0100\u0100\u0100\u0100\u0100\u0100\001\001\007\024')**++++++++++\217\376\377\377\377\377\u0100\u0100\000\000\000\000\000fwwwwwww\216\216\260\260\307\307\307\357\u0100\u0100\u0100\u0100\u0100,,,,CCCCDDDUUUUUU\202\214\366\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\030\034&&SYYYkkkk\233\241\242\243\243\246\346\356\356\366\374\374\u0100\u0100"
+		+ "\000\000\013\013NNNOaaaaaab\205\205\205\333\371\u0100\u0100\u0100\u0100\u0100\u01005555fff\262\305\305\305\305\305\305\305\305\305\306\323\327\334\334\376\376\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\006\006\006\006\315\315\315\315\370\370\370\370\370\370\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\021\021JJ\204\204\204\215\221\221\221\221\221\221\221\256\256\256\256\u0100\u0100\u0100\u0100\u0100\u0100\u0100\007\007\007\007BBBB\306\306\306\306\306\306\343\343\343\343\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\226\226\226\226\226\226\324\324\324\362\365\365\365\365\365\365\375\375\375\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\002\00456SSSSSSSSSVVVV\370\375\375\375\375\u0100\u0100\u0100\u0100\000\000\000\000\314\314\314\314\370\370\370\370\370\370\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\002\002KK\213\221\222\222\222\222\222\301\301\334\334\334\334\355\355\373\373\376\376\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\020\020\020\020\020\020\354\354\354\u0100\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\010\010\010\010\213\213\213\213\240\240\240\240\240\240\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\000\000\000\000\030\030\030               \375\375\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000__\254\254\254\254\327\332\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\000\000\000\000\000\000\030\030\030\134\134hhhh\214\214\375\375\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000\000\023\023\023\023\023\023\023\023\0231\251\253\253\253\270\351\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100\000\001\001\001\001\001\001\001\001\001\001\003\003\003\005\005\005\005\005\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\016\022\022\022\022\022\022\022\022\022\022\022\231\231\231\231\231\232\232\232\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100####KKKKQQQQQQ[[[[[[\u0100\u0100\u0100\u0100\u0100\u0100\035\035\035\035$$$$333333nnnnuu|\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\323\323\323\323\375\375\375\375\377\377\377\377\377\377\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100qqqqqqqq\276\276\276\347\366\366\366\366\366\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\001\002\002\002\002\002\002\002\002\024\0248899JX\350\350\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\002\002\002\014\014\014\014\014\026\026\026\030$<===\320\352\365\365\365\365\365\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\010++-------//FGMMW\377\377\377\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\003\005\005\005\005\015\015\015:==ILLx\234\234\326\326\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\015\015\015\015iiiiiiiiii\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\005\005\005\005\021\027\027\027\027\027\027\031!!!!!!\356\u0100\u0100\u0100\u0100\u0100\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000''''''''''\244\245\333\333\333\333\333\333\376\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\004\004\004\004\022\022\022\042\042\042\042\042\042}}}\u0100\u0100\u0100\u0100\u0100\u01000000\323\323\323\345\354\354\354\356\356\356\356\356\356\356\357\370\u0100\u0100\u0100\u0100\u0100\u0100\002\002\002\002\343\343\343\343\352\352\352\354\354\354\354\354\354\354\354\354\u0100\u0100\u0100\u0100\u0100\u0100\000\000\002LLNNNNNNOOlllln\360\367\367\375\u0100\u0100\u0100\u0100\000\000\000\000\000\024\024\024\264\264\264\264\264\264\267\267\267\267\267\276\276\276\276\276\u0100\u0100\021\021\021\021\025\025\025\276\344\344\344\344\344\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\02649BNVVVVV^d\222\261\263\263\270\331\366\367\377\377\377\377\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100%%%&iiii\257\257\257\351\351\351\352\352\352\352\362\362\367\367\367\367\u0100\u0100\015\015\015\015OOOO\237\237\237\237\241\241\241\327\327\327\367\367\u0100\u0100\u0100\u0100\u0100\u0100\027\0273?S\134\303\303\317\317\325\326\326\326\326\327\327\327\344\370\371\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\002\002\373\373\373\373\375\375\375\u0100\u0100\u0100\u0100\u0100\u010066666666\265\265\265\306\306\306\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\002\002\0202\311\311\311\311\327\327\327\327\353\353\353\353\353\362\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\001\001\022\024155Veeggiijppq\207\u0100\u0100\u0100\u0100\u0100\u0100\u0100\014\014\014\014\032\032\032r\247\247\247\274\274\277\300\300\300\300\325\340\342\342\342\342\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100////\353\353\353\353\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\02649BNVVVVV^d\222\261\263\263\270\331\366\367\377\377\377\377\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000\000`|||||||\203\203\216\216\216\216\256\316\347\347\347\371\371\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\010\010\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\024++++++aaaaallmm\223\226\335\335\335\366\366\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\346\346\346\346\346\346\346\346\346\346\346\346\346\346\352\352\352\352\u0100\u0100\u0100\u0100  5^^a\177\177\177\177\177\202\220\233\233\233\233\241\355\376\376\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\0103\270\273\304\305\311\311\311\311\313\313\325\341\341\341\341\341\357\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\033\034\034\034SSSS``````\237\237\237\237\243\243\243\243\243\243\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\002\002\021\021\021\021\026\026\027\027\027\027\027@Lyyy\231\231\231\231\373\373\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\000\000\000\000++++++++++\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\017\017\017\017jjjq\263\263\263\263\263\263\263\263\263\263\272\272\305\305\305\305\u0100\u0100\000\000\000\271\273\273\273\273\273\273\273\273\305\306\306\306\306\321\371\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\007\030\030\030&&25Zaauuuu\200\201\256\256\256\256\260\u0100\u0100\000\000\000\000^^^^\353\353\353\374\374\374\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100))-?AAAAAAAAB\302\303\303\303\361\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\002\002\002\002\004\004\004\004\004\015\015WWWWW\216\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100\031\03111\254\254\254\254\274\274\274\274\274\274\350\350\350\350\350\350\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\265\265\265\265\265\265\265\265\265\265\303\303\303\303\330\347\356\361\370\370\370\370\u0100****1111III\304\304\304\342\342\342\344\344\361\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\025 .....\375\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\033   \042%%%%%\201\245\245\245\245\245\272\272\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\000\000\000\000SSSSaaa\311\311\311\347\347\347\347\347\375\u0100\u0100\u0100\u0100\u0100\u0100((((\247\247\247\247\356\356\356\356\356\356\365\365\365\365\374\374\u0100\u0100\u0100\u0100\u0100\u0100\001\001\016ERVYY[[[]]uxxx\307\326\343\343\343\375\377\u0100\u0100\003\003\003\003\006\006\006\006\011\011\011\026\026\026\233\233\233\376\376\376\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\226\232\232\232\260\260\260\306\306\306\310\310\310\310\332\336\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\006$$4=======A\206\207\207\214\214\227\362\362\365\365\365\365\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000rrrr\307\307\307\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000>>>>PPPPPPVVVVVVVVVV\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000MMMM\225\225\225\225\225\225\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\001\001\001\001\001\001\001\001\001\001\002\005\027\027\027\027\036\036\355\360\361\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\004\004\004\004\302\306\306\307\327\327\327\337\337\337\343\352\352\352\352\375\u0100\u0100\u0100\u0100\u0100\u0100\042\042\042\042PPPQ|||\202\202\202\211\211\211\300\351\351\351\351\351\351\u0100\u01009999RVVVVVVV\375\375\375\375\375\375\375\375\375\375\375\u0100\u0100\u0100jjjj\366\366\366\366\366\366\366\366\366\366\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\000\000\000\000\000\000\000\000\000\211\211\331\331\331\331\331\331\331\342\u0100\u0100\u0100\u0100\u0100\u0100\u0100\024\024\031\031\042\042\042\042,,,,,,/////1\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000dddd\334\334\334\334\334\334\334\334\334\334\336\336\372\372\373\373\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\337\337\337\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000---00000000000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\012\012\012\012\015\015\015\015\015\016\020\020\020\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000k\300\300\300\300\300\300\300\300\307\307\371\371\371\371\371\371\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020Y\210\210\210\210\212\212\212\334\334\334\337\337\337\337\350\350\373\u0100\u0100\u0100\u0100\u0100\022===````oooo\227\227\240\376\376\376\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\015\015\021-@BIILLLUUVVVVV\276\365\365\u0100\u0100\u0100\u0100\u0100\000\000\000$$$$$$$Hll\210\210\210\210\250\353\u0100\u0100\u0100\u0100\u0100\u0100\u0100\012\012\012\012***+NNNPRRRSSaammmmm\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\010\011\014\031%%))<<\235\240\311\312\313\320\320\332\352\371\371\371\372\372\u0100\u0100"
+		+ "\000\000\000\000\230\230\230\230\233\233\233\233\233\233\235\236\236\236\316\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\026\026\026\241\372\372\372\372\372\372\373\373\373\373\375\375\375\375\u0100\u0100\u0100\u0100\000\000\000\000\000\000\015\015\015\015\015%%FFFF\313\333\u0100\u0100\u0100\u0100\u0100\u0100\u0100\001\001\001\001\262\262\262\262\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000TTTT\226\226\226\264\264\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\024\024\024\024((,,,00FFHN\311\322\375\375\375\375\375\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\012\012EEIIIIIIIKK]aaa\374\375\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\017\017\315\315\315\315\315\315\315\361\361\361\361\361\361\374\375\375\375\375\375\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100////aaaa\312\312\312\312\312\312\316\316\316\316\316\316\326\326\326\326\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\000\000\000\000\000\004\004\004\006\006LLLL\224\372\375\375\375\u0100\u0100\u0100\u0100\005\005\005\005\031\031\031\031\031\031\031\323\323\323\340\340\340\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\002\002\002\002////IIIIII\377\377\377\377\377\377\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100&&&&////\347\347\347\352\352\352\352\352\352\352\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\263\263\263\263\263\263\263\263\263\263\263\263\263\263\263\263\335\335\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\000\000\000\000\000\000\000\000,,,333333\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\012\012\034<DHKKOOOU[\207\210\214\217\316\353\360\360\365\366\376\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\02649BNVVVVV^d\222\261\263\263\270\331\366\367\377\377\377\377\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\035\035\035\035kkkk\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\002\014\020\020\021\026\026\030\030\0304e\241\241\244\244\350\351\377\377\377\u0100\u0100\u0100\u0100\325\325\325\325\325\325\325\325\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\245\245\245\276\357\357\357\361\361\361\361\361\361\361\361\361\377\377\377\377\u0100\u0100\003\003\003\003,,,,\231\231\231\313\313\313\313\313\313\313\375\375\375\375\u0100\u0100\u0100\u0100\025\0274[\202\214\225\225\230\230\230\243\253\265\270\300\314\314\364\366\370\u0100\u0100\u0100\u0100\u0100\205\205\205\205\213\213\213\213\213\213\213\213\213\213\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\362\362\362\362\366\366\366\366\366\366\366\366\366\366\366\366\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\023kuu\177\177\302\302\302\302\302\305\306\332\336\341\341\341\345\361\361\376\376\376\376\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\013\013\013\013\016\016\016\016\016\016\016\016\016\016\360\360\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100,,,,::::\230\230\230\230\230\230\230\230\230\230\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01002222\227\227\227\227\316\316\316\316\330\330\330\330\330\330\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\004\007\030\030\031]````i\232\245\247\272\272\272\275\310\322\372\372\374\u0100\u0100\000\000\000\000\010\010\010\010\010\010\010\013\013\013\365\365\365\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\213\213\213\213\344\344\344\344\363\363\363\363\363\363\365\365\365\365\365\365\366\366\366\366\u0100\u0100"
+		+ "\001\001\001\001\021\021\021\033\351\351\351\351\351\351\361\361\361\361\361\377\u0100\u0100\u0100\u0100\u0100\u0100\034\034\034\034   2\273\273\273\274\274\274\274\274\274\274\317\317\317\317\317\317\u0100\u0100\010\0104<xxxxxxx\204\204\370\370\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\004\004\004\004\233\233\233\233\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\023\023\023\023\023\023\023\023\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\017\033\035\035%6688:H\233\236\236\236\236\303\303\342\342\342\342\342\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\014\014\014\014\020\020\020\032$$$\220\220\220\257\257\257\376\376\376\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000Gy\200\203\203\203\203\203\203\220\225\244\244\252\263\336\377\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100SSSS\227\227\227\227\272\272\272\272\272\272\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\024\031%%%777777>Y\355\355\355\355\365\372\372\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\222\222\222\222\222\222\222\222\227\227\227\227\227\227\227\227\227\227\227\227\227\227\227\227\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\004\004\006qqqqqq|\221\247\247\250\250\266\266\266\u0100\u0100\u0100\u0100\u0100\u0100\032\032\032\032\213\213\213\213\234\234\234\261\261\261\377\377\377\377\377\377\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\035\035\035\035kkkk\320\320\320\330\330\330\355\355\355\355\355\355\377\377\u0100\u0100\u0100\u0100====UUUUddddeeuuu\374\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\0026\255\255\260\263\264\264\277\277\277\310\321\321\321\342\342\375\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\010\010\010\010\010\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\0000====>>zz~\214\214\260\260\260\260\272\272\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\002\002\011FGGHHHHHMZ\202\202\203\203\340\352\352\352\354\355\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100\037\037\037\037\317\317\317\317\362\362\362\362\362\362\375\375\375\377\377\377\u0100\u0100\u0100\u0100\u0100\u0100\006\007$$.0111113;K\333\334\334\337\342\362\362\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\247\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\003\003\003\003\016\016\016\016\016\016/:MPP\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100++++1111\347\347\347\347\347\347\367\367\367\367\367\367\377\377\377\377\u0100\u0100"
+		+ "\000\000>>\250\250\250\250\316\316\316\316\316\316\355\355\355\355\355\u0100\u0100\u0100\u0100\u0100\u0100\u0100\035\035\035\035\321\321\321\321\325\325\325\331\331\331\335\363\363\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100PPPPPPPPSSSSSSSSS\262\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\324\324\324\324\335\335\335\335\342\342\342\342\342\342\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\000\000\000\000'''''\316\316\334\334\334\334\374\374\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\001\002\002\002\002\002\002\023\023\335\341\341\341\343\343\347\376\377\u0100\u0100\u0100\u0100\u0100\u0100\000\000\003\003\033\033\033\324\330\330\330\330\330\330\330\330\330\330\330\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\203\203\216\216\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000,,,,,,,,,,\347\347\347\347\347\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\000\000\000\000\000\000\030\372\372\372\372\372\372\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\007\011\011\011\011\011\011\011\013\013\013\013\013\013\243\266\340\340\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100III\247\264\270\270\270\270\270\270\322\322\322\322\322\322\322\322\u0100\u0100\u0100\u0100\u0100\u0100\u0100\003(((\356\356\356\356\360\360\360\360\360\360\360\363\363\363\374\374\374\u0100\u0100\u0100\u0100\u0100\002\002\027\306\314\315\315\315\327\327\330\344\347\354\354\355\355\357\361\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100\000\000\000\021\027\027\027\027\027\027\027...E\357\357\357\365\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\015\015xx\251\251\251\251\261\261\261\261\261\262\263\331\331\343\352\374\374\377\377\377\u0100\u0100"
+		+ "\004\004\004\004\237\237\237\237\266\266\266\274\274\274\274\274\274\274\274\377\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031\031nnn\207\301\301\301\301\301\301\362\366\366\366\372\372\u0100\u0100\u0100\u0100\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\001\001\001\001\001\001222ggpppp\264\264\u0100\u0100\u0100\u0100\u0100\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000\000\017\017\017\017\017\017\017\017\036\0373333\346\360\360\360\360\360\360\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\005\005\033\227\234\234\234\234\235\235\235\236\236\257\310\310\310\310\366\374\374\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000,,,,,,\204\204\241\371\371\371\371\371\371\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\000\000\000\000\000\000\000\006\006\006\006\006\022\022\022\022\347\356\356\356\356\356\356\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\010\013\0135IIIIIIIyyyyyy\246\246\246\246\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100\032\032\032\032gggg\275\275\275\275\275\275\377\377\377\377\377\377\377\377\377\377\u0100\u0100\000\000\000\010\010\010\010\010\010\010\011''::;;;Z\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\367\367\367\u0100\u0100\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\362\362\362\362\362\362\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\000\000\000\000z\177\177\217\217\217\217\366\366\366\366\366\366\366\366\366\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\000\000\301\306\306\306\306\306\306\306\306\313\315\315\315\315\315\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\02649BNVVVVV^d\222\261\263\263\270\331\366\367\377\377\377\377\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100\000\000\000\000\025\025\025\025\032\032\032xxxxxx\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\000\014\014\014vvvvvvvvvvvvv\204\364\364\u0100\u0100\u0100\u0100\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\232\232\232\334\334\334\334\334\334\334\334\334\334\334\334\334\334\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\000\000\001\001\001\001\001\001\001\001\001\001\012\012\012\012\012\012\012\377\377\377\377\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\000\000\000\000\000\000\000\000JJJJJJJJJJJ\u0100\u0100\u0100\u0100\u0100\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\011\025\033\033\035##,,/IS\211\211\217\217\264\302\360\363\366\370\370\u0100\u0100\013\013\013\013////@GG\177\200\200\211\211\211\251\256\257\342\342\342\342\u0100\u0100\022\022\027\027SSSjvvy\206\206\206\322\322\322\325\325\362\u0100\u0100\u0100\u0100\u0100\u0100\020\020\020\030yy{{\321\321\321\322\322\322\357\357\357\361\364\364\374\375\376\376\u0100\u0100\012\012\034<DHKKOOOU[\207\210\214\217\316\353\360\360\365\366\376\u0100\u0100\011\011\011\011\037---\134\134\134^^^\251\251\251\322\322\354\365\365\365\365\u0100\u0100\025\025\025\025ZZ^\214\244\244\244\247\250\275\301\304\304\370\372\372\u0100\u0100\u0100\u0100\u0100\u0100))))\266\266\266\266\331\331\331\331\331\331\356\356\356\360\360\376\377\377\377\377\u0100\u0100\006\02649BNVVVVV^d\222\261\263\263\270\331\366\367\377\377\377\377\u0100"
+		+ "\021\021\021\021\257\257\257\257\257\257\257\257\257\257\304\310\310\310\310\310\u0100\u0100\u0100\u0100\u0100\u0100\027\027\027\027}}}}\247\247\247\255\255\306\306\306\306\306\374\374\u0100\u0100\u0100\u0100\u0100\u0100\031\031\031 OQQQ\260\260\260\314\314\314\327\327\327\327\334\337\352\353\353\353\u0100\u0100:DEE\207\207\207\207\237\237\237\240\247\250\307\335\335\335\364\364\u0100\u0100\u0100\u0100\u0100\u0100\012\012\025?RUppvvxzz{\217\217\217\217\275\353\360\363\363\363\u0100\u0100\000\002\007\023\0245::;;;@L\203\205\222\222\305\312\331\363\373\u0100\u0100\u0100\u0100$$$$@@@BOOOlll\177\216\216\306\307\320\347\347\347\347\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\042#*.mnpp\227\227\244\245\264\265\315\317\317\325\345\357\361\363\364\364\u0100\u0100"
+		+ "\006\006\013\013bccn\213\213\214\216\217\217\252\263\263\263\303\355\377\377\377\377\u0100\u0100\014\014\014\014---\216\273\273\273\276\276\276\327\327\327\345\357\362\364\364\371\371\u0100\u0100\006\032*499<<DDDOb\200\200\203\203\244\312\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033\325\325\325\325\373\373\373\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u01003333EEEn\263\263\263\265\265\272\367\367\367\375\376\376\376\376\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\003\003\003\003\011\011\011\011\031\031\031\032\033\034\314\317\317\356\373\375\375\375\375\375\376\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\020\024\037(FMQ[qqr{\201\223\251\257\257\302\322\352\362\365\371\372\u0100\u0100"
+		+ "\000\007\024\037\037#)))))@A\263\263\304\304\322\354\365\375\u0100\u0100\u0100\u0100\u0100\032\032\032\032zzzz|||}}}\206\206\206\213\213\213\243\243\243\243\u0100\u0100\021\021\022\022\025\025\025#%%%---\371\371\371\376\376\376\u0100\u0100\u0100\u0100\u0100\u0100\022\022\022\022TTTT\261\261\261\261\261\261\371\371\371\373\373\374\u0100\u0100\u0100\u0100\u0100\u0100\032\032\032\035\035'''<<<FIyyy\200\201\203\204\204\232\232\u0100\u0100\u0100\014\014\014\014\022\022\022\022///111\254\254\254\362\362\362\u0100\u0100\u0100\u0100\u0100\u0100\002\002\002\002WWWW~~~~~\264\303\315\315\373\373\373\u0100\u0100\u0100\u0100\u0100\u0100mmmm\230\230\230\230\245\245\245\245\245\245\361\361\361\361\361\374\376\376\376\376\u0100\u0100\000\000\000\002\002!!!\042\042\042\042*\243\243\243\243\244\327\u0100\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "&&&&&&&&&&&&&&-<<<<<\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000<<<<\211\211\211\211\211\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\024\024\024\024''''\371\371\371\371\371\371\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100oooo\227\227\227\227\231\231\231\231\233\233\344\345\345\345\345\345\u0100\u0100\u0100\u0100\u0100\u0100\017\017\017\0178888888888\363\363\363\363\363\363\u0100\u0100\u0100\u0100\u0100\u0100\000\007\010\010\010{{{{{{{{\223\223\230\230\347\347\371\374\375\u0100\u0100\u0100\u0100:::;UUUWXXX___lll\324\324\324\u0100\u0100\u0100\u0100\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0100\u0100\u0100\u0100\u0100\u0100\004\004\004\004\307\307\307\307\361\361\361\361\361\361\370\370\370\370\370\370\u0100\u0100\u0100\u0100\u0100\u0100"
+		+ "\015\015\020\020??@T]]]]^^\244\260\261\261\261\307\374\374\374\374\u0100\u0100\001\001\001\001\020\020\020\306\313\313\313\313\313\313\372\372\372\376\376\376\376\376\377\377\u0100\u0100\000\000\000\000\000\000\000\000\000\000\000\000\000}}\202\202\202\375\377\u0100\u0100\u0100\u0100\u0100\u0100\017\017\017\017\344\344\344\344\364\364\364\364\364\364\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\033\033\033\033(((_\252\252\252\252\252\252\366\366\366\377\377\377\377\377\u0100\u0100\u0100\u0100\020\020FF\177\177\177\207\217\217\217\217\221\221\221\253\253\253\253\366\366\366\366\366\u0100\u0100\000\000\000\000\006\006\006\006\006\006\006\006\006\006\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100EEEE\251\251\251\251\372\372\372\372\372\372\372\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\u0100\027\03609?JNQcccoy\177\230\245\245\254\272\345\352\355\371\371\u0100\u0100"
+	).toCharArray();
+
+	private MarkovTables() {} // we don't want this class to be instantiated.
+
+	/**
+	 * Sample the next letter.
+	 * @param state : the state (the two letters before)
+	 * @param r : a uniformly distributed random number between {@code 0} and {@value #TOTAL_WEIGHT} (exclusive)
+	 * @return the letter, {@code 0} to {@code 25}
+	 */
+	static int sample(int state, int r) {
+
+		int low = state * LETTERS;
+		int high = low + LETTERS - 1;
+		while (low < high) { // first letter whose cumulative weight is larger than r
+			int mid = (low + high) >>> 1;
+			if (CUMULATIVE[mid] > r) {
+				high = mid;
+			}
+			else {
+				low = mid + 1;
+			}
+		}
+		return low - state * LETTERS;
+
+	}
+
+	/**
+	 * @param state : the state
+	 * @param letter : the next letter
+	 * @return the state after the letter
+	 */
+	static int next(int state, int letter) {
+		return state % (LETTERS + 1) * (LETTERS + 1) + letter;
+	}
+
+	/**
+	 * Compute the entropy of a sequence of letters drawn from the model.
+	 * <p>
+	 * The state is a function of the letters drawn so far, so the entropy is the sum of the expected entropies of every draw.
+	 * The distribution of the states is carried from one letter to the next.
+	 * @param length : the number of letters
+	 * @return the entropy in bits
+	 */
+	static double entropy(int length) {
+
+		double[] rowEntropy = new double[STATES];
+		for (int state = 0; state < STATES; state++) {
+			for (int letter = 0; letter < LETTERS; letter++) {
+				double p = probability(state, letter);
+				if (p > 0) {
+					rowEntropy[state] -= p * Math.log(p) / Math.log(2);
+				}
+			}
+		}
+
+		double entropy = 0;
+		double[] distribution = new double[STATES];
+		distribution[INITIAL_STATE] = 1;
+		for (int i = 0; i < length; i++) {
+			double[] nextDistribution = new double[STATES];
+			for (int state = 0; state < STATES; state++) {
+				if (distribution[state] == 0) {
+					continue;
+				}
+				entropy += distribution[state] * rowEntropy[state];
+				for (int letter = 0; letter < LETTERS; letter++) {
+					nextDistribution[next(state, letter)] += distribution[state] * probability(state, letter);
+				}
+			}
+			distribution = nextDistribution;
+		}
+		return entropy;
+
+	}
+
+	/**
+	 * @param state : the state
+	 * @param letter : the letter
+	 * @return the probability of the letter in the state
+	 */
+	private static double probability(int state, int letter) {
+
+		int index = state * LETTERS + letter;
+		int weight = CUMULATIVE[index] - (letter == 0 ? 0 : CUMULATIVE[index - 1]);
+		return (double)weight / TOTAL_WEIGHT;
+
+	}
+
+}
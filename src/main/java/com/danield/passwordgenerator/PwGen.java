@@ -1,37 +1,73 @@
 package com.danield.passwordgenerator;
 
-import java.util.Random;
-import java.util.List;
-import java.util.ArrayList;
-import java.lang.Character;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import javax.crypto.SecretKey;
+
+import com.danield.protector.AES;
 
 /**
  * The {@code PwGen} class represents a easy-to-use Password Generator.
  * <p>
  * All generated passwords will contain uppercase and lowercase letters, as well as numbers.
- * You can define the length and whether or not to use symbols.
+ * You can define the length, whether or not to use symbols and whether or not the passwords should be pronounceable.
+ * <p>
+ * One character of every required class is placed first, the rest is drawn from all classes and the password is shuffled (Fisher–Yates),
+ * so every password is valid without retrying. Passwords are built in a {@code char[]}: {@link #generate(long, Consumer)} produces
+ * any number of passwords without allocating per password or per character.
+ * <p>
+ * Bulk generation can run on several threads ({@link #generate(long, int, Consumer)}) and write an encrypted export
+ * ({@link #export(long, int, OutputStream, SecretKey, byte[])}). Every thread has its own {@link SecureRandom}, so the threads do not contend.
+ * <p>
+ * Pronounceable passwords ({@link #usePronounceable(boolean)}) are easier to type, e.g. from a phone screen: their letters come from a
+ * Markov model of English ({@link MarkovTables}), one of them uppercase, followed by a number (and a symbol). {@link #getEntropy()} tells
+ * how strong the passwords of either mode are.
+ * <p>
+ * An instance is not thread-safe, {@link #stream()} is.
  * @author Daniel D
- * @version 0.3
+ * @version 0.5
  */
 public class PwGen {
-	
-	private final String ERRMSG_PWTOSHORT = "the password length must not be less than 4.";
-	private final String SYMBOLS = ".,:;-_+*~#'^!\"§$/%&?\\=^<>|[](){}";
-	private final String LOWER_LETTERS = "abcdefghijklmnopqrstuvwxyz";
-	private final String UPPER_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-	private final String NUMBERS = "0123456789";
-	private final int shuffTimes = 200; // used by method ShuffleStrings()
-	private final Random rnd = new Random();
+
+	private static final String ERRMSG_PWTOSHORT = "the password length must not be less than 4.";
+	private static final char[] SYMBOLS = ".,:;-_+*~#'^!\"§$/%&?\\=<>|[](){}".toCharArray();
+	private static final char[] LOWER_LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+	private static final char[] UPPER_LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+	private static final char[] NUMBERS = "0123456789".toCharArray();
+	private static final char[] ALPHANUMERIC = concat(LOWER_LETTERS, UPPER_LETTERS, NUMBERS);
+	private static final char[] ALL_CHARACTERS = concat(ALPHANUMERIC, SYMBOLS);
+	private static final int BULK_BLOCK_SIZE = 4096; // passwords that one thread generates at once
+	private final RandomSource rnd = new RandomSource();
 	private boolean bSymbols = true;
+	private boolean bPronounceable = false;
 	private int length = 12;
-	
+
 	/**
 	 * The default configuration.
 	 * <p>
 	 * password length is 12 characters and symbols will be used.
 	 */
 	public PwGen() {}
-	
+
 	/**
 	 * Custom configuration.
 	 * @param length : the password length.
@@ -43,7 +79,7 @@ public class PwGen {
 		bSymbols = useSymbols;
 
 	}
-	
+
 	/**
 	 * Set password length.
 	 * @param length
@@ -51,7 +87,7 @@ public class PwGen {
 	public void setLength(int length) {
 		this.length = length;
 	}
-	
+
 	/**
 	 * Whether or not to use symbols.
 	 * @param symbols
@@ -60,6 +96,30 @@ public class PwGen {
 		bSymbols = symbols;
 	}
 
+	/**
+	 * Whether or not to generate pronounceable passwords.
+	 * @param pronounceable
+	 */
+	public void usePronounceable(boolean pronounceable) {
+		bPronounceable = pronounceable;
+	}
+
+	/**
+	 * Get the entropy of the passwords with the current configuration: the number of guesses (log2) an attacker who knows the configuration
+	 * needs on average.
+	 * <p>
+	 * It is computed from the distribution the passwords are drawn from, not estimated from the length and the alphabet:
+	 * random passwords are not uniform because of the guaranteed classes, pronounceable passwords follow the letter model.
+	 * @return the entropy in bits
+	 * @throws IllegalArgumentException if the password length is less than 4.
+	 */
+	public double getEntropy() throws IllegalArgumentException {
+
+		checkLength(this.length);
+		return bPronounceable ? pronounceableEntropy(length, bSymbols) : randomEntropy(length, bSymbols);
+
+	}
+
 	/**
 	 * Generate one password.
 	 * @return a new password
@@ -67,13 +127,11 @@ public class PwGen {
 	 */
 	public String generate() throws IllegalArgumentException {
 
-		if (this.length < 4) {
-			throw new IllegalArgumentException(ERRMSG_PWTOSHORT);
-		}
+		checkLength(this.length);
 		return calcPw();
 
 	}
-	
+
 	/**
 	 * Generate one password.
 	 * @param length : the password length.
@@ -82,14 +140,12 @@ public class PwGen {
 	 */
 	public String generate(int length) throws IllegalArgumentException {
 
-		if (length < 4) {
-			throw new IllegalArgumentException(ERRMSG_PWTOSHORT);
-		}
+		checkLength(length);
 		this.length = length;
 		return calcPw();
 
 	}
-	
+
 	/**
 	 * Generate one password
 	 * @param length : the password length.
@@ -99,121 +155,676 @@ public class PwGen {
 	 */
 	public String generate(int length, boolean symbols) {
 
-		if (length < 4) {
-			throw new IllegalArgumentException(ERRMSG_PWTOSHORT);
-		}
+		checkLength(length);
 		this.length = length;
 		bSymbols = symbols;
 		return calcPw();
 
 	}
-	
-	
-	//########################################PRIVATE METHODS########################################
-	
+
+	/**
+	 * Generate one password as a {@code char[]}, which (unlike a {@code String}) can be wiped after use.
+	 * @return a new password
+	 * @throws IllegalArgumentException if the password length is less than 4.
+	 */
+	public char[] generateChars() throws IllegalArgumentException {
+
+		checkLength(this.length);
+		char[] password = new char[length];
+		fill(password, bSymbols, bPronounceable, rnd);
+		return password;
+
+	}
+
+	/**
+	 * Generate many passwords, e.g. for a bulk credential rotation.
+	 * <p>
+	 * All passwords are generated into the same array, which gets wiped at the end: the sink has to use or copy
+	 * the password before it returns. No memory is allocated per password.
+	 * @param n : the number of passwords
+	 * @param sink : receives the passwords one after another
+	 * @throws IllegalArgumentException if the password length is less than 4 or {@code n} is negative.
+	 */
+	public void generate(long n, Consumer<char[]> sink) throws IllegalArgumentException {
+
+		checkLength(this.length);
+		checkCount(n);
+		char[] password = new char[length];
+		try {
+			for (long i = 0; i < n; i++) {
+				fill(password, bSymbols, bPronounceable, rnd);
+				sink.accept(password);
+			}
+		}
+		finally {
+			Arrays.fill(password, '\0');
+		}
+
+	}
+
 	/**
-	 * Swaps two chars at specified indices in a string.
-	 * @param str : the string.
-	 * @param i0 : index 1.
-	 * @param i1 : index 2.
-	 * @return a new string
+	 * Generate many passwords on several threads, e.g. to rotate the credentials of many accounts at once.
+	 * <p>
+	 * The work is split into blocks of {@value #BULK_BLOCK_SIZE} passwords on a {@link ForkJoinPool}. Every thread has its own
+	 * {@link SecureRandom} (DRBG) and its own password array, so the threads share nothing and the throughput grows with the cores.
+	 * Like {@link #generate(long, Consumer)}, the sink has to use or copy the password before it returns. The arrays get wiped at the end.
+	 * @param n : the number of passwords
+	 * @param parallelism : the number of threads, {@code 1} generates on the calling thread
+	 * @param sink : receives the passwords, <b>gets called by several threads at once</b>
+	 * @throws IllegalArgumentException if the password length is less than 4 or {@code n} is negative.
+	 * @throws InterruptedException if the calling thread gets interrupted while waiting
 	 */
-	private String swap(String str, int i0, int i1) {
+	public void generate(long n, int parallelism, Consumer<char[]> sink) throws IllegalArgumentException, InterruptedException {
+
+		if (parallelism <= 1) {
+			generate(n, sink);
+			return;
+		}
+		checkLength(this.length);
+		checkCount(n);
 
-		char[] ca = str.toCharArray();
-		char tmp = ca[i0];
-		ca[i0] = ca[i1];
-		ca[i1] = tmp;
-		return new String(ca);
+		ConcurrentLinkedQueue<Worker> workers = new ConcurrentLinkedQueue<Worker>();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.submit(() -> forEachBlock(n, workers, (worker, count) -> {
+				for (int i = 0; i < count; i++) {
+					sink.accept(worker.next());
+				}
+			})).get();
+		}
+		catch (ExecutionException e) {
+			throw e.getCause() instanceof RuntimeException ? (RuntimeException)e.getCause() : new IllegalStateException(e.getCause());
+		}
+		finally {
+			pool.shutdownNow();
+			workers.forEach(Worker::wipe);
+		}
 
 	}
-	
+
 	/**
-	 * Make sure that the password contains at least 1 lower 1 upper 1 number (1 symbol)
+	 * Generate many passwords on several threads like {@link #generate(long, int, Consumer)} and write them encrypted.
+	 * <p>
+	 * The passwords are written one per line (UTF-8, {@code '\n'}) in random order and encrypted as a stream of separately authenticated
+	 * chunks, see {@link AES#encrypt(ReadableByteChannel, java.nio.channels.WritableByteChannel, SecretKey, byte[])}. They are never
+	 * written unencrypted and only a few blocks are held in memory at once, the blocks get wiped once they are encrypted.
+	 * Read the export with {@link AES#decrypt(java.io.InputStream, OutputStream, SecretKey, byte[])}.
+	 * @param n : the number of passwords
+	 * @param parallelism : the number of threads that generate passwords, the calling thread encrypts them
+	 * @param out : receives the encrypted passwords, is not closed
+	 * @param secretKey : the key which the passwords should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws IllegalArgumentException if the password length is less than 4 or {@code n} is negative.
+	 * @throws Exception if the passwords can not be encrypted or written. <b>the data written so far has to be discarded then.</b>
+	 */
+	public long export(long n, int parallelism, OutputStream out, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		checkLength(this.length);
+		checkCount(n);
+		int lineByteLength = 3 * length + 1; // a char takes up to 3 bytes in UTF-8
+
+		ConcurrentLinkedQueue<Worker> workers = new ConcurrentLinkedQueue<Worker>();
+		BlockChannel channel = new BlockChannel(2 * Math.max(1, parallelism));
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+		try {
+			ForkJoinTask<?> generation = pool.submit(() -> {
+				try {
+					forEachBlock(n, workers, (worker, count) -> {
+						ByteBuffer block = ByteBuffer.allocate(count * lineByteLength);
+						for (int i = 0; i < count; i++) {
+							encodeLine(worker.next(), block);
+						}
+						channel.put(block.flip());
+					});
+				}
+				catch (RuntimeException | Error e) {
+					channel.finish(e);
+					throw e;
+				}
+				channel.finish(null);
+			});
+			long written = AES.encrypt(channel, Channels.newChannel(out), secretKey, additionalAuthenticationData);
+			generation.get();
+			return written;
+		}
+		catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+		}
+		finally {
+			pool.shutdownNow();
+			channel.close();
+			workers.forEach(Worker::wipe);
+		}
+
+	}
+
+	/**
+	 * Get an infinite stream of passwords with the current configuration, limit it with {@link Stream#limit(long)}.
+	 * <p>
+	 * Every password is a new array that the consumer should wipe after use. The stream can be parallel,
+	 * every thread draws from its own random generator.
+	 * @return the stream of passwords
+	 * @throws IllegalArgumentException if the password length is less than 4.
+	 */
+	public Stream<char[]> stream() throws IllegalArgumentException {
+
+		checkLength(this.length);
+		int length = this.length;
+		boolean symbols = bSymbols;
+		boolean pronounceable = bPronounceable;
+		ThreadLocal<RandomSource> sources = ThreadLocal.withInitial(RandomSource::new);
+		return Stream.generate(() -> {
+			char[] password = new char[length];
+			fill(password, symbols, pronounceable, sources.get());
+			return password;
+		});
+
+	}
+
+	/**
+	 * Make sure that the password contains at least 1 lower 1 upper 1 number (1 symbol, if symbols are used)
 	 * @param pw : the password to validate.
 	 * @return {@code true} if the password meets the requirements, {@code false} otherwise.
 	 */
-	private boolean validatePassword(String pw) {
+	public boolean validatePassword(char[] pw) {
 
 		boolean lower = false;
 		boolean upper = false;
 		boolean digit = false;
 		boolean symbol = false;
-		char[] tmp = pw.toCharArray();
-		
+
 		// check
-		for (int i = 0; i < tmp.length; i++) {
-			if (!digit && Character.isDigit(tmp[i])) { digit = true; continue; }
-			if (!lower || !upper && Character.isLetter(tmp[i])) {
-				if (!lower && Character.isLowerCase(tmp[i])) { lower = true; continue; }
-				if (!upper && Character.isUpperCase(tmp[i])) { upper = true; continue; }
-			}
-			if (bSymbols && !symbol && !Character.isLetter(tmp[i]) && !Character.isDigit(tmp[i])) { symbol = true; }
+		for (char c : pw) {
+			if (Character.isDigit(c)) { digit = true; }
+			else if (Character.isLowerCase(c)) { lower = true; }
+			else if (Character.isUpperCase(c)) { upper = true; }
+			else if (!Character.isLetter(c)) { symbol = true; }
 		}
-		
+
 		// return
-		if (lower && upper && digit) {
-			if (bSymbols && symbol) { return true; }
-			else if (bSymbols && !symbol) { return false; }
-			else { return true; }
+		return lower && upper && digit && (symbol || !bSymbols);
+
+	}
+
+
+	//########################################PRIVATE METHODS########################################
+
+	/**
+	 * @param length : the password length.
+	 * @throws IllegalArgumentException if the password length is less than 4.
+	 */
+	private static void checkLength(int length) throws IllegalArgumentException {
+
+		if (length < 4) {
+			throw new IllegalArgumentException(ERRMSG_PWTOSHORT);
 		}
-		return false;
 
 	}
-	
+
+	/**
+	 * @param n : the number of passwords.
+	 * @throws IllegalArgumentException if the number is negative.
+	 */
+	private static void checkCount(long n) throws IllegalArgumentException {
+
+		if (n < 0) {
+			throw new IllegalArgumentException("the number of passwords must not be negative.");
+		}
+
+	}
+
+	/**
+	 * Split the generation of passwords into blocks and generate them in parallel. Has to be called inside the {@link ForkJoinPool} that should run the blocks.
+	 * <p>
+	 * Every thread of the pool gets its own {@link Worker} with the current configuration.
+	 * @param n : the number of passwords
+	 * @param workers : receives the workers, so they can be wiped
+	 * @param block : generates one block with a worker, gets the number of passwords in the block
+	 */
+	private void forEachBlock(long n, ConcurrentLinkedQueue<Worker> workers, ObjIntConsumer<Worker> block) {
+
+		int length = this.length;
+		boolean symbols = bSymbols;
+		boolean pronounceable = bPronounceable;
+		ThreadLocal<Worker> worker = ThreadLocal.withInitial(() -> {
+			Worker w = new Worker(length, symbols, pronounceable);
+			workers.add(w);
+			return w;
+		});
+		long blocks = (n + BULK_BLOCK_SIZE - 1) / BULK_BLOCK_SIZE;
+		LongStream.range(0, blocks).parallel()
+			.forEach(b -> block.accept(worker.get(), (int)Math.min(BULK_BLOCK_SIZE, n - b * BULK_BLOCK_SIZE)));
+
+	}
+
+	/**
+	 * Append a password and a line break to a buffer, encoded in UTF-8.
+	 * @param password : the password
+	 * @param buffer : receives the encoded line
+	 */
+	private static void encodeLine(char[] password, ByteBuffer buffer) {
+
+		for (char c : password) {
+			if (c < 0x80) {
+				buffer.put((byte)c);
+			}
+			else if (c < 0x800) {
+				buffer.put((byte)(0xc0 | c >> 6)).put((byte)(0x80 | c & 0x3f));
+			}
+			else {
+				buffer.put((byte)(0xe0 | c >> 12)).put((byte)(0x80 | c >> 6 & 0x3f)).put((byte)(0x80 | c & 0x3f));
+			}
+		}
+		buffer.put((byte)'\n');
+
+	}
+
 	/**
 	 * Password Generator
 	 * @return the new password
 	 */
 	private String calcPw() {
 
-		char[] characters = shuffleStrings().toCharArray();
-		String password = "";
-		
-		// Generate random numbers
-		List<Integer> rndNums = new ArrayList<Integer>();
-		while (rndNums.size() != length)
-			rndNums.add(rnd.nextInt(characters.length));
-		
-		// Generate one password
-		while (password.length() != length) {
-			password += characters[rndNums.get(0)];
-			rndNums.remove(0);
-		}
-		
-		// Make sure to return a valid password
-		if (!validatePassword(password)) { return calcPw(); }
-		return password;
+		char[] password = new char[length];
+		fill(password, bSymbols, bPronounceable, rnd);
+		String pw = new String(password);
+		Arrays.fill(password, '\0');
+		return pw;
 
 	}
-	
+
 	/**
-	 * Combine multiple strings into one large string,
-	 * then shuffle positions "shuffTimes" times.
-	 * This method is supposed to add extra randomness to the generator.
-	 * @return the shuffled string
+	 * Generate one password into an array.
+	 * @param password : receives the password, its length is the password length (at least 4)
+	 * @param symbols : whether or not to use symbols
+	 * @param pronounceable : whether or not the password should be pronounceable
+	 * @param random : the random source
 	 */
-	private String shuffleStrings() {
+	private static void fill(char[] password, boolean symbols, boolean pronounceable, RandomSource random) {
 
-		String shuffStr = LOWER_LETTERS + UPPER_LETTERS + NUMBERS;
-		if (bSymbols) {
-			shuffStr += SYMBOLS;
+		if (pronounceable) {
+			fillPronounceable(password, symbols, random);
 		}
-		
-		// Generate random numbers
-		List<Integer> rndNums = new ArrayList<Integer>();
-		while (rndNums.size() < shuffTimes) {
-			rndNums.add(rnd.nextInt(shuffStr.length()-1));
+		else {
+			fillRandom(password, symbols, random);
 		}
 
-		// Swap 2 chars
-		while (rndNums.size() >= 2) {
-			shuffStr = swap(shuffStr, rndNums.get(0), rndNums.get(1));
-			rndNums.remove(0);
-			rndNums.remove(0);
+	}
+
+	/**
+	 * Generate one random password into an array.
+	 * <p>
+	 * The first positions get one character of every required class, all other positions a character of any class.
+	 * A Fisher–Yates shuffle then moves the required characters to random positions.
+	 * @param password : receives the password, its length is the password length (at least 4)
+	 * @param symbols : whether or not to use symbols
+	 * @param random : the random source
+	 */
+	private static void fillRandom(char[] password, boolean symbols, RandomSource random) {
+
+		// Place one character of every class
+		int i = 0;
+		password[i++] = random.pick(LOWER_LETTERS);
+		password[i++] = random.pick(UPPER_LETTERS);
+		password[i++] = random.pick(NUMBERS);
+		if (symbols) {
+			password[i++] = random.pick(SYMBOLS);
+		}
+
+		// Fill the rest
+		char[] characters = symbols ? ALL_CHARACTERS : ALPHANUMERIC;
+		while (i < password.length) {
+			password[i++] = random.pick(characters);
+		}
+
+		// Shuffle
+		for (int j = password.length - 1; j > 0; j--) {
+			int k = random.nextInt(j + 1);
+			char tmp = password[j];
+			password[j] = password[k];
+			password[k] = tmp;
+		}
+
+	}
+
+	/**
+	 * Generate one pronounceable password into an array.
+	 * <p>
+	 * The letters are drawn from the {@link MarkovTables letter model}, one of them is made uppercase.
+	 * A number and (if symbols are used) a symbol follow at the end, so the keyboard only has to be switched once.
+	 * @param password : receives the password, its length is the password length (at least 4)
+	 * @param symbols : whether or not to use symbols
+	 * @param random : the random source
+	 */
+	private static void fillPronounceable(char[] password, boolean symbols, RandomSource random) {
+
+		// Letters
+		int letters = password.length - (symbols ? 2 : 1);
+		int state = MarkovTables.INITIAL_STATE;
+		for (int i = 0; i < letters; i++) {
+			int letter = MarkovTables.sample(state, random.nextInt(256));
+			password[i] = LOWER_LETTERS[letter];
+			state = MarkovTables.next(state, letter);
+		}
+		int upper = random.nextInt(letters);
+		password[upper] = UPPER_LETTERS[password[upper] - 'a'];
+
+		// Number and symbol
+		password[letters] = random.pick(NUMBERS);
+		if (symbols) {
+			password[letters + 1] = random.pick(SYMBOLS);
+		}
+
+	}
+
+	/**
+	 * Compute the entropy of random passwords, see {@link #fillRandom(char[], boolean, RandomSource)}.
+	 * <p>
+	 * A password with {@code n_c} characters of class {@code c} is generated by {@code Π n_c} choices of where the required characters went,
+	 * so P(password) = Π n_c * (L - m)! / L! / Π |c| / |alphabet|^(L - m) with {@code m} required classes.
+	 * Every {@code n_c} is 1 + Binomial(L - m, |c| / |alphabet|), which gives the expectation of log P.
+	 * @param length : the password length
+	 * @param symbols : whether or not symbols are used
+	 * @return the entropy in bits
+	 */
+	private static double randomEntropy(int length, boolean symbols) {
+
+		int[] classSizes = symbols ? new int[] { LOWER_LETTERS.length, UPPER_LETTERS.length, NUMBERS.length, SYMBOLS.length }
+		                           : new int[] { LOWER_LETTERS.length, UPPER_LETTERS.length, NUMBERS.length };
+		int alphabetSize = symbols ? ALL_CHARACTERS.length : ALPHANUMERIC.length;
+		int free = length - classSizes.length;
+
+		double[] logFactorial = new double[length + 1];
+		for (int i = 1; i <= length; i++) {
+			logFactorial[i] = logFactorial[i - 1] + Math.log(i);
+		}
+
+		double logP = logFactorial[free] - logFactorial[length] - free * Math.log(alphabetSize); // without the class terms
+		for (int classSize : classSizes) {
+			logP -= Math.log(classSize);
+			double p = (double)classSize / alphabetSize;
+			for (int k = 0; k <= free; k++) { // E[log(1 + Binomial(free, p))]
+				double logBinomial = logFactorial[free] - logFactorial[k] - logFactorial[free - k] + k * Math.log(p) + (free - k) * Math.log1p(-p);
+				logP += Math.exp(logBinomial) * Math.log(1 + k);
+			}
+		}
+		return -logP / Math.log(2);
+
+	}
+
+	/**
+	 * Compute the entropy of pronounceable passwords, see {@link #fillPronounceable(char[], boolean, RandomSource)}.
+	 * <p>
+	 * Different letters, uppercase positions, numbers or symbols always give different passwords, so their entropies add up.
+	 * @param length : the password length
+	 * @param symbols : whether or not symbols are used
+	 * @return the entropy in bits
+	 */
+	private static double pronounceableEntropy(int length, boolean symbols) {
+
+		int letters = length - (symbols ? 2 : 1);
+		double entropy = MarkovTables.entropy(letters) + log2(letters) + log2(NUMBERS.length);
+		return symbols ? entropy + log2(SYMBOLS.length) : entropy;
+
+	}
+
+	/**
+	 * @param x : a positive number
+	 * @return the logarithm to base 2
+	 */
+	private static double log2(double x) {
+		return Math.log(x) / Math.log(2);
+	}
+
+	/**
+	 * Combine multiple character arrays into one.
+	 * @param parts : the arrays
+	 * @return the combined array
+	 */
+	private static char[] concat(char[]... parts) {
+
+		StringBuilder sb = new StringBuilder();
+		for (char[] part : parts) {
+			sb.append(part);
+		}
+		return sb.toString().toCharArray();
+
+	}
+
+	/**
+	 * The state of one thread in bulk generation: its own random source and password array.
+	 */
+	private static final class Worker {
+
+		private final RandomSource random = new RandomSource();
+		private final char[] password;
+		private final boolean symbols;
+		private final boolean pronounceable;
+
+		private Worker(int length, boolean symbols, boolean pronounceable) {
+			this.password = new char[length];
+			this.symbols = symbols;
+			this.pronounceable = pronounceable;
+		}
+
+		/**
+		 * @return the next password, in the same array as the previous one
+		 */
+		private char[] next() {
+
+			fill(password, symbols, pronounceable, random);
+			return password;
+
+		}
+
+		private void wipe() {
+			Arrays.fill(password, '\0');
+		}
+
+	}
+
+	/**
+	 * A channel that reads the blocks of an export in the order they have been generated. Read blocks get wiped.
+	 * <p>
+	 * The channel ends after {@link #finish(Throwable)}. If the generation failed, reading fails instead of ending,
+	 * so the encrypted stream does not get finished.
+	 */
+	private static final class BlockChannel implements ReadableByteChannel {
+
+		private static final ByteBuffer END = ByteBuffer.allocate(0);
+		private final BlockingQueue<ByteBuffer> blocks;
+		private volatile Throwable failure = null;
+		private volatile boolean isOpen = true;
+		private ByteBuffer current = null;
+
+		private BlockChannel(int capacity) {
+			this.blocks = new ArrayBlockingQueue<ByteBuffer>(capacity);
+		}
+
+		/**
+		 * Add a block, waits while the channel is full.
+		 * @param block : the block
+		 * @throws IllegalStateException if the channel gets closed or the thread gets interrupted while waiting (the export has been cancelled)
+		 */
+		private void put(ByteBuffer block) {
+
+			try {
+				while (!blocks.offer(block, 100, TimeUnit.MILLISECONDS)) {
+					if (!isOpen) {
+						throw new InterruptedException();
+					}
+				}
+				if (!isOpen) {
+					close(); // nobody reads anymore
+				}
+			}
+			catch (InterruptedException e) {
+				Arrays.fill(block.array(), (byte)0);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("export has been cancelled.", e);
+			}
+
+		}
+
+		/**
+		 * End the channel after the last block.
+		 * @param failure : why the generation failed, {@code null} if it succeeded
+		 */
+		private void finish(Throwable failure) {
+
+			this.failure = failure;
+			try {
+				while (isOpen && !blocks.offer(END, 100, TimeUnit.MILLISECONDS)) {}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+
+			if (current == END) {
+				return -1;
+			}
+			int read = 0;
+			while (dst.hasRemaining()) {
+				if (current == null || !current.hasRemaining()) {
+					if (current != null) {
+						Arrays.fill(current.array(), (byte)0);
+					}
+					try {
+						current = read == 0 ? blocks.take() : blocks.poll(); // only wait if nothing has been read
+					}
+					catch (InterruptedException e) {
+						throw new InterruptedIOException("export has been interrupted.");
+					}
+					if (current == END && failure != null) {
+						throw new IOException("password generation failed.", failure);
+					}
+					if (current == END || current == null) {
+						break;
+					}
+				}
+				int count = Math.min(dst.remaining(), current.remaining());
+				dst.put(dst.position(), current, current.position(), count).position(dst.position() + count);
+				current.position(current.position() + count);
+				read += count;
+			}
+			return read == 0 && current == END ? -1 : read;
+
+		}
+
+		@Override
+		public boolean isOpen() {
+			return isOpen;
+		}
+
+		/**
+		 * Wipe all blocks that have not been read.
+		 */
+		@Override
+		public synchronized void close() {
+
+			isOpen = false;
+			if (current != null) {
+				Arrays.fill(current.array(), (byte)0);
+			}
+			for (ByteBuffer block = blocks.poll(); block != null; block = blocks.poll()) {
+				Arrays.fill(block.array(), (byte)0);
+			}
+
+		}
+
+	}
+
+	/**
+	 * A {@link SecureRandom} that draws its random bytes in blocks, so picking a character does not allocate memory.
+	 * <p>
+	 * Uses the DRBG, which allocates the least per block, if available. Characters are picked from single bytes (rejecting the bytes
+	 * that would favor the first characters), so a password uses about one random byte per character. Used bytes get wiped.
+	 * <p>
+	 * Not thread-safe.
+	 */
+	static final class RandomSource {
+
+		private static final int BLOCK_BYTE_LENGTH = 4096;
+		private final SecureRandom random;
+		private final byte[] block = new byte[BLOCK_BYTE_LENGTH];
+		private int position = BLOCK_BYTE_LENGTH;
+
+		RandomSource() {
+			this(newSecureRandom());
+		}
+
+		RandomSource(SecureRandom random) {
+			this.random = random;
+		}
+
+		/**
+		 * @return a new DRBG, or the default {@link SecureRandom} if there is none
+		 */
+		private static SecureRandom newSecureRandom() {
+
+			try {
+				return SecureRandom.getInstance("DRBG");
+			}
+			catch (NoSuchAlgorithmException e) {
+				return new SecureRandom();
+			}
+
+		}
+
+		/**
+		 * @param characters : the characters to pick from
+		 * @return a uniformly chosen character
+		 */
+		char pick(char[] characters) {
+			return characters[nextInt(characters.length)];
+		}
+
+		/**
+		 * Get a uniformly distributed int. Draws that would favor small values are rejected.
+		 * @param bound : the upper bound (exclusive), must be positive
+		 * @return an int between {@code 0} (inclusive) and {@code bound} (exclusive)
+		 */
+		int nextInt(int bound) {
+
+			if (bound <= 256) {
+				int limit = 256 - 256 % bound;
+				int bits;
+				do {
+					bits = nextByte();
+				} while (bits >= limit);
+				return bits % bound;
+			}
+
+			int bits;
+			int value;
+			do {
+				bits = (nextByte() << 23 | nextByte() << 15 | nextByte() << 7 | nextByte() >>> 1);
+				value = bits % bound;
+			} while (bits - value + (bound - 1) < 0);
+			return value;
+
+		}
+
+		/**
+		 * @return 8 random bits
+		 */
+		private int nextByte() {
+
+			if (position == BLOCK_BYTE_LENGTH) {
+				random.nextBytes(block);
+				position = 0;
+			}
+			int bits = block[position] & 0xff;
+			block[position++] = 0;
+			return bits;
+
 		}
-		
-		return shuffStr;
 
 	}
 
@@ -0,0 +1,278 @@
+package com.danield.passwordgenerator;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * The {@code WordList} class represents a list of words for {@link Diceware} passphrases.
+ * <p>
+ * A list is stored as a compact binary file that gets memory-mapped instead of read: an index of offsets points into the
+ * concatenated UTF-8 words, so a list of 100k words opens at once and does not take up heap. Text wordlists
+ * (one word per line, or diceware lines like {@code 11111 word}) get {@link #compile(File, File) compiled} into that format once.
+ * <p>
+ * Layout: MAGIC (4 bytes) , VERSION (1 byte) , COUNT (4 bytes) , OFFSETS ((COUNT + 1) * 4 bytes) , WORDS (UTF-8)
+ * <p>
+ * The offsets are relative to the start of the words, word {@code i} is made of the bytes from {@code OFFSETS[i]} to {@code OFFSETS[i + 1]}.
+ * <p>
+ * Version 2 lists contain no words that only differ in case. Version 1 lists may, they have to be compiled again.
+ * @author Daniel D
+ */
+public class WordList {
+
+	/** Marks the beginning of a compiled wordlist. */
+	public static final byte[] MAGIC = { 'P', 'M', 'W', 'L' };
+	public static final byte VERSION = 2;
+	private static final int HEADER_BYTE_LENGTH = MAGIC.length + 1 + 4;
+	private static final int OFFSET_BYTE_LENGTH = 4;
+
+	private final ByteBuffer data; // the whole file
+	private final int count;
+	private final int wordsPosition;
+
+	private WordList(ByteBuffer data, int count) {
+		this.data = data;
+		this.count = count;
+		this.wordsPosition = HEADER_BYTE_LENGTH + (count + 1) * OFFSET_BYTE_LENGTH;
+	}
+
+	/**
+	 * Check whether or not a file is a compiled wordlist.
+	 * @param file : the file
+	 * @return {@code true} if the file starts with the {@link #MAGIC}, {@code false} otherwise
+	 */
+	public static boolean isCompiled(File file) {
+
+		byte[] magic = new byte[MAGIC.length];
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.wrap(magic);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+			return !buffer.hasRemaining() && Arrays.equals(magic, MAGIC);
+		}
+		catch (IOException e) {
+			return false;
+		}
+
+	}
+
+	/**
+	 * Memory-map a compiled wordlist. The index gets checked once, the words are read when they are drawn.
+	 * @param file : the compiled wordlist
+	 * @return the wordlist
+	 * @throws IOException if the file can not be read or is not a valid compiled wordlist
+	 */
+	public static WordList open(File file) throws IOException {
+
+		ByteBuffer data;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays valid after the channel is closed
+		}
+
+		if (data.limit() < HEADER_BYTE_LENGTH) {
+			throw new IOException("not a wordlist.");
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (data.get(i) != MAGIC[i]) {
+				throw new IOException("not a wordlist.");
+			}
+		}
+		if (data.get(MAGIC.length) < VERSION) {
+			throw new IOException("wordlist has been compiled by an older version, compile it again.");
+		}
+		if (data.get(MAGIC.length) != VERSION) {
+			throw new IOException(String.format("unsupported wordlist version %d.", data.get(MAGIC.length)));
+		}
+		int count = data.getInt(MAGIC.length + 1);
+		long wordsPosition = HEADER_BYTE_LENGTH + (count + 1L) * OFFSET_BYTE_LENGTH;
+		if (count < 2 || wordsPosition > data.limit()) {
+			throw new IOException("wordlist is damaged.");
+		}
+
+		// Offsets must start at 0, grow and end at the end of the file
+		int previous = 0;
+		for (int i = 0; i <= count; i++) {
+			int offset = data.getInt(HEADER_BYTE_LENGTH + i * OFFSET_BYTE_LENGTH);
+			if (i == 0 ? offset != 0 : offset <= previous) {
+				throw new IOException("wordlist is damaged.");
+			}
+			previous = offset;
+		}
+		if (wordsPosition + previous != data.limit()) {
+			throw new IOException("wordlist is damaged.");
+		}
+		return new WordList(data, count);
+
+	}
+
+	/**
+	 * Compile a text wordlist and open the result.
+	 * <p>
+	 * Every non-empty line holds one word, a line with several tokens (e.g. {@code 11111 word}) holds its last token.
+	 * Lines starting with {@code #} are ignored. Duplicate words are dropped, they would lower the entropy. Words that only differ
+	 * in case count as duplicates (only the first one is kept), because they are the same once a {@link Diceware} passphrase is capitalized.
+	 * The compiled list is written to a temporary file first, so an existing list is only replaced by a complete one.
+	 * Do not replace a list that is open: a memory-mapped file can not be replaced on Windows, compile to a new file instead.
+	 * @param textFile : the text wordlist (UTF-8)
+	 * @param file : receives the compiled wordlist
+	 * @return the compiled wordlist
+	 * @throws IOException if the text wordlist can not be read, has less than 2 different words or the file can not be written
+	 */
+	public static WordList compile(File textFile, File file) throws IOException {
+
+		LinkedHashMap<String, String> words = new LinkedHashMap<String, String>(); // by the word in uppercase
+		try (BufferedReader reader = Files.newBufferedReader(textFile.toPath(), StandardCharsets.UTF_8)) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				line = line.strip();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				String[] tokens = line.split("\\s+");
+				String word = tokens[tokens.length - 1];
+				words.putIfAbsent(toUpperCase(word), word);
+			}
+		}
+		if (words.size() < 2) {
+			throw new IOException("wordlist must contain at least 2 different words.");
+		}
+
+		// Index and words
+		byte[][] encoded = new byte[words.size()][];
+		int i = 0;
+		long wordsByteLength = 0;
+		for (String word : words.values()) {
+			encoded[i++] = word.getBytes(StandardCharsets.UTF_8);
+			wordsByteLength += encoded[i - 1].length;
+		}
+		long byteLength = HEADER_BYTE_LENGTH + (encoded.length + 1L) * OFFSET_BYTE_LENGTH + wordsByteLength;
+		if (byteLength > Integer.MAX_VALUE) {
+			throw new IOException("wordlist is too large.");
+		}
+		ByteBuffer buffer = ByteBuffer.allocate((int)byteLength);
+		buffer.put(MAGIC).put(VERSION).putInt(encoded.length);
+		int offset = 0;
+		buffer.putInt(offset);
+		for (byte[] word : encoded) {
+			offset += word.length;
+			buffer.putInt(offset);
+		}
+		for (byte[] word : encoded) {
+			buffer.put(word);
+		}
+		buffer.flip();
+
+		File tmpFile = new File(file.getPath() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return open(file);
+
+	}
+
+	/**
+	 * Uppercase a word char by char, the way {@link Diceware.Capitalization#ALL} does.
+	 * @param word : the word
+	 * @return the word in uppercase
+	 */
+	private static String toUpperCase(String word) {
+
+		char[] chars = word.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toUpperCase(chars[i]);
+		}
+		return new String(chars);
+
+	}
+
+	/**
+	 * @return the number of words
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * @return the entropy of one uniformly drawn word in bits
+	 */
+	public double getBitsPerWord() {
+		return Math.log(count) / Math.log(2);
+	}
+
+	/**
+	 * Get the length of a word in UTF-8. It is also the maximum number of chars the word takes up.
+	 * @param index : the index of the word
+	 * @return the length in bytes
+	 */
+	public int getByteLength(int index) {
+		return getOffset(index + 1) - getOffset(index);
+	}
+
+	/**
+	 * Decode a word into an array without creating a {@code String}.
+	 * @param index : the index of the word
+	 * @param dst : receives the word, needs room for {@link #getByteLength(int)} chars
+	 * @param offset : the position in the array
+	 * @return the number of chars written
+	 */
+	public int copy(int index, char[] dst, int offset) {
+
+		int position = wordsPosition + getOffset(index);
+		int end = wordsPosition + getOffset(index + 1);
+		int start = offset;
+		while (position < end) {
+			int b = data.get(position++) & 0xff;
+			if (b < 0x80) {
+				dst[offset++] = (char)b;
+			}
+			else if (b < 0xe0) {
+				dst[offset++] = (char)((b & 0x1f) << 6 | data.get(position++) & 0x3f);
+			}
+			else if (b < 0xf0) {
+				dst[offset++] = (char)((b & 0x0f) << 12 | (data.get(position++) & 0x3f) << 6 | data.get(position++) & 0x3f);
+			}
+			else {
+				int codePoint = (b & 0x07) << 18 | (data.get(position++) & 0x3f) << 12 | (data.get(position++) & 0x3f) << 6 | data.get(position++) & 0x3f;
+				offset += Character.toChars(codePoint, dst, offset);
+			}
+		}
+		return offset - start;
+
+	}
+
+	/**
+	 * @param index : the index of the word
+	 * @return the word
+	 */
+	public String get(int index) {
+
+		char[] word = new char[getByteLength(index)];
+		return new String(word, 0, copy(index, word, 0));
+
+	}
+
+	/**
+	 * @param index : the index of the offset, {@code 0} to {@link #size()}
+	 * @return the offset of the word relative to the start of the words
+	 * @throws IndexOutOfBoundsException if there is no such offset
+	 */
+	private int getOffset(int index) {
+
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException(String.format("index %d out of range (size %d).", index, count));
+		}
+		return data.getInt(HEADER_BYTE_LENGTH + index * OFFSET_BYTE_LENGTH);
+
+	}
+
+}
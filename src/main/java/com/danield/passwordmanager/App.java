@@ -40,6 +40,7 @@ public class App extends Application {
 
     public static void main(String[] args) {
         launch(args);
+        DataBase.awaitPendingWrites();
         System.exit(0);
     }
 
@@ -0,0 +1,123 @@
+package com.danield.passwordmanager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The {@code Compression} enum provides the codecs a {@link VaultFile} can compress its segments with before they get encrypted.
+ * <p>
+ * A compressed segment starts with its uncompressed LENGTH (4 bytes), so it can be decompressed into a buffer of the exact size.
+ * @author Daniel D
+ */
+public enum Compression {
+
+    NONE((byte)0),
+    DEFLATE((byte)1);
+
+    private byte id;
+
+    Compression(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * Get the codec with the given id.
+     * @param id : the id
+     * @return the codec
+     * @throws IOException if there is no codec with this id
+     */
+    public static Compression of(byte id) throws IOException {
+
+        for (Compression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IOException(String.format("unsupported compression \"%d\".", id));
+
+    }
+
+    /**
+     * Compress data.
+     * @param data : the data
+     * @param level : the compression level from 0 (fastest) to 9 (smallest), or -1 for the codec's default
+     * @return the compressed data
+     */
+    public byte[] compress(byte[] data, int level) {
+
+        if (this == NONE) {
+            return data;
+        }
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[Integer.BYTES + data.length + data.length / 1000 + 64];
+            ByteBuffer.wrap(buffer).putInt(data.length);
+            int length = Integer.BYTES;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        }
+        finally {
+            deflater.end();
+        }
+
+    }
+
+    /**
+     * Decompress data.
+     * @param data : the compressed data from its position to its limit. the position gets moved to the limit.
+     * @return a buffer containing the decompressed data, ready to be read from
+     * @throws IOException if the data is malformed
+     */
+    public ByteBuffer decompress(ByteBuffer data) throws IOException {
+
+        if (this == NONE) {
+            return data;
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            int length = data.getInt();
+            if (length < 0) {
+                throw new IOException("malformed compressed data.");
+            }
+            byte[] buffer = new byte[length];
+            inflater.setInput(data);
+            int position = 0;
+            while (position < length && !inflater.finished()) {
+                int inflated = inflater.inflate(buffer, position, length - position);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                position += inflated;
+            }
+            if (position != length) {
+                throw new IOException("malformed compressed data.");
+            }
+            return ByteBuffer.wrap(buffer);
+        }
+        catch (DataFormatException | RuntimeException e) {
+            throw new IOException("malformed compressed data.", e);
+        }
+        finally {
+            inflater.end();
+        }
+
+    }
+
+}
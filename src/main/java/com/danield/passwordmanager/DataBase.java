@@ -1,17 +1,33 @@
 package com.danield.passwordmanager;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Vector;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+
+import javax.crypto.SecretKey;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 
 import com.danield.protector.AES;
-import com.danield.protector.SHA;
+import com.danield.protector.Argon2;
+import com.danield.protector.CipherSuite;
+import com.danield.protector.KDF;
+import com.danield.protector.MerkleTree;
+import com.danield.protector.PBKDF2;
 
 /**
  * The {@code DataBase} class represents the model of the {@link PasswordManagerApp Application}.
@@ -21,63 +37,257 @@ import com.danield.protector.SHA;
  */
 public class DataBase {
 
-    private static final Vector<UserCredentials> ENTRYS = new Vector<UserCredentials>();
+    private static final EntryStore ENTRYS = new EntryStore();
+    private static final ObservableList<UserCredentials> READ_ONLY_ENTRYS = FXCollections.unmodifiableObservableList(ENTRYS);
+    private static final SortedEntrys SORTED_ENTRYS = new SortedEntrys(ENTRYS);
     private static final Charset CHARSET = StandardCharsets.ISO_8859_1;    
-    private static final char SEPARATOR = '°';
+    private static final char SEPARATOR = '°'; // only used by the old single-blob format
     private static final int KEY_BYTE_LENGTH = 32;
+    private static final int ENTRYS_PER_SEGMENT = 256;
+    private static final long JOURNAL_COMPACTION_BYTE_LENGTH = 256 * 1024; // fold the journal into the file once it gets bigger than this
+    private static final long CIPHER_SUITE_BENCHMARK_MILLIS = 500;
+    private static final int KEY_SLOT_PADDING_BYTE_LENGTH = 64; // room for a bigger key slot when the master password changes
+    private static final byte RECORD_ADD = 1;
+    private static final byte RECORD_UPDATE = 2;
+    private static final byte RECORD_REMOVE = 3;
+    private static final ArrayList<byte[]> PENDING_RECORDS = new ArrayList<byte[]>(); // changes since the last save. guarded by SAVE_LOCK
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> { // all writes to the file run on this thread, in order
+        Thread thread = new Thread(runnable, "DataBase-Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Object SAVE_LOCK = new Object();
     private static String filePath = "";
-    private static String key = "";
+    private static volatile Session session = null; // derived once per login, wiped by clear()
+    private static volatile VaultFile vaultFile = null; // null as long as the file is not stored in the segmented format
+    private static volatile Journal journal = null;
+    private static ByteBuffer mappedFile = null; // the file gets mapped once per login and released after the entrys have been read
+    private static Save queuedSave = null; // the save that waits for the writer, later saves get merged into it. guarded by SAVE_LOCK
+    private static volatile boolean isSnapshotRequired = true; // the next save has to write all entrys to the file
+    private static volatile boolean isCompacting = false;
+    private static volatile boolean isReadFailed = false; // the entrys have not been read completely, saving would overwrite the file with what has been read
+    private static boolean isLegacyFormat = false;
+    private static Compression compression = Compression.DEFLATE; // used for newly created vault files
+    private static int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private static boolean isSealingPasswords = true; // used for newly created vault files
+    private static int readParallelism = Runtime.getRuntime().availableProcessors();
+    private static long unlockMillis = 300; // time the key derivation of newly created vault files should take
+    private static int memoryKiB = 64 * 1024; // Argon2id memory cost of newly created vault files, 0 for PBKDF2
+    private static KDF kdf = null; // calibrated to unlockMillis on first use
+    private static CipherSuite cipherSuite = CipherSuite.AES_GCM; // used for newly created vault files, null for the fastest suite of this machine
+    private static CipherSuite fastestCipherSuite = null; // measured once, on first use
 
     private DataBase() {}; // we don't want this class to be instantiated.
 
     /**
-     * TODO method description.
-     * @return
+     * Everything one run of the writer has to write. Only contains immutable data, so the entrys can be changed while it is written.
+     */
+    private static class Save {
+
+        private final ArrayList<byte[]> records = new ArrayList<byte[]>();
+        private EntryStore.Snapshot entrys = null; // null if the entrys do not have to be written to the file
+        private boolean isSealing = false;
+        private final CompletableFuture<Void> done = new CompletableFuture<Void>();
+
+    }
+
+    /**
+     * Serialize the entrys from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive) using the {@link RecordCodec binary record format}.
+     * @param entrys : the entrys
+     * @param fromIndex : the index of the first entry
+     * @param toIndex : the index after the last entry
+     * @param isSealing : {@code true} to store the passwords sealed, {@code false} to store them in plain text
+     * @return the serialized entrys
+     * @throws Exception if a password can not be sealed or unsealed
+     */
+    private static byte[] prepareEntrysForEncryption(EntryStore.Snapshot entrys, int fromIndex, int toIndex, boolean isSealing) throws Exception {
+        return RecordCodec.encode(entrys, fromIndex, toIndex, isSealing);
+    }
+
+    /**
+     * Serialize the entrys in segments of {@code ENTRYS_PER_SEGMENT} entrys each.
+     * @param entrys : the entrys
+     * @param isSealing : {@code true} to store the passwords sealed, {@code false} to store them in plain text
+     * @return the serialized segments
+     * @throws Exception if a password can not be sealed or unsealed
+     */
+    private static List<byte[]> prepareSegmentsForEncryption(EntryStore.Snapshot entrys, boolean isSealing) throws Exception {
+
+        ArrayList<byte[]> segments = new ArrayList<byte[]>();
+        for (int i = 0; i < entrys.size(); i += DataBase.ENTRYS_PER_SEGMENT) {
+            segments.add(prepareEntrysForEncryption(entrys, i, Math.min(i + DataBase.ENTRYS_PER_SEGMENT, entrys.size()), isSealing));
+        }
+        return segments;
+
+    }
+
+    /**
+     * Create the header of a new vault file.
+     * @param session : the session whose key the file gets encrypted with
+     * @return the header
+     */
+    private static VaultHeader prepareHeader(Session session) {
+
+        VaultHeader header = new VaultHeader();
+        session.writeTo(header);
+        header.put(VaultHeader.TAG_CIPHER_SUITE, new byte[] { getCipherSuite().getId() });
+        header.putInt(VaultHeader.TAG_ENTRYS_PER_SEGMENT, ENTRYS_PER_SEGMENT);
+        if (compression != Compression.NONE) {
+            header.put(VaultHeader.TAG_COMPRESSION, new byte[] { compression.getId(), (byte)compressionLevel });
+        }
+        if (isSealingPasswords) {
+            header.put(VaultHeader.TAG_SEALED_PASSWORDS, new byte[0]);
+        }
+        header.put(VaultHeader.TAG_MERKLE_ROOT, new byte[MerkleTree.HASH_BYTE_LENGTH]); // set on every write
+        header.put(VaultHeader.TAG_PADDING, new byte[KEY_SLOT_PADDING_BYTE_LENGTH]);
+        return header;
+
+    }
+
+    /**
+     * Serialize a change of the entrys into a {@link Journal} record.
+     * <p>
+     * Layout: TYPE (1 byte) , INDEX (4 bytes) , ENTRY ({@link RecordCodec binary record format})
+     * @param type : {@code RECORD_ADD} , {@code RECORD_UPDATE} or {@code RECORD_REMOVE}
+     * @param index : the index of the entry
+     * @param entry : the new content of the entry, {@code null} for {@code RECORD_REMOVE}
+     * @return the record
+     */
+    private static byte[] prepareRecord(byte type, int index, UserCredentials entry) {
+
+        byte[] data = entry == null ? new byte[0] : RecordCodec.encode(entry);
+        return ByteBuffer.allocate(1 + Integer.BYTES + data.length).put(type).putInt(index).put(data).array();
+
+    }
+
+    /**
+     * Apply a {@link Journal} record to the entrys.
+     * @param record : the record
+     * @throws IOException if the record is malformed
      */
-    private static byte[] prepareEntrysForEncryption() {
- 
-        StringBuilder stringBuilder = new StringBuilder(); 
-        for (UserCredentials entry : DataBase.ENTRYS) {
-            stringBuilder.append(entry.getApplication());
-            stringBuilder.append(DataBase.SEPARATOR);
-            stringBuilder.append(entry.getUsername());
-            stringBuilder.append(DataBase.SEPARATOR);
-            stringBuilder.append(entry.getPassword());
-            stringBuilder.append(DataBase.SEPARATOR);
+    private static void applyRecord(byte[] record) throws IOException {
+
+        ByteBuffer byteBuffer = ByteBuffer.wrap(record);
+        byte type = byteBuffer.get();
+        int index = byteBuffer.getInt();
+        if (type == RECORD_REMOVE) {
+            DataBase.ENTRYS.remove(index);
+            return;
+        }
+
+        ArrayList<UserCredentials> entry = new ArrayList<UserCredentials>(1);
+        RecordCodec.decode(byteBuffer, entry::add);
+        if (type == RECORD_ADD) {
+            DataBase.ENTRYS.add(index, entry.get(0));
+        }
+        else if (type == RECORD_UPDATE) {
+            DataBase.ENTRYS.set(index, entry.get(0));
+        }
+
+    }
+
+    /**
+     * Get the key of the current {@link Session}.
+     * @return the key
+     * @throws IllegalStateException if no key has been set or the session is closed
+     */
+    private static SecretKey getSecretKey() {
+
+        Session session = DataBase.session;
+        if (session == null) {
+            throw new IllegalStateException("no key has been set.");
         }
-        return stringBuilder.toString().getBytes(DataBase.CHARSET);
+        return session.getSecretKey();
 
     }
 
     /**
-     * TODO method description.
-     * @return
+     * Write a {@link Save} to the file. Runs on the writer thread.
+     * <p>
+     * Without segments the records get appended to the {@link Journal}. With segments the records get appended first
+     * and are then folded into the file together with the rest of the journal. If there is no journal yet (e.g. the file is
+     * new or stored in the old single-blob format) the file gets written from scratch and a new, empty journal is started.
+     * If anything fails, the next save writes all entrys again.
      */
-    private static byte[] encryptEntrys() {
-        
+    private static void write() {
+
+        Save save;
+        synchronized (SAVE_LOCK) {
+            save = queuedSave;
+            queuedSave = null;
+        }
+
         try {
-            return AES.encrypt(prepareEntrysForEncryption(), DataBase.key, null);
+            File file = new File(filePath);
+            List<byte[]> segments = save.entrys == null ? null : prepareSegmentsForEncryption(save.entrys, save.isSealing);
+            if (segments != null && journal == null) {
+                vaultFile.write(segments, save.entrys.size(), getSecretKey(), Integer.MAX_VALUE);
+                journal = Journal.create(Journal.fileOf(file), vaultFile.getCipherSuite(), getSecretKey(), vaultFile.getGeneration());
+            }
+            else if (journal != null) {
+                journal.append(save.records);
+                if (segments != null) {
+                    int foldedRecords = journal.getRecordCount();
+                    vaultFile.write(segments, save.entrys.size(), getSecretKey(), foldedRecords);
+                    journal.rebase(vaultFile.getGeneration(), foldedRecords);
+                }
+            }
+            else {
+                throw new IOException("the entrys have not been written to the file yet.");
+            }
+            save.done.complete(null);
         }
         catch (Exception e) {
+            isSnapshotRequired = true;
+            journal = null;
             e.printStackTrace();
-            return new byte[0];
+            save.done.completeExceptionally(e);
+        }
+        finally {
+            if (save.entrys != null) {
+                save.entrys.release();
+            }
+            isCompacting = false;
         }
 
     }
 
     /**
-     * TODO method description.
-     * @param entrys
-     * @return
+     * Map the file into memory. The file only gets mapped once until {@link #releaseMappedFile()} is called.
+     * @return the content of the file
+     * @throws IOException if the file can not be mapped
      */
-    private static byte[] decryptEntrys(byte[] entrys) {
+    private static ByteBuffer mapFile() throws IOException {
+
+        if (DataBase.mappedFile == null) {
+            try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("file is too big to be mapped.");
+                }
+                DataBase.mappedFile = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        return DataBase.mappedFile.duplicate();
+
+    }
+
+    /**
+     * Drop the reference to the mapped file, so the mapping can be released.
+     */
+    private static void releaseMappedFile() {
+        DataBase.mappedFile = null;
+    }
+
+    /**
+     * Wait until all saves that have been started have been written to the file.
+     */
+    public static void awaitPendingWrites() {
 
         try {
-            return AES.decrypt(entrys, DataBase.key, null);
+            WRITER.submit(() -> {}).get();
         }
-        catch (Exception e) {
+        catch (InterruptedException | ExecutionException e) {
             e.printStackTrace();
-            return new byte[0];
         }
 
     }
@@ -87,19 +297,308 @@ public class DataBase {
      */
     public static void clear() {
 
-        DataBase.key = "";
+        awaitPendingWrites();
+        if (DataBase.session != null) {
+            DataBase.session.close();
+            DataBase.session = null;
+        }
         DataBase.filePath = "";
+        DataBase.vaultFile = null;
+        DataBase.journal = null;
+        DataBase.mappedFile = null;
+        synchronized (SAVE_LOCK) {
+            DataBase.PENDING_RECORDS.clear();
+        }
+        DataBase.isSnapshotRequired = true;
+        DataBase.isLegacyFormat = false;
+        DataBase.isReadFailed = false;
         DataBase.ENTRYS.clear();
+        KeyFile.clearCache();
         System.gc(); // run the garbage collector. (hopefully make unused memory like the password string unaccessible, even for an attacker)
 
     }
 
     /**
-     * Set the key.
-     * @param key : the key
+     * Unlock the file with the master password. The key gets derived exactly once and the password array gets wiped.
+     * <p>
+     * The file stays mapped, so {@link #readEntrysFromFile()} does not have to open it again.
+     * @param password : the master password
+     * @return {@code true} if the password is correct, {@code false} otherwise
+     * @throws IOException if the file can not be read or is not a vault file
+     * @throws Exception if the key can not be derived
      */
-    public static void setKey(String key) {
-        DataBase.key = key;
+    public static boolean unlock(char[] password) throws Exception {
+        return unlock(password, null);
+    }
+
+    /**
+     * Unlock the file with the master password and a keyfile. The key gets derived exactly once and the password array gets wiped.
+     * <p>
+     * The file stays mapped, so {@link #readEntrysFromFile()} does not have to open it again.
+     * @param password : the master password
+     * @param keyFile : the keyfile, {@code null} if the file has no keyfile. its hash is {@link KeyFile cached} until {@link #clear()}.
+     * @return {@code true} if the password and the keyfile are correct, {@code false} otherwise
+     * @throws IOException if the file or the keyfile can not be read or the file is not a vault file
+     * @throws Exception if the key can not be derived
+     */
+    public static boolean unlock(char[] password, File keyFile) throws Exception {
+
+        Session session;
+        byte[] keyFileHash = null;
+        try {
+            VaultFile.recover(new File(filePath)); // a password change that has been interrupted
+            ByteBuffer data = mapFile();
+            if (keyFile != null) {
+                keyFileHash = KeyFile.hash(keyFile);
+            }
+            if (VaultHeader.startsWithMagic(data)) {
+                session = Session.unlock(password, keyFileHash, VaultFile.open(new File(filePath), data).getHeader());
+            }
+            else if (data.remaining() >= KEY_BYTE_LENGTH && keyFileHash == null) {
+                byte[] passwordHash = new byte[KEY_BYTE_LENGTH];
+                data.get(passwordHash);
+                session = Session.unlockLegacy(password, passwordHash);
+            }
+            else if (data.remaining() >= KEY_BYTE_LENGTH) {
+                session = null; // files of older versions have no keyfile
+            }
+            else {
+                throw new IOException("not a vault file.");
+            }
+        }
+        finally {
+            Arrays.fill(password, '\0');
+            if (keyFileHash != null) {
+                Arrays.fill(keyFileHash, (byte)0);
+            }
+        }
+
+        if (session == null) {
+            return false;
+        }
+        if (DataBase.session != null) {
+            DataBase.session.close();
+        }
+        DataBase.session = session;
+        return true;
+
+    }
+
+    /**
+     * Change the master password of the unlocked file. The password array gets wiped.
+     * <p>
+     * The file is encrypted with a random data key, which the header stores wrapped with the key derived from the master password.
+     * Changing the password derives one new key and replaces the key slot of the header in place, the segments and the {@link Journal}
+     * stay as they are. Files without a data key (created by older versions) get written from scratch once instead.
+     * If that fails, the new password is kept and the next save writes the file again.
+     * <p>
+     * Blocks until the key has been derived and the file has been written, which can take more than a second the first time
+     * (the key derivation gets calibrated on first use), so do not call it on the JavaFX Application Thread.
+     * @param newPassword : the new master password
+     * @throws IllegalStateException if no file is unlocked or its entrys could not be read
+     * @throws Exception if the key can not be derived or the file can not be written
+     */
+    public static void changePassword(char[] newPassword) throws Exception {
+        changePassword(newPassword, null);
+    }
+
+    /**
+     * Change the master password and the keyfile of the unlocked file, like {@link #changePassword(char[])}. The password array gets wiped.
+     * @param newPassword : the new master password
+     * @param newKeyFile : the new keyfile, {@code null} to use the password only
+     * @throws IllegalStateException if no file is unlocked or its entrys could not be read
+     * @throws IOException if the keyfile can not be read
+     * @throws Exception if the key can not be derived or the file can not be written
+     */
+    public static void changePassword(char[] newPassword, File newKeyFile) throws Exception {
+
+        Session session = DataBase.session;
+        if (session == null) {
+            Arrays.fill(newPassword, '\0');
+            throw new IllegalStateException("no file is unlocked.");
+        }
+        if (isReadFailed) {
+            Arrays.fill(newPassword, '\0');
+            throw new IllegalStateException("the entrys have not been read completely.");
+        }
+        Session newSession;
+        byte[] keyFileHash = null;
+        try {
+            keyFileHash = newKeyFile == null ? null : KeyFile.hash(newKeyFile);
+            newSession = session.changePassword(newPassword, keyFileHash, getKdf()); // shares the data key, so the old session must not be closed
+        }
+        finally {
+            Arrays.fill(newPassword, '\0');
+            if (keyFileHash != null) {
+                Arrays.fill(keyFileHash, (byte)0);
+            }
+        }
+
+        VaultFile vaultFile = DataBase.vaultFile;
+        VaultHeader header = null;
+        if (vaultFile != null) {
+            header = vaultFile.getHeader().copy();
+            newSession.writeTo(header);
+            VaultHeader newHeader = header;
+            try {
+                if (WRITER.submit(() -> vaultFile.replaceKeySlot(newHeader)).get()) { // runs in order with the saves
+                    DataBase.session = newSession;
+                    return;
+                }
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+            }
+        }
+
+        // Write the whole file with the new header. Everything but the key slot stays as it is, sealed passwords depend on the cipher suite.
+        awaitPendingWrites();
+        synchronized (SAVE_LOCK) {
+            DataBase.session = newSession;
+            if (header != null) {
+                header.put(VaultHeader.TAG_PADDING, new byte[KEY_SLOT_PADDING_BYTE_LENGTH]);
+                DataBase.vaultFile = VaultFile.create(new File(filePath), header);
+            }
+            DataBase.journal = null;
+            DataBase.isSnapshotRequired = true;
+        }
+        try {
+            writeToFile().get();
+        }
+        catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+        }
+
+    }
+
+    /**
+     * Create a new, empty vault file. An existing file (and its journal) gets replaced. The password array gets wiped.
+     * <p>
+     * The key gets derived with a random salt and Argon2id (see {@link #setMemoryCost(int)}), whose time cost is calibrated once to {@link #setUnlockTime(long)}.
+     * Does not change the file that is currently open.
+     * <p>
+     * Blocks until the file has been written, which can take more than a second the first time, so do not call it on the JavaFX Application Thread.
+     * @param filePath : the file path
+     * @param password : the master password
+     * @throws Exception if the key can not be derived or the file can not be written
+     */
+    public static void createFile(String filePath, char[] password) throws Exception {
+        createFile(filePath, password, null);
+    }
+
+    /**
+     * Create a new, empty vault file whose key is derived from the master password and a keyfile, like {@link #createFile(String, char[])}.
+     * The password array gets wiped.
+     * @param filePath : the file path
+     * @param password : the master password
+     * @param keyFile : the keyfile, {@code null} to use the password only
+     * @throws IOException if the keyfile can not be read
+     * @throws Exception if the key can not be derived or the file can not be written
+     */
+    public static void createFile(String filePath, char[] password, File keyFile) throws Exception {
+
+        Session session;
+        byte[] keyFileHash = null;
+        try {
+            keyFileHash = keyFile == null ? null : KeyFile.hash(keyFile);
+            session = Session.create(password, keyFileHash, getKdf());
+        }
+        finally {
+            Arrays.fill(password, '\0');
+            if (keyFileHash != null) {
+                Arrays.fill(keyFileHash, (byte)0);
+            }
+        }
+        try {
+            File file = new File(filePath);
+            VaultHeader header = prepareHeader(session);
+            VaultFile.create(file, header).write(new ArrayList<byte[]>(), 0, session.getSecretKey(), 0);
+            Files.deleteIfExists(Journal.fileOf(file).toPath()); // belongs to the old file, only once it has been replaced
+        }
+        finally {
+            session.close();
+        }
+
+    }
+
+    /**
+     * Get the key derivation function for newly created vault files. It gets calibrated on first use.
+     * <p>
+     * Argon2id uses one lane per core, so the memory gets filled by all cores at once.
+     * The calibration repeats the key derivation for about a second, callers run on a background thread.
+     * @return the key derivation function
+     * @throws Exception if the calibration fails
+     */
+    private static synchronized KDF getKdf() throws Exception {
+
+        if (kdf == null) {
+            if (memoryKiB == 0) {
+                kdf = PBKDF2.calibrate(unlockMillis);
+            }
+            else {
+                int lanes = Math.min(Runtime.getRuntime().availableProcessors(), memoryKiB / 8);
+                kdf = Argon2.calibrate(unlockMillis, memoryKiB, lanes);
+            }
+        }
+        return kdf;
+
+    }
+
+    /**
+     * Get the cipher suite for newly created vault files. The fastest suite of this machine is found on first use.
+     * @return the cipher suite
+     */
+    private static synchronized CipherSuite getCipherSuite() {
+
+        if (cipherSuite != null) {
+            return cipherSuite;
+        }
+        if (fastestCipherSuite == null) {
+            fastestCipherSuite = CipherSuite.fastest(CIPHER_SUITE_BENCHMARK_MILLIS);
+        }
+        return fastestCipherSuite;
+
+    }
+
+    /**
+     * Set the cipher suite newly created vault files get encrypted with. Existing files keep the suite stored in their header.
+     * <p>
+     * With {@code null} the faster suite of this machine is used, see {@link CipherSuite#fastest(long)}. It is found once,
+     * which can take half a second: ChaCha20-Poly1305 is usually faster on machines without AES instructions, e.g. many ARM devices.
+     * @param cipherSuite : the cipher suite, {@code null} for the fastest suite of this machine
+     */
+    static synchronized void setCipherSuite(CipherSuite cipherSuite) {
+        DataBase.cipherSuite = cipherSuite;
+    }
+
+    /**
+     * Set the time the key derivation of newly created vault files should take on this machine.
+     * The time cost of the key derivation gets calibrated to it, but never falls below its minimum.
+     * @param millis : the time in milliseconds
+     */
+    public static synchronized void setUnlockTime(long millis) {
+
+        if (millis <= 0) {
+            throw new IllegalArgumentException("unlock time must be positive.");
+        }
+        DataBase.unlockMillis = millis;
+        DataBase.kdf = null;
+
+    }
+
+    /**
+     * Set the memory the Argon2id key derivation of newly created vault files uses.
+     * With 0 the key gets derived with PBKDF2 instead, which needs no memory but is much cheaper to attack with GPUs.
+     * @param memoryKiB : the memory in KiB, 0 or at least 64
+     */
+    public static synchronized void setMemoryCost(int memoryKiB) {
+
+        if (memoryKiB != 0 && (memoryKiB < 64 || memoryKiB > Argon2.MAX_MEMORY_KIB)) {
+            throw new IllegalArgumentException(String.format("memory cost must be 0 or between 64 and %d KiB.", Argon2.MAX_MEMORY_KIB));
+        }
+        DataBase.memoryKiB = memoryKiB;
+        DataBase.kdf = null;
+
     }
 
     /**
@@ -108,122 +607,291 @@ public class DataBase {
      */
     public static void setFilePath(String filePath) {
         DataBase.filePath = filePath;
+        DataBase.mappedFile = null;
+    }
+
+    /**
+     * Set the compression that is used when a file gets converted to the segmented format.
+     * Files that are already segmented keep the compression stored in their header.
+     * @param compression : the compression
+     * @param level : the compression level from 0 (fastest) to 9 (smallest), or -1 for the default level
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public static void setCompression(Compression compression, int level) {
+
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("compression level must be between -1 and 9.");
+        }
+        DataBase.compression = compression;
+        DataBase.compressionLevel = level;
+
+    }
+
+    /**
+     * Set whether or not every password gets encrypted on its own when a file gets converted to the segmented format.
+     * Sealed passwords are only decrypted when they are needed (e.g. shown, copied or edited), which keeps opening
+     * big files fast. Files that are already segmented keep the setting stored in their header.
+     * @param isSealingPasswords : {@code true} to seal the passwords, {@code false} otherwise
+     */
+    public static void setPasswordSealing(boolean isSealingPasswords) {
+        DataBase.isSealingPasswords = isSealingPasswords;
+    }
+
+    /**
+     * Set the number of threads that decrypt the segments of a file while it is read.
+     * @param parallelism : the number of threads, {@code 1} to decrypt on the reading thread only
+     * @throws IllegalArgumentException if the parallelism is less than 1
+     */
+    public static void setReadParallelism(int parallelism) {
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1.");
+        }
+        DataBase.readParallelism = parallelism;
+
     }
 
     /**
-     * Get the entrys.
+     * Get a read-only view of the entrys.
+     * <p>
+     * The view is observable and reflects every change made through the {@code DataBase}, which is the only way to change
+     * the entrys, so every change gets saved. See {@link #getSortedEntrys()} to show them sorted.
      * @return the entrys
      */
-    public static Vector<UserCredentials> getEntrys() {
-        return DataBase.ENTRYS;
+    public static ObservableList<UserCredentials> getEntrys() {
+        return DataBase.READ_ONLY_ENTRYS;
     }
 
     /**
-     * Get the entry separator.
-     * @return the separator
+     * Get a read-only view of the entrys, which can be sorted by their columns without creating a view of every entry.
+     * <p>
+     * Map its rows back to the indices of the entrys with {@link SortedEntrys#getEntryIndex(int)} before changing them.
+     * @return the sorted entrys
      */
-    public static char getSeparator() {
-        return DataBase.SEPARATOR;
-    }    
-        
+    public static SortedEntrys getSortedEntrys() {
+        return DataBase.SORTED_ENTRYS;
+    }
+
+    /**
+     * Get an immutable snapshot of the entrys, which can be read from any thread while the entrys are being changed.
+     * {@link EntryStore.Snapshot#release() Release} it when it is no longer needed.
+     * @return the snapshot
+     */
+    public static EntryStore.Snapshot getSnapshot() {
+        return DataBase.ENTRYS.snapshot();
+    }
+
+    /**
+     * Whether or not the opened file is stored in the old single-blob format.
+     * <p>
+     * The file gets migrated to the segmented format on the next {@link #writeToFile()}.
+     * @return {@code true} if the file has not been migrated yet, {@code false} otherwise
+     */
+    public static boolean isLegacyFormat() {
+        return DataBase.isLegacyFormat;
+    }
+
     /**
      * Appends a {@link UserCredentials entry} to the end of {@code DataBase}.
+     * <p>
+     * Like all changes, the entry and its {@link Journal} record are changed together under the save lock, so changes can be made from any thread.
      * @param uc : the entry
      */
     public static void addNewEntry(UserCredentials uc) {
-        DataBase.ENTRYS.add(uc);
+
+        synchronized (SAVE_LOCK) {
+            DataBase.ENTRYS.add(uc);
+            DataBase.PENDING_RECORDS.add(prepareRecord(RECORD_ADD, DataBase.ENTRYS.size() - 1, uc));
+        }
+
     }
 
     /**
      * Inserts a {@link UserCredentials entry} at the specified {@code index} in the {@code DataBase}.
      * @param uc : the entry
      * @param index : the index
-     * @throws ArrayIndexOutOfBoundsException if the index is out of range (index < 0 || index > DataBase.getEntrys().size())
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > DataBase.getEntrys().size())
      */
     public static void addNewEntryAt(UserCredentials uc, int index) {
-        DataBase.ENTRYS.add(index, uc);
+
+        synchronized (SAVE_LOCK) {
+            DataBase.ENTRYS.add(index, uc);
+            DataBase.PENDING_RECORDS.add(prepareRecord(RECORD_ADD, index, uc));
+        }
+
     }
 
     /**
-     * TODO method description.
+     * Replaces the content of the {@link UserCredentials entry} at the specified {@code index} in the {@code DataBase}.
+     * @param index : the index
+     * @param application : the new application
+     * @param username : the new username
+     * @param password : the new password
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= DataBase.getEntrys().size())
      */
-    public static void writeToFile() {
+    public static void updateEntry(int index, String application, String username, String password) {
 
-        try (FileOutputStream fOutputStream = new FileOutputStream(new File(filePath))) {
-            fOutputStream.write(SHA.SHA256(key.getBytes(CHARSET)));
-            fOutputStream.write(encryptEntrys());
-        }
-        catch (FileNotFoundException e) {
-            if (filePath.equals("")) {
-                return;
-            }
-            e.printStackTrace();
-        }
-        catch (IOException e) {
-            e.printStackTrace();
+        UserCredentials uc = new UserCredentials(application, username, password);
+        synchronized (SAVE_LOCK) {
+            DataBase.ENTRYS.set(index, uc);
+            DataBase.PENDING_RECORDS.add(prepareRecord(RECORD_UPDATE, index, uc));
         }
 
     }
 
     /**
-     * TODO method description.
-     * @return the hash
+     * Removes the {@link UserCredentials entry} at the specified {@code index} from the {@code DataBase}.
+     * @param index : the index
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= DataBase.getEntrys().size())
      */
-    public static byte[] readHashedKeyFromFile() {
+    public static void removeEntry(int index) {
 
-        try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
-            byte[] key = new byte[KEY_BYTE_LENGTH];
-            fileInputStream.read(key);
-            return key;
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-            return new byte[0];
+        synchronized (SAVE_LOCK) {
+            DataBase.ENTRYS.remove(index);
+            DataBase.PENDING_RECORDS.add(prepareRecord(RECORD_REMOVE, index, null));
         }
-        
+
     }
 
     /**
-     * TODO method description.
+     * Save the changes made since the last save.
+     * <p>
+     * The changes get written in the background, this method only takes a {@link EntryStore#snapshot() snapshot} of them and returns right away.
+     * Changes get appended to the {@link Journal}, which gets folded into the file once it grows too big.
+     * Files in the old single-blob format get migrated to the segmented format.
+     * Saves that are requested while an earlier save is still waiting to be written get merged into it.
+     * <p>
+     * Nothing gets written if {@link #readEntrysFromFile()} failed, the file would lose the entrys that have not been read.
+     * @return completes once the changes have been written to the file, or exceptionally if they could not be written
      */
-    public static void readEntrysFromFile() {
+    public static CompletableFuture<Void> writeToFile() {
 
-        byte[] data = {};
-        try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
-            data = fileInputStream.readAllBytes();
-        }
-        catch (FileNotFoundException e) {
-            e.printStackTrace();
+        if (filePath.equals("")) {
+            return CompletableFuture.completedFuture(null);
         }
-        catch (IOException e) {
-            e.printStackTrace();
+        if (isReadFailed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("the entrys have not been read completely, see verifyFile()."));
         }
 
-        if (data.length == KEY_BYTE_LENGTH || data.length == 0) {
-            return;
+        synchronized (SAVE_LOCK) {
+            Save save = queuedSave;
+            if (save == null) {
+                save = new Save();
+                queuedSave = save;
+                WRITER.execute(DataBase::write);
+            }
+            save.records.addAll(PENDING_RECORDS);
+            PENDING_RECORDS.clear();
+            Journal journal = DataBase.journal;
+            if (isSnapshotRequired || save.entrys != null || (!isCompacting && journal != null && journal.getSize() > JOURNAL_COMPACTION_BYTE_LENGTH)) {
+                try {
+                    if (vaultFile == null) {
+                        vaultFile = VaultFile.create(new File(filePath), prepareHeader(session));
+                    }
+                    save.isSealing = vaultFile.getHeader().get(VaultHeader.TAG_SEALED_PASSWORDS) != null;
+                    ENTRYS.setPasswordKey(vaultFile.getCipherSuite(), getSecretKey());
+                    if (save.isSealing) {
+                        ENTRYS.sealPasswords(); // only new or changed passwords, so unchanged segments stay unchanged
+                    }
+                    if (save.entrys != null) {
+                        save.entrys.release(); // replaced by a newer one
+                    }
+                    save.entrys = ENTRYS.snapshot();
+                    isSnapshotRequired = false;
+                    isCompacting = true;
+                }
+                catch (Exception e) { // the records still get appended to the journal, if there is one
+                    e.printStackTrace();
+                    if (save.entrys != null) {
+                        save.entrys.release();
+                    }
+                    save.entrys = null;
+                    isSnapshotRequired = true;
+                }
+            }
+            isLegacyFormat = false;
+            return save.done;
         }
 
-        String[] entrys = new String(decryptEntrys(Arrays.copyOfRange(data, DataBase.KEY_BYTE_LENGTH, data.length)), DataBase.CHARSET).split(String.valueOf(DataBase.SEPARATOR));
+    }
+
+    /**
+     * Check which segments of the unlocked file are damaged, see {@link VaultFile#verify(ByteBuffer, SecretKey, int)}.
+     * <p>
+     * Segment {@code i} contains the entrys from {@code i * ENTRYS_PER_SEGMENT} on (as of the last time the file was written).
+     * Changes in the {@link Journal} are not checked.
+     * @return the indices of the damaged segments in ascending order, empty if the file is intact
+     * @throws IOException if the file is not stored in the segmented format
+     * @throws Exception if the file can not be read or its segment table is damaged
+     */
+    public static List<Integer> verifyFile() throws Exception {
 
-        String tmpApp = "";
-        String tmpUser = "";
-        String tmpPw = "";
-        int count = 0;
-        for (String entry : entrys) {
-            if (count == 0) {
-                tmpApp = entry;
-                count++;
+        awaitPendingWrites();
+        try {
+            ByteBuffer data = mapFile();
+            if (!VaultHeader.startsWithMagic(data)) {
+                throw new IOException("only segmented vault files can be verified.");
             }
-            else if (count == 1) {
-                tmpUser = entry;
-                count++;
+            return VaultFile.open(new File(filePath), data).verify(data, getSecretKey(), readParallelism);
+        }
+        finally {
+            releaseMappedFile();
+        }
+
+    }
+
+    /**
+     * Read the entrys from the file into the {@code DataBase}.
+     * <p>
+     * Supports the segmented format as well as the old single-blob format.
+     * Changes saved to the {@link Journal} get replayed on top of the entrys read from the file.
+     * <p>
+     * The file is read in a single pass from its mapping, the encrypted data is never copied onto the heap.
+     * Segments get decrypted in parallel (see {@link #setReadParallelism(int)}) and are added to the entrys in order.
+     * <p>
+     * Either all entrys are read or none: if a segment or the journal can not be read, the entrys are cleared and the file
+     * can not be saved until it is opened again, so it never gets overwritten with a part of its entrys.
+     * {@link #verifyFile()} tells which segments are damaged.
+     * @throws Exception if the file or its journal can not be read
+     */
+    public static void readEntrysFromFile() throws Exception {
+
+        awaitPendingWrites();
+        File file = new File(filePath);
+        try {
+            ByteBuffer data = mapFile();
+            if (VaultHeader.startsWithMagic(data)) {
+                vaultFile = VaultFile.open(file, data);
+                boolean isSealed = vaultFile.getHeader().get(VaultHeader.TAG_SEALED_PASSWORDS) != null;
+                DataBase.ENTRYS.setPasswordKey(vaultFile.getCipherSuite(), getSecretKey());
+                vaultFile.read(data, getSecretKey(), readParallelism, segment -> {
+                    DataBase.ENTRYS.ensureCapacity(vaultFile.getEntryCount());
+                    RecordCodec.decode(segment, DataBase.ENTRYS, isSealed); // sealed passwords get decrypted when they are needed
+                });
+                ArrayList<byte[]> records = new ArrayList<byte[]>();
+                journal = Journal.open(Journal.fileOf(file), vaultFile.getCipherSuite(), getSecretKey(), vaultFile.getGeneration(), vaultFile.getFoldedRecords(), records);
+                for (byte[] record : records) {
+                    applyRecord(record);
+                }
+                isSnapshotRequired = false;
             }
-            else if (count == 2) {
-                tmpPw = entry;
-                DataBase.ENTRYS.add(new UserCredentials(tmpApp, tmpUser, tmpPw));
-                count = 0;
+            else if (data.remaining() > KEY_BYTE_LENGTH) {
+                data.position(KEY_BYTE_LENGTH);
+                RecordTokenizer tokenizer = new RecordTokenizer((byte)SEPARATOR, CHARSET, DataBase.ENTRYS::add);
+                tokenizer.feed(AES.decryptPasswordEncrypted(data, getSecretKey(), null));
+                tokenizer.finish();
+                isLegacyFormat = true;
             }
         }
+        catch (Exception e) {
+            DataBase.ENTRYS.clear();
+            journal = null;
+            isReadFailed = true;
+            throw e;
+        }
+        finally {
+            releaseMappedFile();
+        }
 
     }
 
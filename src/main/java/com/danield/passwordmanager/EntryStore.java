@@ -0,0 +1,900 @@
+package com.danield.passwordmanager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.crypto.SecretKey;
+
+import com.danield.protector.CipherSuite;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * The {@code EntryStore} class stores the entrys of the {@link DataBase} column by column.
+ * <p>
+ * Applications and usernames are dictionary-encoded: every distinct value is stored once as UTF-8 bytes
+ * and the columns only hold its int id. Passwords (plain UTF-8 or sealed, see {@link UserCredentials#getPassword()})
+ * are packed into one byte array. Besides the content every entry costs 17 bytes.
+ * <p>
+ * The store is an {@code ObservableList} of {@link UserCredentials} row views. A view (and its JavaFX properties) is only
+ * created when a row is requested, e.g. because it is visible in a {@code TableView}. A view is a copy, changing it does
+ * not change the store, use {@link #set(int, UserCredentials)} instead.
+ * <p>
+ * The store can be read from any thread, reads share a read lock and every change is applied under the write lock.
+ * Change events are fired after the write lock has been released. Background work (e.g. search, export or save) should
+ * iterate over a {@link #snapshot() snapshot}, which never changes and needs no lock at all.
+ * <p>
+ * Snapshots share the password data with the store: while they read it, the store only appends to it. Once the store
+ * replaces it (e.g. it grows or gets compacted), it gets wiped when the last snapshot reading it has been {@link Snapshot#release() released}.
+ * <p>
+ * Dictionary values are never removed, they are dropped together with the store on {@link #clear()}.
+ * @author Daniel D
+ */
+public class EntryStore extends ObservableListBase<UserCredentials> {
+
+    private static final byte FLAG_SEALED = 1;
+    private static final int MAX_CACHED_VIEWS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary applications = new Dictionary();
+    private Dictionary usernames = new Dictionary();
+    private int[] applicationIds = new int[16];
+    private int[] usernameIds = new int[16];
+    private int[] passwordOffsets = new int[16];
+    private int[] passwordLengths = new int[16];
+    private byte[] passwordFlags = new byte[16];
+    private byte[] passwordData = new byte[256];
+    private int passwordDataLength = 0;
+    private int passwordGarbage = 0; // bytes of passwordData no longer referenced by any entry
+    private Retainer passwordDataRetainer = null; // the snapshots that share passwordData, null if none has been taken since it was created
+    private int size = 0;
+    private volatile CipherSuite passwordCipherSuite = CipherSuite.AES_GCM;
+    private volatile SecretKey passwordKey = null;
+    private final ConcurrentHashMap<Integer, UserCredentials> views = new ConcurrentHashMap<Integer, UserCredentials>(); // by index
+
+    /**
+     * The columns the entrys can be sorted by, see {@link SortedEntrys}. Passwords can not be sorted, sealed ones would have to be decrypted.
+     */
+    public enum Column { APPLICATION, USERNAME }
+
+    /**
+     * Distinct UTF-8 strings, each identified by an int id.
+     * <p>
+     * Values are only ever appended, so a {@link #Dictionary(Dictionary) frozen copy} can share the arrays.
+     */
+    private static class Dictionary {
+
+        private byte[] data = new byte[256];
+        private int dataLength = 0;
+        private int[] offsets = new int[16];
+        private int[] lengths = new int[16];
+        private int[] hashes = new int[16];
+        private int[] table = new int[32]; // open addressing, id + 1 , 0 = empty
+        private int count = 0;
+
+        private Dictionary() {}
+
+        /**
+         * Frozen copy, only for reading the values that exist now.
+         * @param source : the dictionary
+         */
+        private Dictionary(Dictionary source) {
+
+            this.data = source.data;
+            this.dataLength = source.dataLength;
+            this.offsets = source.offsets;
+            this.lengths = source.lengths;
+            this.count = source.count;
+
+        }
+
+        private int intern(ByteBuffer value) {
+
+            int hash = 1;
+            for (int i = value.position(); i < value.limit(); i++) {
+                hash = 31 * hash + value.get(i);
+            }
+            int mask = table.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                int id = table[slot] - 1;
+                if (id == -1) {
+                    break;
+                }
+                if (hashes[id] == hash && ByteBuffer.wrap(data, offsets[id], lengths[id]).equals(value)) {
+                    return id;
+                }
+            }
+
+            int length = value.remaining();
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+                hashes = Arrays.copyOf(hashes, count * 2);
+            }
+            if (dataLength + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+            }
+            value.duplicate().get(data, dataLength, length);
+            offsets[count] = dataLength;
+            lengths[count] = length;
+            hashes[count] = hash;
+            dataLength += length;
+            int id = count++;
+            if (count * 2 > table.length) {
+                table = new int[table.length * 2];
+                for (int i = 0; i < count; i++) {
+                    insert(i);
+                }
+            }
+            else {
+                insert(id);
+            }
+            return id;
+
+        }
+
+        private int intern(String value) {
+            return intern(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private void insert(int id) {
+
+            int mask = table.length - 1;
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+
+        }
+
+        private ByteBuffer bytes(int id) {
+            return ByteBuffer.wrap(data, offsets[id], lengths[id]).slice().asReadOnlyBuffer();
+        }
+
+        private String get(int id) {
+            return new String(data, offsets[id], lengths[id], StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Wipe the values. Frozen copies see the wiped values.
+         */
+        private void wipe() {
+            Arrays.fill(data, 0, dataLength, (byte)0);
+        }
+
+    }
+
+    /**
+     * Counts the snapshots that share an array of password data. The array gets wiped once the store no longer uses it
+     * and the last of them has been released.
+     */
+    private static class Retainer {
+
+        private final byte[] bytes;
+        private int count = 0;
+        private boolean isRetired = false; // the store no longer uses the array
+
+        private Retainer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private synchronized void retain() {
+            count++;
+        }
+
+        private synchronized void release() {
+            count--;
+            wipeIfUnused();
+        }
+
+        private synchronized boolean isRetained() {
+            return count > 0;
+        }
+
+        /**
+         * The store no longer uses the array.
+         */
+        private synchronized void retire() {
+            isRetired = true;
+            wipeIfUnused();
+        }
+
+        private void wipeIfUnused() {
+
+            if (isRetired && count == 0) {
+                Arrays.fill(bytes, (byte)0);
+            }
+
+        }
+
+    }
+
+    /**
+     * An immutable copy of the entrys of an {@link EntryStore}, taken by {@link EntryStore#snapshot()}.
+     * <p>
+     * Can be read from any thread without locking, changes made to the store afterwards are not visible.
+     * Call {@link #release()} once it is no longer needed, so the password data it shares with the store can be wiped.
+     */
+    public static final class Snapshot {
+
+        private final Dictionary applications;
+        private final Dictionary usernames;
+        private final int[] applicationIds;
+        private final int[] usernameIds;
+        private final int[] passwordOffsets;
+        private final int[] passwordLengths;
+        private final byte[] passwordFlags;
+        private final byte[] passwordData;
+        private final int size;
+        private final CipherSuite passwordCipherSuite;
+        private final SecretKey passwordKey;
+        private final Retainer passwordDataRetainer;
+        private boolean isReleased = false;
+
+        private Snapshot(EntryStore store) {
+
+            this.applications = new Dictionary(store.applications);
+            this.usernames = new Dictionary(store.usernames);
+            this.applicationIds = Arrays.copyOf(store.applicationIds, store.size);
+            this.usernameIds = Arrays.copyOf(store.usernameIds, store.size);
+            this.passwordOffsets = Arrays.copyOf(store.passwordOffsets, store.size);
+            this.passwordLengths = Arrays.copyOf(store.passwordLengths, store.size);
+            this.passwordFlags = Arrays.copyOf(store.passwordFlags, store.size);
+            if (store.passwordDataRetainer == null) {
+                store.passwordDataRetainer = new Retainer(store.passwordData);
+            }
+            this.passwordDataRetainer = store.passwordDataRetainer;
+            this.passwordDataRetainer.retain();
+            this.passwordData = store.passwordData;
+            this.size = store.size;
+            this.passwordCipherSuite = store.passwordCipherSuite;
+            this.passwordKey = store.passwordKey;
+
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Release the password data shared with the store. Once the store has replaced it and all snapshots reading it
+         * have been released, it gets wiped. The passwords of a released snapshot must not be read anymore.
+         */
+        public synchronized void release() {
+
+            if (!isReleased) {
+                isReleased = true;
+                passwordDataRetainer.release();
+            }
+
+        }
+
+        public String getApplication(int index) {
+            checkIndex(index, size);
+            return applications.get(applicationIds[index]);
+        }
+
+        public String getUsername(int index) {
+            checkIndex(index, size);
+            return usernames.get(usernameIds[index]);
+        }
+
+        /**
+         * Get the password of an entry. A sealed password gets decrypted.
+         * @param index : the index
+         * @return the password
+         * @throws IllegalStateException if the sealed password can not be decrypted
+         */
+        public String getPassword(int index) {
+
+            checkIndex(index, size);
+            try {
+                return StandardCharsets.UTF_8.decode(getPasswordBytes(index)).toString();
+            }
+            catch (Exception e) {
+                throw new IllegalStateException("password can not be decrypted.", e);
+            }
+
+        }
+
+        /**
+         * Get the UTF-8 encoded application of an entry.
+         * @param index : the index
+         * @return the application, ready to be read from
+         */
+        ByteBuffer getApplicationBytes(int index) {
+            checkIndex(index, size);
+            return applications.bytes(applicationIds[index]);
+        }
+
+        /**
+         * Get the UTF-8 encoded username of an entry.
+         * @param index : the index
+         * @return the username, ready to be read from
+         */
+        ByteBuffer getUsernameBytes(int index) {
+            checkIndex(index, size);
+            return usernames.bytes(usernameIds[index]);
+        }
+
+        /**
+         * Get the UTF-8 encoded password of an entry. A sealed password gets decrypted.
+         * @param index : the index
+         * @return the password, ready to be read from
+         * @throws Exception if the sealed password can not be decrypted
+         */
+        ByteBuffer getPasswordBytes(int index) throws Exception {
+
+            checkIndex(index, size);
+            ByteBuffer password = ByteBuffer.wrap(passwordData, passwordOffsets[index], passwordLengths[index]).slice();
+            if ((passwordFlags[index] & FLAG_SEALED) != 0) {
+                return passwordCipherSuite.decrypt(password, passwordKey, null);
+            }
+            return password.asReadOnlyBuffer();
+
+        }
+
+        /**
+         * Get the sealed password of an entry. A plain password gets sealed, call {@link EntryStore#sealPasswords()}
+         * before taking the snapshot to seal every password only once.
+         * @param index : the index
+         * @return the sealed password, ready to be read from
+         * @throws Exception if the password can not be encrypted
+         */
+        ByteBuffer getSealedPasswordBytes(int index) throws Exception {
+
+            checkIndex(index, size);
+            if ((passwordFlags[index] & FLAG_SEALED) == 0) {
+                byte[] plainPassword = Arrays.copyOfRange(passwordData, passwordOffsets[index], passwordOffsets[index] + passwordLengths[index]);
+                ByteBuffer sealedPassword = ByteBuffer.wrap(passwordCipherSuite.encrypt(plainPassword, passwordKey, null));
+                Arrays.fill(plainPassword, (byte)0);
+                return sealedPassword;
+            }
+            return ByteBuffer.wrap(passwordData, passwordOffsets[index], passwordLengths[index]).slice().asReadOnlyBuffer();
+
+        }
+
+    }
+
+    public EntryStore() {}
+
+    /**
+     * Set the cipher suite and the key sealed passwords are encrypted with.
+     * @param cipherSuite : the cipher suite, see {@link VaultFile#getCipherSuite()}
+     * @param passwordKey : the key
+     */
+    void setPasswordKey(CipherSuite cipherSuite, SecretKey passwordKey) {
+        this.passwordCipherSuite = cipherSuite;
+        this.passwordKey = passwordKey;
+    }
+
+    /**
+     * Make sure the store can hold at least {@code capacity} entrys without growing.
+     * @param capacity : the capacity
+     */
+    public void ensureCapacity(int capacity) {
+
+        lock.writeLock().lock();
+        try {
+            grow(capacity);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    /**
+     * Take an immutable copy of all entrys.
+     * <p>
+     * Only copies the columns (17 bytes per entry). The arrays of the dictionaries and the password data are shared,
+     * the store only appends to them while the snapshot reads them. {@link Snapshot#release() Release} the snapshot when it is done.
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+
+        lock.writeLock().lock(); // attaches the retainer of the password data
+        try {
+            return new Snapshot(this);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    @Override
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return size;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Get a view of the entry at the specified {@code index}.
+     * @param index : the index
+     * @return the view
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+     */
+    @Override
+    public UserCredentials get(int index) {
+
+        lock.readLock().lock();
+        try {
+            checkIndex(index, size);
+            UserCredentials view = views.get(index);
+            if (view == null) {
+                if (views.size() >= MAX_CACHED_VIEWS) {
+                    views.clear();
+                }
+                view = createView(index);
+                views.put(index, view);
+            }
+            return view;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Get a value of the entry at the specified {@code index}, without creating a view.
+     * @param column : the column
+     * @param index : the index
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+     */
+    String getValue(Column column, int index) {
+
+        lock.readLock().lock();
+        try {
+            checkIndex(index, size);
+            return column == Column.APPLICATION ? applications.get(applicationIds[index]) : usernames.get(usernameIds[index]);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Rank the entrys by the values of a column, equal values get the same rank.
+     * Only the distinct values of the column get compared, each by its {@code CollationKey}.
+     * @param column : the column
+     * @param collator : the collator
+     * @return the rank of every entry, by index
+     */
+    int[] rank(Column column, Collator collator) {
+
+        lock.readLock().lock();
+        try {
+            Dictionary dictionary = column == Column.APPLICATION ? applications : usernames;
+            int[] ids = column == Column.APPLICATION ? applicationIds : usernameIds;
+            CollationKey[] keys = new CollationKey[dictionary.count];
+            Integer[] sortedIds = new Integer[dictionary.count];
+            for (int id = 0; id < dictionary.count; id++) {
+                keys[id] = collator.getCollationKey(dictionary.get(id));
+                sortedIds[id] = id;
+            }
+            Arrays.sort(sortedIds, (a, b) -> keys[a].compareTo(keys[b]));
+            int[] rankOfId = new int[dictionary.count];
+            int rank = 0;
+            for (int i = 1; i < sortedIds.length; i++) {
+                if (keys[sortedIds[i]].compareTo(keys[sortedIds[i - 1]]) != 0) {
+                    rank++;
+                }
+                rankOfId[sortedIds[i]] = rank;
+            }
+            int[] ranks = new int[size];
+            for (int i = 0; i < size; i++) {
+                ranks[i] = rankOfId[ids[i]];
+            }
+            return ranks;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+
+    }
+
+    /**
+     * Inserts an entry at the specified {@code index}.
+     * @param index : the index
+     * @param uc : the entry
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size())
+     */
+    @Override
+    public void add(int index, UserCredentials uc) {
+
+        ByteBuffer password = ByteBuffer.wrap(uc.getPassword().getBytes(StandardCharsets.UTF_8));
+        lock.writeLock().lock();
+        try {
+            checkIndex(index, size + 1);
+            insert(index, applications.intern(uc.getApplication()), usernames.intern(uc.getUsername()), password, (byte)0);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        fireAdd(index);
+
+    }
+
+    /**
+     * Replaces the entry at the specified {@code index}.
+     * @param index : the index
+     * @param uc : the new entry
+     * @return a view of the old entry
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+     */
+    @Override
+    public UserCredentials set(int index, UserCredentials uc) {
+
+        UserCredentials old;
+        lock.writeLock().lock();
+        try {
+            checkIndex(index, size);
+            old = createView(index);
+            applicationIds[index] = applications.intern(uc.getApplication());
+            usernameIds[index] = usernames.intern(uc.getUsername());
+            if (!uc.getPassword().equals(old.getPassword())) {
+                putPassword(index, ByteBuffer.wrap(uc.getPassword().getBytes(StandardCharsets.UTF_8)), (byte)0);
+            }
+            views.remove(index);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+        if (hasListeners()) {
+            beginChange();
+            nextSet(index, old);
+            endChange();
+        }
+        return old;
+
+    }
+
+    /**
+     * Removes the entry at the specified {@code index}.
+     * @param index : the index
+     * @return a view of the removed entry
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+     */
+    @Override
+    public UserCredentials remove(int index) {
+
+        UserCredentials old;
+        lock.writeLock().lock();
+        try {
+            checkIndex(index, size);
+            old = createView(index);
+            passwordGarbage += passwordLengths[index];
+            int moved = size - index - 1;
+            System.arraycopy(applicationIds, index + 1, applicationIds, index, moved);
+            System.arraycopy(usernameIds, index + 1, usernameIds, index, moved);
+            System.arraycopy(passwordOffsets, index + 1, passwordOffsets, index, moved);
+            System.arraycopy(passwordLengths, index + 1, passwordLengths, index, moved);
+            System.arraycopy(passwordFlags, index + 1, passwordFlags, index, moved);
+            size--;
+            views.clear();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+        if (hasListeners()) {
+            beginChange();
+            nextRemove(index, old);
+            endChange();
+        }
+        return old;
+
+    }
+
+    /**
+     * Removes all entrys and wipes the dictionaries and the password data.
+     */
+    @Override
+    public void clear() {
+
+        ArrayList<UserCredentials> removed = new ArrayList<UserCredentials>();
+        lock.writeLock().lock();
+        try {
+            if (hasListeners()) {
+                for (int i = 0; i < size; i++) {
+                    removed.add(createView(i));
+                }
+            }
+            discardPasswordData();
+            passwordData = new byte[256];
+            size = 0;
+            passwordDataLength = 0;
+            passwordGarbage = 0;
+            views.clear();
+            applications.wipe();
+            usernames.wipe();
+            applications = new Dictionary();
+            usernames = new Dictionary();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!removed.isEmpty()) {
+            beginChange();
+            nextRemove(0, removed);
+            endChange();
+        }
+
+    }
+
+    /**
+     * Seal every password that is still stored in plain text and replace it by its sealed form.
+     * @throws Exception if a password can not be encrypted
+     */
+    public void sealPasswords() throws Exception {
+
+        lock.writeLock().lock();
+        try {
+            // Make room for all sealed passwords first, so they can be encrypted straight into the password data
+            int sealedLength = 0;
+            int maxLength = 0;
+            for (int i = 0; i < size; i++) {
+                if ((passwordFlags[i] & FLAG_SEALED) == 0) {
+                    sealedLength += passwordCipherSuite.getCipherByteLength(passwordLengths[i]);
+                    maxLength = Math.max(maxLength, passwordLengths[i]);
+                }
+            }
+            if (sealedLength == 0) {
+                return;
+            }
+            reservePasswordData(sealedLength);
+            unsharePasswordData(); // the plain passwords get wiped in place
+
+            // The plain password is staged in a separate array: the cipher copies its output if it shares the array with its input
+            byte[] scratch = new byte[maxLength];
+            ByteBuffer plainPassword = ByteBuffer.wrap(scratch);
+            ByteBuffer sealedPassword = ByteBuffer.wrap(passwordData);
+            try {
+                for (int i = 0; i < size; i++) {
+                    if ((passwordFlags[i] & FLAG_SEALED) == 0) {
+                        int offset = passwordOffsets[i];
+                        int length = passwordLengths[i];
+                        System.arraycopy(passwordData, offset, scratch, 0, length);
+                        Arrays.fill(passwordData, offset, offset + length, (byte)0);
+                        plainPassword.limit(length).position(0);
+                        sealedPassword.limit(passwordDataLength + passwordCipherSuite.getCipherByteLength(length)).position(passwordDataLength);
+                        int written = passwordCipherSuite.encrypt(plainPassword, sealedPassword, passwordKey, null);
+                        passwordGarbage += length;
+                        passwordOffsets[i] = passwordDataLength;
+                        passwordLengths[i] = written;
+                        passwordFlags[i] = FLAG_SEALED;
+                        passwordDataLength += written;
+                    }
+                }
+            }
+            finally {
+                Arrays.fill(scratch, (byte)0);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+    }
+
+    /**
+     * Appends an entry whose fields are already encoded. Used by {@link RecordCodec}.
+     * @param application : the UTF-8 encoded application
+     * @param username : the UTF-8 encoded username
+     * @param password : the UTF-8 encoded or sealed password
+     * @param isSealed : {@code true} if the password is sealed
+     */
+    void add(ByteBuffer application, ByteBuffer username, ByteBuffer password, boolean isSealed) {
+
+        int index;
+        lock.writeLock().lock();
+        try {
+            index = size;
+            insert(index, applications.intern(application), usernames.intern(username), password, isSealed ? FLAG_SEALED : 0);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+        fireAdd(index);
+
+    }
+
+    /**
+     * Create a view of an entry. The caller has to hold the lock.
+     * @param index : the index
+     * @return the view
+     */
+    private UserCredentials createView(int index) {
+
+        String application = applications.get(applicationIds[index]);
+        String username = usernames.get(usernameIds[index]);
+        if ((passwordFlags[index] & FLAG_SEALED) != 0) {
+            byte[] sealedPassword = Arrays.copyOfRange(passwordData, passwordOffsets[index], passwordOffsets[index] + passwordLengths[index]);
+            return new UserCredentials(application, username, sealedPassword, passwordCipherSuite, passwordKey);
+        }
+        return new UserCredentials(application, username, new String(passwordData, passwordOffsets[index], passwordLengths[index], StandardCharsets.UTF_8));
+
+    }
+
+    /**
+     * Insert an entry. The caller has to hold the write lock.
+     * @param index : the index
+     * @param applicationId : the id of the application
+     * @param usernameId : the id of the username
+     * @param password : the password
+     * @param flags : the password flags
+     */
+    private void insert(int index, int applicationId, int usernameId, ByteBuffer password, byte flags) {
+
+        if (size == applicationIds.length) {
+            grow(size * 2);
+        }
+        int moved = size - index;
+        System.arraycopy(applicationIds, index, applicationIds, index + 1, moved);
+        System.arraycopy(usernameIds, index, usernameIds, index + 1, moved);
+        System.arraycopy(passwordOffsets, index, passwordOffsets, index + 1, moved);
+        System.arraycopy(passwordLengths, index, passwordLengths, index + 1, moved);
+        System.arraycopy(passwordFlags, index, passwordFlags, index + 1, moved);
+        applicationIds[index] = applicationId;
+        usernameIds[index] = usernameId;
+        passwordLengths[index] = 0;
+        size++;
+        putPassword(index, password, flags);
+
+        if (index < size - 1) {
+            views.clear();
+        }
+
+    }
+
+    /**
+     * Fire the change event of an inserted entry. The caller must not hold the lock.
+     * @param index : the index
+     */
+    private void fireAdd(int index) {
+
+        if (hasListeners()) {
+            beginChange();
+            nextAdd(index, index + 1);
+            endChange();
+        }
+
+    }
+
+    /**
+     * Grow the columns. The caller has to hold the write lock.
+     * @param capacity : the capacity
+     */
+    private void grow(int capacity) {
+
+        if (capacity > applicationIds.length) {
+            applicationIds = Arrays.copyOf(applicationIds, capacity);
+            usernameIds = Arrays.copyOf(usernameIds, capacity);
+            passwordOffsets = Arrays.copyOf(passwordOffsets, capacity);
+            passwordLengths = Arrays.copyOf(passwordLengths, capacity);
+            passwordFlags = Arrays.copyOf(passwordFlags, capacity);
+        }
+
+    }
+
+    /**
+     * Store the password of an entry. The old password becomes garbage. The caller has to hold the write lock.
+     * @param index : the index
+     * @param password : the password
+     * @param flags : the password flags
+     */
+    private void putPassword(int index, ByteBuffer password, byte flags) {
+
+        passwordGarbage += passwordLengths[index];
+        passwordLengths[index] = 0;
+        int length = password.remaining();
+        reservePasswordData(length);
+        password.duplicate().get(passwordData, passwordDataLength, length);
+        passwordOffsets[index] = passwordDataLength;
+        passwordLengths[index] = length;
+        passwordFlags[index] = flags;
+        passwordDataLength += length;
+
+    }
+
+    /**
+     * Make sure the given number of bytes can be appended to the password data. The caller has to hold the write lock.
+     * <p>
+     * The password data may get compacted or replaced by a bigger array, so offsets into it have to be read again afterwards.
+     * @param length : the number of bytes
+     */
+    private void reservePasswordData(int length) {
+
+        if (passwordDataLength + length > passwordData.length) {
+            if (passwordGarbage > passwordDataLength / 2) {
+                compactPasswords();
+            }
+            if (passwordDataLength + length > passwordData.length) {
+                byte[] grown = Arrays.copyOf(passwordData, Math.max(passwordData.length * 2, passwordDataLength + length));
+                discardPasswordData();
+                passwordData = grown;
+            }
+        }
+
+    }
+
+    /**
+     * Move all referenced passwords to the front of the password data and wipe the rest. The caller has to hold the write lock.
+     */
+    private void compactPasswords() {
+
+        byte[] compacted = new byte[passwordData.length];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(passwordData, passwordOffsets[i], compacted, length, passwordLengths[i]);
+            passwordOffsets[i] = length;
+            length += passwordLengths[i];
+        }
+        discardPasswordData();
+        passwordData = compacted;
+        passwordDataLength = length;
+        passwordGarbage = 0;
+
+    }
+
+    /**
+     * Make sure no snapshot reads the password data, so it can be changed in place. The caller has to hold the write lock.
+     * <p>
+     * If a snapshot still reads it, the store continues with a copy and the array is left to the snapshots.
+     */
+    private void unsharePasswordData() {
+
+        if (passwordDataRetainer != null && passwordDataRetainer.isRetained()) {
+            byte[] copy = Arrays.copyOf(passwordData, passwordData.length);
+            passwordDataRetainer.retire();
+            passwordData = copy;
+        }
+        passwordDataRetainer = null; // no new snapshot can be taken while the write lock is held
+
+    }
+
+    /**
+     * Wipe the password data, or leave it to be wiped by the last snapshot that still reads it.
+     * The caller has to hold the write lock and replace the array right after.
+     */
+    private void discardPasswordData() {
+
+        if (passwordDataRetainer != null) {
+            passwordDataRetainer.retire();
+            passwordDataRetainer = null;
+        }
+        else {
+            Arrays.fill(passwordData, (byte)0);
+        }
+
+    }
+
+    private static void checkIndex(int index, int size) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("index %d out of range (size %d).", index, size));
+        }
+
+    }
+
+}
@@ -0,0 +1,432 @@
+package com.danield.passwordmanager;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import com.danield.protector.CipherSuite;
+
+/**
+ * The {@code Journal} class represents the append-only write-ahead journal of a segmented {@link VaultFile}.
+ * <p>
+ * Every record gets encrypted on its own and appended to the end of the journal, so saving a change costs
+ * time proportional to the change instead of the whole vault. A journal belongs to one generation of the
+ * vault file and is ignored once the vault file has been written again.
+ * <p>
+ * Layout: MAGIC (4 bytes) , VAULT ID (16 bytes) , GENERATION (8 bytes) , { LENGTH (4 bytes) , RECORD (LENGTH bytes) }
+ * <p>
+ * VAULT ID: HMAC-SHA256 of a fixed label keyed with the key of the vault file (first 16 bytes). It ties the journal to its vault file:
+ * the key stays the same when the master password changes, but differs from vault to vault, so a journal left next to another
+ * vault file (e.g. one that has been copied or restored over it) is recognized as foreign. Journals written by older versions
+ * (MAGIC {@code PMJ1}) have no vault id and get converted when they are opened.
+ * <p>
+ * RECORD: encrypted record data, the generation and the record index are used as additional authentication data.
+ * Records are encrypted with the cipher suite of the vault file.
+ * @author Daniel D
+ */
+public class Journal {
+
+    private static final byte[] MAGIC = { 'P', 'M', 'J', '2' };
+    private static final byte[] MAGIC_WITHOUT_VAULT_ID = { 'P', 'M', 'J', '1' };
+    private static final int VAULT_ID_BYTE_LENGTH = 16;
+    private static final byte[] VAULT_ID_LABEL = "PasswordManager journal".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_BYTE_LENGTH = MAGIC.length + VAULT_ID_BYTE_LENGTH + Long.BYTES;
+    private static final int HEADER_WITHOUT_VAULT_ID_BYTE_LENGTH = MAGIC_WITHOUT_VAULT_ID.length + Long.BYTES;
+
+    private final File file;
+    private final CipherSuite cipherSuite;
+    private final SecretKey secretKey;
+    private final byte[] vaultId;
+    private long generation;
+    private int recordCount = 0;
+    private long size = HEADER_BYTE_LENGTH;
+
+    private Journal(File file, CipherSuite cipherSuite, SecretKey secretKey, long generation) throws GeneralSecurityException {
+
+        this.file = file;
+        this.cipherSuite = cipherSuite;
+        this.secretKey = secretKey;
+        this.vaultId = vaultIdOf(secretKey);
+        this.generation = generation;
+
+    }
+
+    /**
+     * Get the vault id of the vault file encrypted with the given key.
+     * @param secretKey : the key of the vault file
+     * @return the vault id
+     * @throws GeneralSecurityException if the mac can not be computed
+     */
+    private static byte[] vaultIdOf(SecretKey secretKey) throws GeneralSecurityException {
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(secretKey);
+        return Arrays.copyOf(mac.doFinal(VAULT_ID_LABEL), VAULT_ID_BYTE_LENGTH);
+
+    }
+
+    /**
+     * Get the journal file that belongs to a vault file.
+     * @param vaultFile : the vault file
+     * @return the journal file
+     */
+    public static File fileOf(File vaultFile) {
+        return new File(vaultFile.getPath() + ".journal");
+    }
+
+    /**
+     * Create an empty journal for the given generation of the vault file. An existing journal gets replaced.
+     * @param file : the journal file
+     * @param cipherSuite : the cipher suite, see {@link VaultFile#getCipherSuite()}
+     * @param secretKey : the key
+     * @param generation : the generation of the vault file
+     * @return the journal
+     * @throws Exception if the journal can not be written
+     */
+    static Journal create(File file, CipherSuite cipherSuite, SecretKey secretKey, long generation) throws Exception {
+
+        Journal journal = new Journal(file, cipherSuite, secretKey, generation);
+        journal.rewrite(generation, new ArrayList<byte[]>());
+        return journal;
+
+    }
+
+    /**
+     * Open the journal and read all records that have to be replayed on top of the given generation of the vault file.
+     * <p>
+     * If the journal still belongs to the previous generation (e.g. the application crashed while folding the journal
+     * into the vault file), the first {@code foldedRecords} records get dropped and the journal is moved to the given generation.
+     * A journal of any other generation or of another vault file gets replaced by an empty one.
+     * <p>
+     * An incomplete record at the end of the journal gets cut off, as well as records at the end that fail authentication:
+     * they have been torn by a crash while they were appended, so their save never completed. A record that fails authentication
+     * in front of a record that passes it means the journal is damaged.
+     * @param file : the journal file
+     * @param cipherSuite : the cipher suite, see {@link VaultFile#getCipherSuite()}
+     * @param secretKey : the key
+     * @param generation : the generation of the vault file
+     * @param foldedRecords : the number of records of the previous generation that are contained in the vault file
+     * @param records : receives the records in order
+     * @return the journal
+     * @throws Exception if the journal can not be read or written or a record in front of the last valid record fails authentication
+     */
+    static Journal open(File file, CipherSuite cipherSuite, SecretKey secretKey, long generation, int foldedRecords, List<byte[]> records) throws Exception {
+
+        Journal journal = new Journal(file, cipherSuite, secretKey, generation);
+        if (!file.exists()) {
+            journal.rewrite(generation, new ArrayList<byte[]>());
+            return journal;
+        }
+
+        long journalGeneration = -1; // -1 if the journal belongs to another vault file
+        boolean isConverted = false; // written by an older version
+        ArrayList<byte[]> journalRecords = new ArrayList<byte[]>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH);
+            while (header.hasRemaining() && channel.read(header) != -1);
+            header.flip();
+            int headerLength = HEADER_BYTE_LENGTH;
+            if (header.remaining() == HEADER_BYTE_LENGTH && startsWith(header, MAGIC)) {
+                byte[] journalVaultId = new byte[VAULT_ID_BYTE_LENGTH];
+                header.position(MAGIC.length).get(journalVaultId);
+                if (MessageDigest.isEqual(journalVaultId, journal.vaultId)) {
+                    journalGeneration = header.getLong();
+                }
+            }
+            else if (header.remaining() >= HEADER_WITHOUT_VAULT_ID_BYTE_LENGTH && startsWith(header, MAGIC_WITHOUT_VAULT_ID)) {
+                journalGeneration = header.getLong(MAGIC_WITHOUT_VAULT_ID.length);
+                headerLength = HEADER_WITHOUT_VAULT_ID_BYTE_LENGTH;
+                isConverted = true;
+            }
+            if (journalGeneration == generation || journalGeneration == generation - 1) {
+                journal.generation = journalGeneration;
+                journal.readRecords(channel, headerLength, journalRecords);
+            }
+
+        }
+
+        if (journalGeneration == generation && isConverted) {
+            journal.rewrite(generation, journalRecords);
+            records.addAll(journalRecords);
+        }
+        else if (journalGeneration == generation) {
+            records.addAll(journalRecords);
+        }
+        else if (journalGeneration == generation - 1) {
+            List<byte[]> remaining = journalRecords.subList(Math.min(foldedRecords, journalRecords.size()), journalRecords.size());
+            journal.rewrite(generation, remaining);
+            records.addAll(remaining);
+        }
+        else {
+            journal.rewrite(generation, new ArrayList<byte[]>());
+        }
+        return journal;
+
+    }
+
+    /**
+     * Encrypt the records and append them to the end of the journal.
+     * <p>
+     * Returns after the records have been flushed to the storage device.
+     * @param records : the records
+     * @throws Exception if the journal can not be written or a record can not be encrypted
+     */
+    public synchronized void append(List<byte[]> records) throws Exception {
+
+        if (records.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer byteBuffer = seal(records, recordCount);
+        int length = byteBuffer.remaining();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            long position = size;
+            while (byteBuffer.hasRemaining()) {
+                position += channel.write(byteBuffer, position);
+            }
+            channel.force(false);
+        }
+
+        recordCount += records.size();
+        size += length;
+
+    }
+
+    /**
+     * Move the journal to a newer generation of the vault file.
+     * <p>
+     * The first {@code foldedRecords} records are contained in the new generation of the vault file and get dropped,
+     * all records that have been appended afterwards are kept.
+     * @param generation : the new generation
+     * @param foldedRecords : the number of records contained in the new generation
+     * @throws Exception if the journal can not be read or written
+     */
+    public synchronized void rebase(long generation, int foldedRecords) throws Exception {
+
+        ArrayList<byte[]> records = new ArrayList<byte[]>();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            readRecords(channel, HEADER_BYTE_LENGTH, records);
+        }
+        rewrite(generation, records.subList(Math.min(foldedRecords, records.size()), records.size()));
+
+    }
+
+    /**
+     * Get the number of records in the journal.
+     * @return the number of records
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Get the size of the journal.
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Read all records of the current generation and cut off the torn tail: an incomplete record at the end, and records
+     * at the end that fail authentication (see {@link #open(File, CipherSuite, SecretKey, long, int, List) open}).
+     * @param channel : the channel of the journal file
+     * @param headerLength : the length of the header of the journal file
+     * @param records : receives the records in order
+     * @throws Exception if the journal can not be read or a record in front of the last valid record fails authentication
+     */
+    private void readRecords(FileChannel channel, int headerLength, List<byte[]> records) throws Exception {
+
+        recordCount = 0;
+        long position = headerLength;
+        byte[] record;
+        while ((record = readRecord(channel, position)) != null) {
+            try {
+                records.add(decryptRecord(record, recordCount));
+            }
+            catch (GeneralSecurityException e) {
+                if (hasValidRecord(channel, position + Integer.BYTES + record.length, recordCount + 1)) {
+                    throw e;
+                }
+                break;
+            }
+            recordCount++;
+            position += Integer.BYTES + record.length;
+        }
+
+        channel.truncate(position);
+        size = position;
+
+    }
+
+    /**
+     * Read the encrypted record at the given position.
+     * @param channel : the channel of the journal file
+     * @param position : the position of the length of the record
+     * @return the encrypted record, {@code null} if there is no complete record at the position
+     * @throws Exception if the journal can not be read
+     */
+    private static byte[] readRecord(FileChannel channel, long position) throws Exception {
+
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        while (length.hasRemaining() && channel.read(length, position + length.position()) > 0);
+        if (length.hasRemaining()) {
+            return null;
+        }
+        int recordLength = length.getInt(0);
+        if (recordLength <= 0 || position + Integer.BYTES + recordLength > channel.size()) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        while (record.hasRemaining() && channel.read(record, position + Integer.BYTES + record.position()) > 0);
+        return record.array();
+
+    }
+
+    /**
+     * Decrypt a record.
+     * @param record : the encrypted record
+     * @param index : the record index
+     * @return the record
+     * @throws GeneralSecurityException if the record fails authentication or is too short to be a record
+     * @throws Exception if the record can not be decrypted
+     */
+    private byte[] decryptRecord(byte[] record, int index) throws Exception {
+
+        if (cipherSuite.getPlainByteLength(record.length) < 0) {
+            throw new AEADBadTagException("record is too short.");
+        }
+        return cipherSuite.decrypt(record, secretKey, recordAAD(index));
+
+    }
+
+    /**
+     * Check whether or not any record from the given position on passes authentication.
+     * <p>
+     * Every append is flushed before it returns, so a valid record behind a record that fails authentication
+     * means that record has been damaged after its save completed.
+     * @param channel : the channel of the journal file
+     * @param position : the position of the first record
+     * @param index : the record index of the first record
+     * @return {@code true} if a record passes authentication, {@code false} otherwise
+     * @throws Exception if the journal can not be read
+     */
+    private boolean hasValidRecord(FileChannel channel, long position, int index) throws Exception {
+
+        byte[] record;
+        while ((record = readRecord(channel, position)) != null) {
+            try {
+                decryptRecord(record, index);
+                return true;
+            }
+            catch (GeneralSecurityException e) {
+                index++;
+                position += Integer.BYTES + record.length;
+            }
+        }
+        return false;
+
+    }
+
+    /**
+     * Atomically replace the journal with a journal of the given generation which contains the given records.
+     * @param generation : the generation
+     * @param records : the records
+     * @throws Exception if the journal can not be written or a record can not be encrypted
+     */
+    private void rewrite(long generation, List<byte[]> records) throws Exception {
+
+        this.generation = generation;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTE_LENGTH);
+        header.put(MAGIC);
+        header.put(vaultId);
+        header.putLong(generation);
+        header.flip();
+        ByteBuffer byteBuffer = seal(records, 0);
+        int length = byteBuffer.remaining();
+
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.recordCount = records.size();
+        this.size = HEADER_BYTE_LENGTH + length;
+
+    }
+
+    /**
+     * Encrypt the records.
+     * @param records : the records
+     * @param firstIndex : the record index of the first record
+     * @return a buffer containing the encrypted records, ready to be read from
+     * @throws Exception if a record can not be encrypted
+     */
+    private ByteBuffer seal(List<byte[]> records, int firstIndex) throws Exception {
+
+        int length = 0;
+        for (byte[] record : records) {
+            length += Integer.BYTES + cipherSuite.getCipherByteLength(record.length);
+        }
+
+        // Encrypt every record straight into its place in the buffer
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        for (int i = 0; i < records.size(); i++) {
+            byte[] record = records.get(i);
+            byteBuffer.putInt(cipherSuite.getCipherByteLength(record.length));
+            cipherSuite.encrypt(ByteBuffer.wrap(record), byteBuffer, secretKey, recordAAD(firstIndex + i));
+        }
+        byteBuffer.flip();
+        return byteBuffer;
+
+    }
+
+    /**
+     * Check whether or not the given data starts with a journal magic.
+     * @param data : the data
+     * @param magic : the magic
+     * @return {@code true} if the data starts with the magic, {@code false} otherwise
+     */
+    private static boolean startsWith(ByteBuffer data, byte[] magic) {
+
+        for (int i = 0; i < magic.length; i++) {
+            if (data.get(data.position() + i) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * Get the additional authentication data of a record.
+     * @param index : the record index
+     * @return the additional authentication data
+     */
+    private byte[] recordAAD(int index) {
+        return ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(generation).putInt(index).array();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.danield.passwordmanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import com.danield.protector.SHA;
+
+/**
+ * The {@code KeyFile} class hashes the keyfile of a composite master key (master password + keyfile).
+ * <p>
+ * A keyfile can be any file, e.g. a file of random bytes or a disk image. It is hashed as a stream (see {@link SHA#SHA256(File)}),
+ * so its size does not matter. The hash is cached until {@link #clearCache()}, which {@link DataBase#clear()} calls when the file gets closed,
+ * so retrying a password or changing it does not hash the keyfile again. A cached hash is only used while the size and the
+ * modification time of the keyfile stay the same.
+ * @author Daniel D
+ */
+public class KeyFile {
+
+    private static final HashMap<String, CachedHash> CACHE = new HashMap<String, CachedHash>(); // by canonical path
+
+    private KeyFile() {} // we don't want this class to be instantiated.
+
+    /**
+     * A keyfile hash together with the state of the keyfile it was computed from.
+     */
+    private static class CachedHash {
+
+        private final long size;
+        private final long lastModified;
+        private final byte[] hash;
+
+        private CachedHash(long size, long lastModified, byte[] hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+    }
+
+    /**
+     * Get the SHA-256 hash of a keyfile.
+     * @param file : the keyfile
+     * @return the hash, wipe it after use
+     * @throws IOException if the keyfile does not exist, is empty or can not be read
+     */
+    public static synchronized byte[] hash(File file) throws IOException {
+
+        File keyFile = file.getCanonicalFile();
+        if (!keyFile.isFile()) {
+            throw new IOException("keyfile not found.");
+        }
+        long size = keyFile.length();
+        long lastModified = keyFile.lastModified();
+        if (size == 0) {
+            throw new IOException("keyfile is empty.");
+        }
+
+        CachedHash cached = CACHE.get(keyFile.getPath());
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.hash.clone();
+        }
+        byte[] hash = SHA.SHA256(keyFile);
+        if (hash == null) {
+            throw new IOException("keyfile can not be hashed.");
+        }
+        if (cached != null) {
+            Arrays.fill(cached.hash, (byte)0);
+        }
+        CACHE.put(keyFile.getPath(), new CachedHash(size, lastModified, hash.clone()));
+        return hash;
+
+    }
+
+    /**
+     * Wipe and forget all cached hashes.
+     */
+    public static synchronized void clearCache() {
+
+        for (CachedHash cached : CACHE.values()) {
+            Arrays.fill(cached.hash, (byte)0);
+        }
+        CACHE.clear();
+
+    }
+
+}
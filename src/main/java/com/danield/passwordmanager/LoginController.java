@@ -2,14 +2,13 @@ package com.danield.passwordmanager;
 
 import java.io.File;
 import java.net.URL;
-import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
 
-import com.danield.protector.SHA;
-
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.event.EventHandler;
@@ -36,6 +35,7 @@ public class LoginController implements Initializable {
     
     @FXML private TextField txtFldFilePath;
     @FXML private PasswordField pwFldMasterPassword;
+    @FXML private TextField txtFldKeyFile;
     @FXML private Label lblInfoText;
     @FXML private Button btnBrowse;
     @FXML private Button btnLogin;
@@ -101,21 +101,108 @@ public class LoginController implements Initializable {
     }
 
     /**
-     * Compares the hash stored in the file to the hash generated from the entered password.
-     * @return {@code true} if the hashes match, {@code false} otherwise
+     * Unlocks the file with the password and the keyfile. The key derivation that checks the password also unlocks the file.
+     * Runs in the background, see {@link #login()}.
+     * @param password : the password, gets wiped
+     * @param keyFile : the keyfile, {@code null} if there is none
+     * @return {@code null} if the password (and keyfile) is correct, the text to display otherwise
      */
-    private boolean validatePassword() {
+    private static String validatePassword(char[] password, File keyFile) {
 
-        byte[] storedHash = DataBase.readHashedKeyFromFile();
-        if (storedHash.length == 0) {
-            infoText("UNABLE TO VALIDATE PASSWORD.", Color.RED);
-            return false;
+        try {
+            if (DataBase.unlock(password, keyFile)) {
+                return null;
+            }
+            return "WRONG PASSWORD OR KEYFILE.";
         }
+        catch (Exception e) {
+            e.printStackTrace();
+            return "UNABLE TO VALIDATE PASSWORD.";
+        }
+
+    }
+
+    /**
+     * Reads the entrys of the unlocked file into the {@link DataBase}. Runs in the background, see {@link #login()}.
+     * <p>
+     * A file that can not be read completely is not opened, saving it would overwrite the entrys that could not be read.
+     * The damaged segments (if any) are shown instead, see {@link DataBase#verifyFile()}.
+     * @return {@code null} if all entrys have been read, the text to display otherwise
+     */
+    private static String readFile() {
 
-        byte[] hash = SHA.SHA256(pwFldMasterPassword.getText().getBytes());
+        try {
+            DataBase.readEntrysFromFile();
+            return null;
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+        }
 
-        if (Arrays.equals(storedHash, hash)) { return true; }
-        else { return false; }
+        String damage = "";
+        try {
+            List<Integer> damagedSegments = DataBase.verifyFile();
+            if (!damagedSegments.isEmpty()) {
+                damage = String.format(" DAMAGED SEGMENTS: %s.", damagedSegments);
+            }
+        }
+        catch (Exception e) {
+            e.printStackTrace();
+        }
+        DataBase.clear();
+        return String.format("UNABLE TO READ FILE.%s", damage);
+
+    }
+
+    /**
+     * Unlock the file and read its entrys in the background, then switch to the "Main Page".
+     * <p>
+     * The key derivation can take more than a second and a big file takes a while to read, the view is disabled until it is done.
+     */
+    private void login() {
+
+        String filePath = txtFldFilePath.getText();
+        char[] password = pwFldMasterPassword.getText().toCharArray();
+        File keyFile = getKeyFile();
+        Task<String> task = new Task<String>() {
+            @Override
+            protected String call() throws Exception {
+                DataBase.setFilePath(filePath);
+                String error = validatePassword(password, keyFile);
+                return error != null ? error : readFile();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            btnLogin.getScene().getRoot().setDisable(false);
+            if (task.getValue() != null) {
+                infoText(task.getValue(), Color.RED);
+                pwFldMasterPassword.requestFocus();
+                return;
+            }
+            pwFldMasterPassword.clear();
+            RecentFilePaths.addAt(0, filePath);
+            RecentFilePaths.writeToFile();
+            ViewSwitcher.switchTo(View.MAIN);
+            if (ThemeSwitcher.getCurrentTheme() == Theme.LOGIN_DEFAULT) {
+                ThemeSwitcher.switchTo(Theme.MAIN_DEFAULT);
+            }
+            else {
+                ThemeSwitcher.switchTo(Theme.MAIN_DARK);
+            }
+        });
+        task.setOnFailed(e -> {
+            task.getException().printStackTrace();
+            DataBase.clear();
+            btnLogin.getScene().getRoot().setDisable(false);
+            infoText("UNABLE TO READ FILE.", Color.RED);
+            pwFldMasterPassword.requestFocus();
+        });
+
+        btnLogin.getScene().getRoot().setDisable(true);
+        infoText("UNLOCKING FILE ...", Color.BLACK);
+        Thread thread = new Thread(task, "LoginController-Login");
+        thread.setDaemon(true);
+        thread.start();
 
     }
 
@@ -136,7 +223,7 @@ public class LoginController implements Initializable {
     /**
      * Event handler bind to the Login Button's {@code onAction} event.
      * <p>
-     * Lets the user login to a file.
+     * Lets the user login to a file, see {@link #login()}.
      * @param event : the event
      */
     public void onLogin(ActionEvent event) {
@@ -152,23 +239,7 @@ public class LoginController implements Initializable {
             pwFldMasterPassword.requestFocus();
         }
         else {
-            DataBase.setFilePath(txtFldFilePath.getText());
-            if (validatePassword()) {
-                DataBase.setKey(pwFldMasterPassword.getText());
-                RecentFilePaths.addAt(0, txtFldFilePath.getText());
-                RecentFilePaths.writeToFile();
-                ViewSwitcher.switchTo(View.MAIN);
-                if (ThemeSwitcher.getCurrentTheme() == Theme.LOGIN_DEFAULT) {
-                    ThemeSwitcher.switchTo(Theme.MAIN_DEFAULT);
-                }
-                else {
-                    ThemeSwitcher.switchTo(Theme.MAIN_DARK);
-                }
-            }
-            else {
-                infoText("WRONG PASSWORD.", Color.RED);
-                pwFldMasterPassword.requestFocus();
-            }
+            login();
         }
 
     }
@@ -270,4 +341,30 @@ public class LoginController implements Initializable {
 
     }
 
+    /**
+     * Event handler bind to the Keyfile Button's {@code onAction} event.
+     * <p>
+     * Lets the user select a keyfile that is used together with the master password, see {@link KeyFile}.
+     * Closing the {@code FileChooser} without a selection removes the keyfile.
+     * @param event : the event
+     */
+    public void onBrowseKeyFile(ActionEvent event) {
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Keyfile");
+
+        File selectedFile = fileChooser.showOpenDialog(txtFldKeyFile.getScene().getWindow());
+        txtFldKeyFile.setText(selectedFile != null ? selectedFile.getAbsolutePath() : "");
+        infoText("", Color.BLACK);
+        pwFldMasterPassword.requestFocus();
+
+    }
+
+    /**
+     * @return the selected keyfile, {@code null} if there is none
+     */
+    private File getKeyFile() {
+        return txtFldKeyFile.getLength() == 0 ? null : new File(txtFldKeyFile.getText());
+    }
+
 }
@@ -1,12 +1,18 @@
 package com.danield.passwordmanager;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
+import com.danield.passwordgenerator.Diceware;
 import com.danield.passwordgenerator.PwGen;
+import com.danield.passwordgenerator.WordList;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.fxml.FXML;
@@ -14,7 +20,10 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
+import javafx.scene.control.PasswordField;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -24,6 +33,10 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 
 /**
  * The {@code MainController} class provides the logic behind the MainView.fxml View.
@@ -41,15 +54,28 @@ public class MainController implements Initializable {
     @FXML private Button btnAdd;
     @FXML private Slider sldrPwdLength;
     @FXML private Label lblPwdLength;
-
+    @FXML private Label lblEntropy;
+    @FXML private ComboBox<String> cmbxMode;
+    @FXML private Label lblSaveStatus;
+
+    private static final String WORDLIST_FILE_NAME = "wordlist"; // compiled, in the application directory as wordlist.<n> , the highest number is the current one
+    private static final String MODE_RANDOM = "Random";
+    private static final String MODE_PRONOUNCEABLE = "Pronounceable";
+    private static final String MODE_WORDS = "Words";
     private final PwGen passwordGenerator = new PwGen();
+    private Diceware passphraseGenerator = null; // created when the words mode is first selected
+    private String generatorMode = MODE_RANDOM;
+    private int passwordLength = 8; // slider value of the password modes while the words mode is selected
     private boolean hasRecentlyChanged = false;
+    private int saveCount = 0; // only the latest save updates the save status
 
     /**
      * 1) Create the cells. <p>
-     * 2) Read the data from file into {@link DataBase}. <p>
-     * 3) Populate the cells with the data. <p>
-     * 4) Password length slider's change listener.
+     * 2) Populate the cells with the data, which the {@link LoginController} has read into the {@link DataBase}.
+     * The table shows the {@link DataBase#getSortedEntrys() sorted entrys}, its sort policy sorts them by the clicked columns.
+     * Rows are mapped back to the entrys with {@link #toEntryIndex(int)}. <p>
+     * 3) Password length slider's change listener and generator modes. <p>
+     * 4) Offer to migrate files stored in the old single-blob format on the next save.
      * @param location : can be ignored
      * @param resources : can be ignored
      */
@@ -65,26 +91,83 @@ public class MainController implements Initializable {
         
         tblColPassword.setCellFactory(TextFieldTableCell.<UserCredentials>forTableColumn());
         tblColPassword.setCellValueFactory(new PropertyValueFactory<UserCredentials, String>("password"));
+        tblColPassword.setSortable(false); // sealed passwords would have to be decrypted
         
         // 2)
-        DataBase.readEntrysFromFile();
-        
-        // 3)
-        tblViewDataEntrys.getItems().addAll(DataBase.getEntrys());
+        tblViewDataEntrys.setSortPolicy(table -> {
+            EntryStore.Column[] columns = new EntryStore.Column[table.getSortOrder().size()];
+            boolean[] isDescending = new boolean[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                TableColumn<UserCredentials, ?> column = table.getSortOrder().get(i);
+                columns[i] = column == tblColApplication ? EntryStore.Column.APPLICATION : EntryStore.Column.USERNAME;
+                isDescending[i] = column.getSortType() == TableColumn.SortType.DESCENDING;
+            }
+            DataBase.getSortedEntrys().sort(columns, isDescending);
+            return true;
+        });
+        tblViewDataEntrys.setItems(DataBase.getSortedEntrys());
+        tblViewDataEntrys.sort(); // the entrys may still be sorted like the table of the last file
 
-        // 4)
+        // 3)
         sldrPwdLength.valueProperty().addListener( (observable, oldValue, newValue) -> {
             lblPwdLength.setText(String.valueOf(newValue.intValue()));
-            txtFldPassword.setText(passwordGenerator.generate(newValue.intValue()));
+            generatePassword();
         });
+        cmbxMode.getItems().addAll(MODE_RANDOM, MODE_PRONOUNCEABLE, MODE_WORDS);
+        cmbxMode.setValue(generatorMode);
+        passwordGenerator.setLength((int)sldrPwdLength.getValue());
+        lblEntropy.setText(String.format("%.0f bits", passwordGenerator.getEntropy()));
+
+        // 4)
+        hasRecentlyChanged = DataBase.isLegacyFormat();
 
     }
 
     /**
      * Calls {@link DataBase#writeToFile()}.
+     * <p>
+     * The file gets written in the background, the save status label shows when it is done and how long it took.
      */
     private void saveFile() {
-        DataBase.writeToFile();
+
+        int save = ++saveCount;
+        long start = System.nanoTime();
+        lblSaveStatus.setText("Saving...");
+        DataBase.writeToFile().whenComplete( (result, exception) -> {
+            long latency = (System.nanoTime() - start) / 1_000_000;
+            Platform.runLater(() -> {
+                if (exception != null) {
+                    hasRecentlyChanged = true;
+                }
+                if (save != saveCount) {
+                    return;
+                }
+                if (exception == null) {
+                    lblSaveStatus.setText(String.format("Saved (%d ms)", latency));
+                }
+                else {
+                    lblSaveStatus.setText("Save failed");
+                }
+            });
+        });
+
+    }
+
+    /**
+     * Detach the table from the entrys and call {@link DataBase#clear()}.
+     */
+    private void closeFile() {
+        tblViewDataEntrys.setItems(FXCollections.observableArrayList()); // the table does not have to follow the entrys being cleared
+        DataBase.clear();
+    }
+
+    /**
+     * Map a row of the (possibly sorted) table to the index of its entry in the {@link DataBase}.
+     * @param row : the row
+     * @return the index of the entry
+     */
+    private int toEntryIndex(int row) {
+        return DataBase.getSortedEntrys().getEntryIndex(row);
     }
 
     /**
@@ -123,30 +206,32 @@ public class MainController implements Initializable {
      * 2) {@code tblColUsername} <p>
      * 3) {@code tblColPassword}
      * <p>
-     * On every edit commit it removes all the {@link DataBase#getSeparator()} that got typed
+     * On every edit commit it updates the entry in the {@link DataBase}
      * and deletes the row if all the cells on the row are now empty.
      * @param event : the event
      */
     public void onEditCell(CellEditEvent<UserCredentials, String> event) {
         
+        int index = toEntryIndex(event.getTablePosition().getRow());
+        UserCredentials uc = DataBase.getEntrys().get(index);
+        String newValue = event.getNewValue();
         if (event.getTarget().equals(tblColApplication)) {
-            event.getTableView().getItems().get(event.getTablePosition().getRow()).setApplication(event.getNewValue().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+            DataBase.updateEntry(index, newValue, uc.getUsername(), uc.getPassword());
             event.getTableView().refresh();
         }
         else if (event.getTarget().equals(tblColUsername)) {
-            event.getTableView().getItems().get(event.getTablePosition().getRow()).setUsername(event.getNewValue().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+            DataBase.updateEntry(index, uc.getApplication(), newValue, uc.getPassword());
             event.getTableView().refresh();
         }
         else if (event.getTarget().equals(tblColPassword)) {
-            event.getTableView().getItems().get(event.getTablePosition().getRow()).setPassword(event.getNewValue().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+            DataBase.updateEntry(index, uc.getApplication(), uc.getUsername(), newValue);
             event.getTableView().refresh();
         }
-        if (tblColApplication.getCellData(event.getTablePosition().getRow()).equals("") &&
-            tblColUsername.getCellData(event.getTablePosition().getRow()).equals("") &&
-            tblColPassword.getCellData(event.getTablePosition().getRow()).equals("")) {
-                int row = event.getTablePosition().getRow();
-                event.getTableView().getItems().remove(row); // delete from table row
-                DataBase.getEntrys().remove(row); // delete from database
+        uc = DataBase.getEntrys().get(index); // the row may have moved, the index of the entry has not
+        if (uc.getApplication().equals("") &&
+            uc.getUsername().equals("") &&
+            uc.getPassword().equals("")) {
+                DataBase.removeEntry(index); // delete from database and table
         }
         hasRecentlyChanged = true;
 
@@ -168,8 +253,7 @@ public class MainController implements Initializable {
         if (event.getTarget().equals(tblViewDataEntrys)) {
             if (event.getCode().equals(KeyCode.DELETE) && tblViewDataEntrys.getSelectionModel().getSelectedIndex() != -1) {
                 int selectedIndex = tblViewDataEntrys.getSelectionModel().getSelectedIndex();
-                tblViewDataEntrys.getItems().remove(selectedIndex);
-                DataBase.getEntrys().remove(selectedIndex);
+                DataBase.removeEntry(toEntryIndex(selectedIndex));
                 tblViewDataEntrys.getSelectionModel().select(selectedIndex);
                 hasRecentlyChanged = true;
             }
@@ -197,28 +281,143 @@ public class MainController implements Initializable {
     }
 
     /**
-     * Event handler bind to the {@code onKeyTyped} event on:
-     * <p>
-     * 1) {@code txtFldApp} <p>
-     * 2) {@code txtFldUsername} <p>
-     * 3) {@code txtFldPassword}
+     * Generate a password (random or pronounceable), or a passphrase in the words mode. The slider selects the length or the number of words.
+     * The entropy of the generator is shown next to the mode.
+     */
+    private void generatePassword() {
+
+        if (generatorMode.equals(MODE_WORDS) && passphraseGenerator != null) {
+            passphraseGenerator.setWordCount((int)sldrPwdLength.getValue());
+            txtFldPassword.setText(passphraseGenerator.generate());
+            lblEntropy.setText(String.format("%.0f bits", passphraseGenerator.getEntropy()));
+        }
+        else {
+            passwordGenerator.usePronounceable(generatorMode.equals(MODE_PRONOUNCEABLE));
+            txtFldPassword.setText(passwordGenerator.generate((int)sldrPwdLength.getValue()));
+            lblEntropy.setText(String.format("%.0f bits", passwordGenerator.getEntropy()));
+        }
+
+    }
+
+    /**
+     * Let the user select the wordlist, the separator and the capitalization of passphrases.
      * <p>
-     * It removes every {@link DataBase#getSeparator()} that gets typed.
-     * @param event : the event
+     * A text wordlist gets compiled into the application directory, so it is memory-mapped from there the next time.
+     * Every compiled list gets a new number, the list that is still mapped is never replaced (Windows does not allow it).
+     * @return {@code true} if the passphrase generator is ready, {@code false} otherwise
      */
-    public void onCheckForInvalidKey(KeyEvent event) {
+    private boolean configurePassphrases() {
+
+        int latest = findLatestWordList();
+        WordList wordList = passphraseGenerator != null ? passphraseGenerator.getWordList() : null;
+        if (wordList == null && latest > 0) {
+            deleteOldWordLists(latest); // left over if they were still mapped when they got replaced
+            try {
+                wordList = WordList.open(new File(RecentFilePaths.getDirectory(), WORDLIST_FILE_NAME + "." + latest));
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        TextField txtFldWordList = new TextField(wordList != null ? String.format("%d words", wordList.size()) : "");
+        txtFldWordList.setPromptText("Wordlist (one word per line)");
+        txtFldWordList.setEditable(false);
+        File[] selectedFile = new File[1];
+        Button btnWordList = new Button("Wordlist ...");
+        btnWordList.setOnAction(e -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Select Wordlist");
+            selectedFile[0] = fileChooser.showOpenDialog(btnWordList.getScene().getWindow());
+            if (selectedFile[0] != null) {
+                txtFldWordList.setText(selectedFile[0].getAbsolutePath());
+            }
+        });
+        HBox.setHgrow(txtFldWordList, Priority.ALWAYS);
+        TextField txtFldSeparator = new TextField(passphraseGenerator != null ? passphraseGenerator.getSeparator() : "-");
+        txtFldSeparator.setPromptText("Separator");
+        ComboBox<Diceware.Capitalization> cmbxCapitalization = new ComboBox<Diceware.Capitalization>(FXCollections.observableArrayList(Diceware.Capitalization.values()));
+        cmbxCapitalization.getSelectionModel().select(passphraseGenerator != null ? passphraseGenerator.getCapitalization() : Diceware.Capitalization.NONE);
+
+        Dialog<ButtonType> dialog = new Dialog<ButtonType>();
+        dialog.setTitle("Password Manager - Passphrase");
+        dialog.setHeaderText("Generate passphrases from a wordlist");
+        dialog.getDialogPane().setContent(new VBox(5.0, new HBox(5.0, txtFldWordList, btnWordList), txtFldSeparator, cmbxCapitalization));
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.CANCEL, ButtonType.OK);
+        dialog.initOwner(tblViewDataEntrys.getScene().getWindow());
+        Optional<ButtonType> res = dialog.showAndWait();
+        if (!res.isPresent() || !res.get().equals(ButtonType.OK)) {
+            return false;
+        }
 
-        if (event.getCharacter().equals(String.valueOf(DataBase.getSeparator()))) {
-            if (event.getTarget().equals(txtFldApp)) {
-                txtFldApp.setText(txtFldApp.getText().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+        if (selectedFile[0] != null) {
+            try {
+                if (WordList.isCompiled(selectedFile[0])) {
+                    wordList = WordList.open(selectedFile[0]);
+                }
+                else {
+                    wordList = WordList.compile(selectedFile[0], new File(RecentFilePaths.getDirectory(), WORDLIST_FILE_NAME + "." + (latest + 1)));
+                    deleteOldWordLists(latest + 1);
+                }
             }
-            else if (event.getTarget().equals(txtFldUsername)) {
-                txtFldUsername.setText(txtFldUsername.getText().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+            catch (IOException e) {
+                e.printStackTrace();
+                lblSaveStatus.setText("Wordlist can not be read");
+                return false;
             }
-            else if (event.getTarget().equals(txtFldPassword)) {
-                txtFldPassword.setText(txtFldPassword.getText().replaceAll(String.valueOf(DataBase.getSeparator()), ""));
+        }
+        if (wordList == null) {
+            lblSaveStatus.setText("No wordlist selected");
+            return false;
+        }
+        Diceware diceware;
+        try {
+            diceware = new Diceware(wordList, txtFldSeparator.getText(), cmbxCapitalization.getValue());
+        }
+        catch (IllegalArgumentException e) { // passphrases would be ambiguous
+            lblSaveStatus.setText("Separator occurs in the wordlist");
+            return false;
+        }
+        if (passphraseGenerator != null) {
+            diceware.setWordCount(passphraseGenerator.getWordCount());
+        }
+        passphraseGenerator = diceware;
+        return true;
+
+    }
+
+    /**
+     * Find the current compiled wordlist in the application directory.
+     * @return its number, {@code 0} if there is none
+     */
+    private static int findLatestWordList() {
+
+        int latest = 0;
+        File directory = RecentFilePaths.getDirectory();
+        String[] fileNames = directory != null ? directory.list() : null;
+        for (String fileName : fileNames != null ? fileNames : new String[0]) {
+            if (fileName.startsWith(WORDLIST_FILE_NAME + ".")) {
+                try {
+                    latest = Math.max(latest, Integer.parseInt(fileName.substring(WORDLIST_FILE_NAME.length() + 1)));
+                }
+                catch (NumberFormatException e) {} // e.g. the temporary file of a compilation
             }
         }
+        return latest;
+
+    }
+
+    /**
+     * Delete the compiled wordlists older than the current one. A list that is still mapped can not be deleted on Windows,
+     * it is deleted the next time.
+     * @param latest : the number of the current list
+     */
+    private static void deleteOldWordLists(int latest) {
+
+        new File(RecentFilePaths.getDirectory(), WORDLIST_FILE_NAME).delete(); // compiled by an older version
+        for (int i = 1; i < latest; i++) {
+            new File(RecentFilePaths.getDirectory(), WORDLIST_FILE_NAME + "." + i).delete();
+        }
 
     }
 
@@ -229,7 +428,58 @@ public class MainController implements Initializable {
      * @param event : the event
      */
     public void onGenerate(ActionEvent event) {
-        txtFldPassword.setText(passwordGenerator.generate((int)sldrPwdLength.getValue()));
+        generatePassword();
+    }
+
+    /**
+     * Event handler bind to the Mode ComboBox's {@code onAction} event.
+     * <p>
+     * Lets the user switch between random passwords, pronounceable passwords and passphrases (see {@link Diceware}).
+     * In the words mode the slider selects the number of words.
+     * @param event : the event
+     */
+    public void onMode(ActionEvent event) {
+
+        String mode = cmbxMode.getValue();
+        if (mode == null || mode.equals(generatorMode)) {
+            return;
+        }
+        if (mode.equals(MODE_WORDS)) {
+            if (!configurePassphrases()) {
+                cmbxMode.setValue(generatorMode);
+                return;
+            }
+            passwordLength = (int)sldrPwdLength.getValue();
+            generatorMode = mode;
+            setSliderRange(3, 12, passphraseGenerator.getWordCount());
+        }
+        else {
+            boolean wasWords = generatorMode.equals(MODE_WORDS);
+            generatorMode = mode;
+            if (wasWords) {
+                setSliderRange(8, 64, passwordLength);
+            }
+        }
+        generatePassword();
+
+    }
+
+    /**
+     * Change the range of the length slider.
+     * @param min : the minimum
+     * @param max : the maximum
+     * @param value : the value
+     */
+    private void setSliderRange(int min, int max, int value) {
+
+        // widen the range first, so the value is never clamped to the old range
+        sldrPwdLength.setMin(Math.min(min, sldrPwdLength.getMin()));
+        sldrPwdLength.setMax(Math.max(max, sldrPwdLength.getMax()));
+        sldrPwdLength.setValue(value);
+        sldrPwdLength.setMin(min);
+        sldrPwdLength.setMax(max);
+        lblPwdLength.setText(String.valueOf(value));
+
     }
 
     /**
@@ -273,12 +523,10 @@ public class MainController implements Initializable {
                                                  txtFldPassword.getText());
         
         if (tblViewDataEntrys.getSelectionModel().getSelectedIndex() != -1) {
-            DataBase.addNewEntryAt(uc, tblViewDataEntrys.getSelectionModel().getSelectedIndex()+1);
-            tblViewDataEntrys.getItems().add(tblViewDataEntrys.getSelectionModel().getSelectedIndex()+1, uc);
+            DataBase.addNewEntryAt(uc, toEntryIndex(tblViewDataEntrys.getSelectionModel().getSelectedIndex())+1);
         }
         else {
             DataBase.addNewEntry(uc);
-            tblViewDataEntrys.getItems().add(uc);
         }
         txtFldApp.requestFocus();
         hasRecentlyChanged = true;
@@ -302,7 +550,7 @@ public class MainController implements Initializable {
                 return;
             }
         }
-        DataBase.clear();
+        closeFile();
         ViewSwitcher.switchTo(View.NEW);
         if (ThemeSwitcher.getCurrentTheme() == Theme.MAIN_DEFAULT) {
             ThemeSwitcher.switchTo(Theme.NEW_DEFAULT);
@@ -330,7 +578,7 @@ public class MainController implements Initializable {
                 return;
             }
         }
-        DataBase.clear();
+        closeFile();
         ViewSwitcher.switchTo(View.LOGIN);
         if (ThemeSwitcher.getCurrentTheme() == Theme.MAIN_DEFAULT) {
             ThemeSwitcher.switchTo(Theme.LOGIN_DEFAULT);
@@ -352,6 +600,82 @@ public class MainController implements Initializable {
         hasRecentlyChanged = false;
     }
 
+    /**
+     * Event handler bind to the Password Button's {@code onAction} event.
+     * <p>
+     * Lets the user change the master password and the keyfile. Only the key slot of the file gets rewritten, see {@link DataBase#changePassword(char[], File)}.
+     * <p>
+     * The key derivation runs in the background, the view is disabled until the password has been changed.
+     * @param event : the event
+     */
+    public void onChangePassword(ActionEvent event) {
+
+        PasswordField pwFldNew = new PasswordField();
+        PasswordField pwFldConfirm = new PasswordField();
+        pwFldNew.setPromptText("New master password");
+        pwFldConfirm.setPromptText("Confirm master password");
+        TextField txtFldKeyFile = new TextField();
+        txtFldKeyFile.setPromptText("Keyfile (optional)");
+        txtFldKeyFile.setEditable(false);
+        Button btnKeyFile = new Button("Keyfile ...");
+        btnKeyFile.setOnAction(e -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Select Keyfile");
+            File selectedFile = fileChooser.showOpenDialog(btnKeyFile.getScene().getWindow());
+            txtFldKeyFile.setText(selectedFile != null ? selectedFile.getAbsolutePath() : "");
+        });
+        HBox.setHgrow(txtFldKeyFile, Priority.ALWAYS);
+
+        Dialog<ButtonType> dialog = new Dialog<ButtonType>();
+        dialog.setTitle("Password Manager - Password");
+        dialog.setHeaderText("Change the master password");
+        dialog.getDialogPane().setContent(new VBox(5.0, pwFldNew, pwFldConfirm, new HBox(5.0, txtFldKeyFile, btnKeyFile)));
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.CANCEL, ButtonType.OK);
+        dialog.initOwner(tblViewDataEntrys.getScene().getWindow());
+        Platform.runLater(pwFldNew::requestFocus);
+        Optional<ButtonType> res = dialog.showAndWait();
+        if (!res.isPresent() || !res.get().equals(ButtonType.OK)) {
+            return;
+        }
+
+        if (pwFldNew.getLength() < 4) {
+            lblSaveStatus.setText("Password too short (min. 4)");
+        }
+        else if (!pwFldNew.getText().equals(pwFldConfirm.getText())) {
+            lblSaveStatus.setText("Passwords do not match");
+        }
+        else {
+            char[] newPassword = pwFldNew.getText().toCharArray();
+            File newKeyFile = txtFldKeyFile.getLength() == 0 ? null : new File(txtFldKeyFile.getText());
+            long start = System.nanoTime();
+            Task<Void> task = new Task<Void>() {
+                @Override
+                protected Void call() throws Exception {
+                    DataBase.changePassword(newPassword, newKeyFile);
+                    return null;
+                }
+            };
+            task.setOnSucceeded(e -> {
+                btnAdd.getScene().getRoot().setDisable(false);
+                lblSaveStatus.setText(String.format("Password changed (%d ms)", (System.nanoTime() - start) / 1_000_000));
+            });
+            task.setOnFailed(e -> {
+                task.getException().printStackTrace();
+                btnAdd.getScene().getRoot().setDisable(false);
+                lblSaveStatus.setText("Password change failed");
+            });
+
+            btnAdd.getScene().getRoot().setDisable(true);
+            lblSaveStatus.setText("Changing password...");
+            Thread thread = new Thread(task, "MainController-ChangePassword");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        pwFldNew.clear();
+        pwFldConfirm.clear();
+
+    }
+
     /**
      * Event handler bind to the Close Button's {@code onAction} event.
      * <p>
@@ -369,7 +693,7 @@ public class MainController implements Initializable {
                 return;
             }
         }
-        DataBase.clear();
+        closeFile();
         ViewSwitcher.switchTo(View.LOGIN);
         if (ThemeSwitcher.getCurrentTheme() == Theme.MAIN_DEFAULT) {
             ThemeSwitcher.switchTo(Theme.LOGIN_DEFAULT);
@@ -1,13 +1,11 @@
 package com.danield.passwordmanager;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 
-import com.danield.protector.SHA;
 import com.danield.util.OSValidator;
 
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
 import javafx.fxml.FXML;
@@ -29,6 +27,7 @@ public class NewController {
     
     @FXML private TextField txtFldFilePath;
     @FXML private PasswordField pwFldMasterPassword;
+    @FXML private TextField txtFldKeyFile;
     @FXML private Label lblInfoText;
     @FXML private Button btnBrowse;
     @FXML private Button btnCreate;
@@ -45,41 +44,40 @@ public class NewController {
     }
 
     /**
-     * Create a file.
-     * @return {@code true} if the file was successfully created, {@code false} otherwise
+     * Create a file in the background. Its key is derived from the entered password and the selected keyfile.
+     * <p>
+     * The key derivation (and its calibration the first time) can take more than a second, the view is disabled until it is done.
      */
-    private boolean createFile() {
-
-        File file = new File(txtFldFilePath.getText());
-        try {
-            if (file.exists()) {
-                file.delete();
+    private void createFile() {
+
+        String filePath = txtFldFilePath.getText();
+        char[] password = pwFldMasterPassword.getText().toCharArray();
+        File keyFile = getKeyFile();
+        Task<Void> task = new Task<Void>() {
+            @Override
+            protected Void call() throws Exception {
+                DataBase.createFile(filePath, password, keyFile);
+                return null;
             }
-            file.createNewFile();
-            writeHash(file, SHA.SHA256(pwFldMasterPassword.getText().getBytes()));
-            return true;
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-    }
-
-    /**
-     * Write the hash to a file.
-     * @param file : the file.
-     * @param hash : the hash.
-     */
-    private void writeHash(File file, byte[] hash) {
+        };
+        task.setOnSucceeded(e -> {
+            btnCreate.getScene().getRoot().setDisable(false);
+            pwFldMasterPassword.setBorder(CustomBorder.NONE.getBorder());
+            infoText("SUCCESSFULLY CREATED THE NEW FILE.", Color.LIGHTGREEN);
+            btnTopLogin.requestFocus();
+        });
+        task.setOnFailed(e -> {
+            task.getException().printStackTrace();
+            btnCreate.getScene().getRoot().setDisable(false);
+            infoText("CANT CREATE FILE.", Color.RED);
+        });
+
+        btnCreate.getScene().getRoot().setDisable(true);
+        infoText("CREATING FILE ...", Color.BLACK);
+        Thread thread = new Thread(task, "NewController-Create");
+        thread.setDaemon(true);
+        thread.start();
 
-        try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
-            fileOutputStream.write(hash);
-        }
-        catch (IOException e) {
-            e.printStackTrace();
-        }
-        
     }
 
     /**
@@ -115,14 +113,7 @@ public class NewController {
             pwFldMasterPassword.requestFocus();
         }
         else {
-            if (createFile()) {
-                pwFldMasterPassword.setBorder(CustomBorder.NONE.getBorder());
-                infoText("SUCCESSFULLY CREATED THE NEW FILE.", Color.LIGHTGREEN);
-                btnTopLogin.requestFocus();
-            }
-            else {
-                infoText("CANT CREATE FILE.", Color.RED);
-            }
+            createFile();
         }
 
     }
@@ -212,4 +203,30 @@ public class NewController {
 
     }
 
+    /**
+     * Event handler bind to the Keyfile Button's {@code onAction} event.
+     * <p>
+     * Lets the user select a keyfile that is used together with the master password, see {@link KeyFile}.
+     * Closing the {@code FileChooser} without a selection removes the keyfile.
+     * @param event : the event
+     */
+    public void onBrowseKeyFile(ActionEvent event) {
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Keyfile");
+
+        File selectedFile = fileChooser.showOpenDialog(txtFldKeyFile.getScene().getWindow());
+        txtFldKeyFile.setText(selectedFile != null ? selectedFile.getAbsolutePath() : "");
+        infoText("", Color.BLACK);
+        pwFldMasterPassword.requestFocus();
+
+    }
+
+    /**
+     * @return the selected keyfile, {@code null} if there is none
+     */
+    private File getKeyFile() {
+        return txtFldKeyFile.getLength() == 0 ? null : new File(txtFldKeyFile.getText());
+    }
+
 }
@@ -129,4 +129,19 @@ public class RecentFilePaths {
         return recentFilePaths;
     }
 
+    /**
+     * Get the directory the recent_filepaths file (and other application data) is stored in. It gets created if it does not exist.
+     * @return the directory, {@code null} if the operating system is not supported
+     */
+    public static File getDirectory() {
+
+        File dir = null;
+        if (OSValidator.isWindows())   { dir = new File(DIR_PATH_WINDOWS); }
+        else if (OSValidator.isUnix()) { dir = new File(DIR_PATH_UNIX); }
+
+        if (dir != null && !dir.exists()) { dir.mkdirs(); }
+        return dir;
+
+    }
+
 }
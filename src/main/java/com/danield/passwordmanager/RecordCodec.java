@@ -0,0 +1,225 @@
+package com.danield.passwordmanager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@code RecordCodec} class converts {@link UserCredentials entrys} to and from the binary record format.
+ * <p>
+ * Every entry is stored as three length-prefixed UTF-8 fields. The length is encoded as unsigned varint
+ * (7 bits per byte, least significant group first, the highest bit marks that another byte follows).
+ * No character needs to be reserved or escaped.
+ * <p>
+ * Layout: { LENGTH (varint) , APPLICATION } , { LENGTH (varint) , USERNAME } , { LENGTH (varint) , PASSWORD }
+ * <p>
+ * In files with sealed passwords the PASSWORD field holds the password encrypted on its own, so it does not have to be
+ * decrypted before it is needed (see {@link UserCredentials#getPassword()}).
+ * @author Daniel D
+ */
+public class RecordCodec {
+
+    private RecordCodec() {} // we don't want this class to be instantiated.
+
+    /**
+     * Encode entrys.
+     * @param entrys : the entrys
+     * @return the encoded entrys
+     */
+    public static byte[] encode(List<UserCredentials> entrys) {
+
+        Writer writer = new Writer();
+        for (UserCredentials entry : entrys) {
+            writer.putField(entry.getApplication());
+            writer.putField(entry.getUsername());
+            writer.putField(entry.getPassword());
+        }
+        return writer.toByteArray();
+
+    }
+
+    /**
+     * Encode the entrys of a snapshot from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     * @param store : the snapshot
+     * @param fromIndex : the index of the first entry
+     * @param toIndex : the index after the last entry
+     * @param isSealing : {@code true} to store the passwords sealed, {@code false} to store them in plain text
+     * @return the encoded entrys
+     * @throws Exception if a password can not be sealed or unsealed
+     */
+    public static byte[] encode(EntryStore.Snapshot store, int fromIndex, int toIndex, boolean isSealing) throws Exception {
+
+        Writer writer = new Writer();
+        for (int i = fromIndex; i < toIndex; i++) {
+            writer.putField(store.getApplicationBytes(i));
+            writer.putField(store.getUsernameBytes(i));
+            writer.putField(isSealing ? store.getSealedPasswordBytes(i) : store.getPasswordBytes(i));
+        }
+        return writer.toByteArray();
+
+    }
+
+    /**
+     * Encode one entry.
+     * @param entry : the entry
+     * @return the encoded entry
+     */
+    public static byte[] encode(UserCredentials entry) {
+        return encode(List.of(entry));
+    }
+
+    /**
+     * Decode all entrys from the position to the limit of the data.
+     * @param data : the data. the position gets moved to the limit.
+     * @param consumer : receives the entrys in order
+     * @throws IOException if the data is malformed
+     */
+    public static void decode(ByteBuffer data, Consumer<UserCredentials> consumer) throws IOException {
+
+        while (data.hasRemaining()) {
+            String application = getField(data);
+            String username = getField(data);
+            String password = getField(data);
+            consumer.accept(new UserCredentials(application, username, password));
+        }
+
+    }
+
+    /**
+     * Decode all entrys from the position to the limit of the data and append them to a store.
+     * The fields are copied into the store without being decoded, sealed passwords stay encrypted until they are needed.
+     * @param data : the data. the position gets moved to the limit.
+     * @param store : receives the entrys in order
+     * @param isSealed : {@code true} if the passwords are sealed
+     * @throws IOException if the data is malformed
+     */
+    public static void decode(ByteBuffer data, EntryStore store, boolean isSealed) throws IOException {
+
+        while (data.hasRemaining()) {
+            ByteBuffer application = getFieldBytes(data);
+            ByteBuffer username = getFieldBytes(data);
+            ByteBuffer password = getFieldBytes(data);
+            store.add(application, username, password, isSealed);
+        }
+
+    }
+
+    /**
+     * Read one length-prefixed field without copying it.
+     * @param data : the data
+     * @return the field, ready to be read from
+     * @throws IOException if the data is malformed
+     */
+    private static ByteBuffer getFieldBytes(ByteBuffer data) throws IOException {
+
+        int length = getVarInt(data);
+        if (length > data.remaining()) {
+            throw new IOException("malformed record: field exceeds data.");
+        }
+        ByteBuffer field = data.slice(data.position(), length);
+        data.position(data.position() + length);
+        return field;
+
+    }
+
+    /**
+     * Read one length-prefixed UTF-8 field.
+     * @param data : the data
+     * @return the field
+     * @throws IOException if the data is malformed
+     */
+    private static String getField(ByteBuffer data) throws IOException {
+
+        int length = getVarInt(data);
+        if (length > data.remaining()) {
+            throw new IOException("malformed record: field exceeds data.");
+        }
+        String field;
+        if (data.hasArray()) {
+            field = new String(data.array(), data.arrayOffset() + data.position(), length, StandardCharsets.UTF_8);
+        }
+        else {
+            byte[] bytes = new byte[length];
+            data.duplicate().get(bytes);
+            field = new String(bytes, StandardCharsets.UTF_8);
+        }
+        data.position(data.position() + length);
+        return field;
+
+    }
+
+    /**
+     * Read an unsigned varint.
+     * @param data : the data
+     * @return the value
+     * @throws IOException if the data is malformed
+     */
+    private static int getVarInt(ByteBuffer data) throws IOException {
+
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!data.hasRemaining()) {
+                throw new IOException("malformed record: truncated length.");
+            }
+            byte b = data.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("malformed record: invalid length.");
+
+    }
+
+    /**
+     * Growable output buffer.
+     */
+    private static class Writer {
+
+        private byte[] buffer = new byte[256];
+        private int length = 0;
+
+        private void putField(String field) {
+            putField(field.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void putField(byte[] bytes) {
+            putField(ByteBuffer.wrap(bytes));
+        }
+
+        private void putField(ByteBuffer bytes) {
+
+            int length = bytes.remaining();
+            ensureCapacity(5 + length);
+            int value = length;
+            while ((value & ~0x7F) != 0) {
+                buffer[this.length++] = (byte)((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[this.length++] = (byte)value;
+            bytes.duplicate().get(buffer, this.length, length);
+            this.length += length;
+
+        }
+
+        private void ensureCapacity(int additional) {
+
+            if (length + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+            }
+
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.danield.passwordmanager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The {@code RecordTokenizer} class turns separator-delimited entrys into {@link UserCredentials}.
+ * <p>
+ * The data gets scanned once for the separator byte and every field is decoded straight from its offsets,
+ * without building an intermediate {@code String} of the whole data. The data can be fed in chunks
+ * (e.g. one decrypted segment at a time), a field that is split across two chunks is carried over.
+ * @author Daniel D
+ */
+public class RecordTokenizer {
+
+    private static final int FIELDS_PER_ENTRY = 3;
+
+    private final byte separator;
+    private final Charset charset;
+    private final Consumer<UserCredentials> consumer;
+    private final String[] fields = new String[FIELDS_PER_ENTRY];
+    private int fieldIndex = 0;
+    private byte[] carry = new byte[64]; // beginning of a field that continues in the next chunk
+    private int carryLength = 0;
+
+    /**
+     * @param separator : the separator byte
+     * @param charset : the charset the fields are encoded with, must encode the separator as a single byte
+     * @param consumer : receives the entrys in order
+     */
+    public RecordTokenizer(byte separator, Charset charset, Consumer<UserCredentials> consumer) {
+
+        this.separator = separator;
+        this.charset = charset;
+        this.consumer = consumer;
+
+    }
+
+    /**
+     * Tokenize the next chunk of data.
+     * @param chunk : the data from its position to its limit. the position gets moved to the limit.
+     */
+    public void feed(ByteBuffer chunk) {
+
+        byte[] data;
+        int offset;
+        int end;
+        if (chunk.hasArray()) {
+            data = chunk.array();
+            offset = chunk.arrayOffset() + chunk.position();
+            end = chunk.arrayOffset() + chunk.limit();
+        }
+        else {
+            data = new byte[chunk.remaining()];
+            chunk.duplicate().get(data);
+            offset = 0;
+            end = data.length;
+        }
+        chunk.position(chunk.limit());
+
+        int fieldStart = offset;
+        for (int i = offset; i < end; i++) {
+            if (data[i] == separator) {
+                if (carryLength == 0) {
+                    field(new String(data, fieldStart, i - fieldStart, charset));
+                }
+                else {
+                    appendCarry(data, fieldStart, i - fieldStart);
+                    field(new String(carry, 0, carryLength, charset));
+                    carryLength = 0;
+                }
+                fieldStart = i + 1;
+            }
+        }
+        appendCarry(data, fieldStart, end - fieldStart);
+
+    }
+
+    /**
+     * Finish tokenizing. An incomplete entry at the end of the data gets dropped.
+     */
+    public void finish() {
+
+        fieldIndex = 0;
+        carryLength = 0;
+        Arrays.fill(fields, null);
+
+    }
+
+    /**
+     * Handle one complete field.
+     * @param field : the field
+     */
+    private void field(String field) {
+
+        fields[fieldIndex++] = field;
+        if (fieldIndex == FIELDS_PER_ENTRY) {
+            consumer.accept(new UserCredentials(fields[0], fields[1], fields[2]));
+            fieldIndex = 0;
+        }
+
+    }
+
+    /**
+     * Append bytes to the carried over beginning of a field.
+     * @param data : the data
+     * @param offset : the offset
+     * @param length : the number of bytes
+     */
+    private void appendCarry(byte[] data, int offset, int length) {
+
+        if (carryLength + length > carry.length) {
+            carry = Arrays.copyOf(carry, Math.max(carry.length * 2, carryLength + length));
+        }
+        System.arraycopy(data, offset, carry, carryLength, length);
+        carryLength += length;
+
+    }
+
+}
@@ -0,0 +1,402 @@
+package com.danield.passwordmanager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.danield.protector.AES;
+import com.danield.protector.Argon2;
+import com.danield.protector.KDF;
+import com.danield.protector.PBKDF2;
+import com.danield.protector.SHA;
+
+/**
+ * The {@code Session} class holds the key material of one unlocked vault.
+ * <p>
+ * The key gets derived from the master password exactly once, at login, and is reused for every save
+ * afterwards. The master password itself is not kept. Closing the session wipes the key.
+ * <p>
+ * New files store a random salt, the key derivation parameters and a key check value in their {@link VaultHeader},
+ * so the password can be verified with the same key derivation that unlocks the file.
+ * <p>
+ * The file is encrypted with a random data key. The key derived from the master password only encrypts (wraps) the data key,
+ * so {@link #changePassword(char[], byte[], KDF) changing the password} only has to wrap the data key again.
+ * <p>
+ * The key can be derived from the master password together with a keyfile (composite key, see {@link KeyFile}).
+ * The header then contains {@link VaultHeader#TAG_KEYFILE}, the keyfile itself is not stored.
+ * @author Daniel D
+ */
+public class Session {
+
+    private static final byte KDF_PBKDF2_SHA256 = 1;
+    private static final byte KDF_ARGON2ID = 2;
+    private static final String KEY_CHECK_ALGORITHM = "HmacSHA256";
+    private static final byte[] KEY_CHECK_LABEL = "PasswordManager key check".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WRAPPED_KEY_LABEL = "PasswordManager data key".getBytes(StandardCharsets.US_ASCII);
+
+    private final SessionKey secretKey;
+    private final byte[] kdf; // value of VaultHeader.TAG_KDF, null for files that use the password as salt
+    private final byte[] keyCheck;
+    private final byte[] passwordHash;
+    private final byte[] wrappedKey; // null for files whose key is derived from the password directly
+    private final boolean hasKeyFile;
+
+    private Session(SessionKey secretKey, byte[] kdf, byte[] keyCheck, byte[] passwordHash, byte[] wrappedKey, boolean hasKeyFile) {
+        this.secretKey = secretKey;
+        this.kdf = kdf;
+        this.keyCheck = keyCheck;
+        this.passwordHash = passwordHash;
+        this.wrappedKey = wrappedKey;
+        this.hasKeyFile = hasKeyFile;
+    }
+
+    /**
+     * Create a session for a new file: a random data key gets wrapped with a key derived with a random salt. The password array gets wiped.
+     * @param password : the master password
+     * @param keyFileHash : the hash of the keyfile, see {@link KeyFile#hash(java.io.File)}. {@code null} if there is no keyfile.
+     * @param kdf : the key derivation function, {@link Argon2} or {@link PBKDF2}
+     * @return the session
+     * @throws Exception if the key can not be derived
+     */
+    static Session create(char[] password, byte[] keyFileHash, KDF kdf) throws Exception {
+
+        SessionKey secretKey = SessionKey.of(AES.generateKey());
+        try {
+            return wrap(secretKey, password, keyFileHash, kdf);
+        }
+        catch (Exception e) {
+            secretKey.destroy();
+            throw e;
+        }
+
+    }
+
+    /**
+     * Change the master password: the data key gets wrapped with a key derived from the new password with a new salt.
+     * The password array gets wiped.
+     * <p>
+     * The returned session shares the data key with this session, so the file does not have to be encrypted again and
+     * closing either session wipes the key. Files whose key is derived from the password directly keep that key as data key.
+     * @param password : the new master password
+     * @param keyFileHash : the hash of the new keyfile, see {@link KeyFile#hash(java.io.File)}. {@code null} if there is no keyfile.
+     * @param kdf : the key derivation function, {@link Argon2} or {@link PBKDF2}
+     * @return the session, {@link #writeTo(VaultHeader) write it to the header} of the file
+     * @throws IllegalStateException if the session is closed
+     * @throws Exception if the key can not be derived
+     */
+    Session changePassword(char[] password, byte[] keyFileHash, KDF kdf) throws Exception {
+
+        if (secretKey.isDestroyed()) {
+            Arrays.fill(password, '\0');
+            throw new IllegalStateException("session is closed.");
+        }
+        return wrap(secretKey, password, keyFileHash, kdf);
+
+    }
+
+    /**
+     * Wrap a data key with a key derived from the password with a random salt. The password array gets wiped.
+     * @param secretKey : the data key
+     * @param password : the master password
+     * @param keyFileHash : the hash of the keyfile, {@code null} if there is no keyfile
+     * @param kdf : the key derivation function
+     * @return the session
+     * @throws Exception if the key can not be derived
+     */
+    private static Session wrap(SessionKey secretKey, char[] password, byte[] keyFileHash, KDF kdf) throws Exception {
+
+        SessionKey passwordKey = null;
+        byte[] encodedKey = null;
+        try {
+            byte[] salt = AES.generateSalt();
+            passwordKey = SessionKey.of(AES.deriveKey(password, keyFileHash, salt, kdf));
+            encodedKey = secretKey.getEncoded();
+            byte[] wrappedKey = AES.encrypt(encodedKey, passwordKey, WRAPPED_KEY_LABEL);
+            return new Session(secretKey, encodeKdf(kdf, salt), passwordKey.check(), null, wrappedKey, keyFileHash != null);
+        }
+        finally {
+            Arrays.fill(password, '\0');
+            if (passwordKey != null) {
+                passwordKey.destroy();
+            }
+            if (encodedKey != null) {
+                Arrays.fill(encodedKey, (byte)0);
+            }
+        }
+
+    }
+
+    /**
+     * Unlock a segmented vault file. The key gets derived exactly once, with the parameters stored in the header,
+     * and is checked against the {@link VaultHeader#TAG_KEY_CHECK key check} of the header. The password array gets wiped.
+     * If the header contains a {@link VaultHeader#TAG_WRAPPED_KEY wrapped data key}, the derived key unwraps it.
+     * <p>
+     * Files without {@link VaultHeader#TAG_KDF} get unlocked like {@link #unlockLegacy(char[], byte[])}, they do not support keyfiles.
+     * @param password : the master password
+     * @param keyFileHash : the hash of the keyfile, see {@link KeyFile#hash(java.io.File)}. {@code null} if there is no keyfile.
+     * @param header : the header of the file
+     * @return the session <b>OR {@code null} if the password or the keyfile is wrong (or missing).</b>
+     * @throws IOException if the header contains an unsupported or corrupt key derivation or data key
+     * @throws Exception if the key can not be derived
+     */
+    public static Session unlock(char[] password, byte[] keyFileHash, VaultHeader header) throws Exception {
+
+        byte[] kdf = header.get(VaultHeader.TAG_KDF);
+        boolean hasKeyFile = kdf != null && header.get(VaultHeader.TAG_KEYFILE) != null;
+        if (hasKeyFile != (keyFileHash != null)) {
+            Arrays.fill(password, '\0');
+            return null;
+        }
+        if (kdf == null) {
+            byte[] passwordHash = header.get(VaultHeader.TAG_PASSWORD_HASH);
+            return unlockLegacy(password, passwordHash == null ? new byte[0] : passwordHash);
+        }
+
+        try {
+            byte[] keyCheck = header.get(VaultHeader.TAG_KEY_CHECK);
+            if (keyCheck == null) {
+                throw new IOException("corrupt vault file header.");
+            }
+            ByteBuffer params = ByteBuffer.wrap(kdf);
+            KDF function = decodeKdf(params);
+            byte[] salt = new byte[params.remaining()];
+            params.get(salt);
+
+            SessionKey secretKey = SessionKey.of(AES.deriveKey(password, keyFileHash, salt, function));
+            if (!MessageDigest.isEqual(secretKey.check(), keyCheck)) {
+                secretKey.destroy();
+                return null;
+            }
+
+            byte[] wrappedKey = header.get(VaultHeader.TAG_WRAPPED_KEY);
+            if (wrappedKey == null) {
+                return new Session(secretKey, kdf, keyCheck, null, null, hasKeyFile);
+            }
+            SessionKey passwordKey = secretKey;
+            byte[] encodedKey = null;
+            try {
+                encodedKey = AES.decrypt(wrappedKey, passwordKey, WRAPPED_KEY_LABEL);
+                return new Session(new SessionKey(encodedKey, passwordKey.getAlgorithm()), kdf, keyCheck, null, wrappedKey, hasKeyFile);
+            }
+            catch (AEADBadTagException e) { // the password is right, so the header has been changed
+                throw new IOException("corrupt vault file header.", e);
+            }
+            finally {
+                passwordKey.destroy();
+                if (encodedKey != null) {
+                    Arrays.fill(encodedKey, (byte)0);
+                }
+            }
+        }
+        finally {
+            Arrays.fill(password, '\0');
+        }
+
+    }
+
+    /**
+     * Unlock a file whose key is derived with the password as salt and which stores the SHA-256 hash of the password.
+     * The hash gets compared first, so a wrong password does not cost a key derivation. The password array gets wiped.
+     * @param password : the master password
+     * @param passwordHash : the hash stored in the file
+     * @return the session <b>OR {@code null} if the password is wrong.</b>
+     * @throws Exception if the key can not be derived
+     */
+    public static Session unlockLegacy(char[] password, byte[] passwordHash) throws Exception {
+
+        try {
+            // hash the password the same way older versions did (String.getBytes())
+            ByteBuffer encoded = Charset.defaultCharset().encode(CharBuffer.wrap(password));
+            byte[] hash = SHA.SHA256(encoded);
+            if (encoded.hasArray()) {
+                Arrays.fill(encoded.array(), (byte)0);
+            }
+            if (hash == null || !MessageDigest.isEqual(hash, passwordHash)) {
+                return null;
+            }
+            return new Session(SessionKey.of(AES.deriveKey(password)), null, null, hash, null, false);
+        }
+        finally {
+            Arrays.fill(password, '\0');
+        }
+
+    }
+
+    /**
+     * Serialize the key derivation function and the salt for {@link VaultHeader#TAG_KDF}.
+     * @param kdf : the key derivation function
+     * @param salt : the salt
+     * @return the value of the header field
+     */
+    private static byte[] encodeKdf(KDF kdf, byte[] salt) {
+
+        if (kdf instanceof Argon2) {
+            Argon2 argon2 = (Argon2)kdf;
+            return ByteBuffer.allocate(1 + 3 * Integer.BYTES + salt.length).put(KDF_ARGON2ID)
+                .putInt(argon2.getMemoryKiB()).putInt(argon2.getIterations()).putInt(argon2.getLanes()).put(salt).array();
+        }
+        if (kdf instanceof PBKDF2) {
+            return ByteBuffer.allocate(1 + Integer.BYTES + salt.length).put(KDF_PBKDF2_SHA256)
+                .putInt(((PBKDF2)kdf).getIterationCount()).put(salt).array();
+        }
+        throw new IllegalArgumentException(String.format("unsupported key derivation \"%s\".", kdf.getClass().getSimpleName()));
+
+    }
+
+    /**
+     * Read the key derivation function of {@link VaultHeader#TAG_KDF}. The position of the buffer is moved to the salt.
+     * @param params : the value of the header field
+     * @return the key derivation function
+     * @throws IOException if the key derivation is unsupported, its parameters are corrupt or it needs more memory than available
+     */
+    private static KDF decodeKdf(ByteBuffer params) throws IOException {
+
+        try {
+            byte algorithm = params.get();
+            if (algorithm == KDF_PBKDF2_SHA256) {
+                return new PBKDF2(params.getInt());
+            }
+            if (algorithm == KDF_ARGON2ID) {
+                int memoryKiB = params.getInt();
+                if (memoryKiB > Runtime.getRuntime().maxMemory() / 1024) {
+                    throw new IOException(String.format("unlocking the file needs %d MiB of memory.", memoryKiB / 1024));
+                }
+                return new Argon2(memoryKiB, params.getInt(), params.getInt());
+            }
+            throw new IOException(String.format("unsupported key derivation \"%d\".", algorithm));
+        }
+        catch (RuntimeException e) { // BufferUnderflowException, IllegalArgumentException
+            throw new IOException("corrupt vault file header.", e);
+        }
+
+    }
+
+    /**
+     * Store the key derivation parameters (and the wrapped data key) in the header of a file, so the file can be unlocked with this session's password.
+     * Fields of another password get removed.
+     * @param header : the header
+     */
+    public void writeTo(VaultHeader header) {
+
+        header.remove(VaultHeader.TAG_PASSWORD_HASH);
+        header.remove(VaultHeader.TAG_KDF);
+        header.remove(VaultHeader.TAG_KEY_CHECK);
+        header.remove(VaultHeader.TAG_WRAPPED_KEY);
+        header.remove(VaultHeader.TAG_KEYFILE);
+        if (kdf != null) {
+            header.put(VaultHeader.TAG_KDF, kdf);
+            header.put(VaultHeader.TAG_KEY_CHECK, keyCheck);
+            if (wrappedKey != null) {
+                header.put(VaultHeader.TAG_WRAPPED_KEY, wrappedKey);
+            }
+            if (hasKeyFile) {
+                header.put(VaultHeader.TAG_KEYFILE, new byte[0]);
+            }
+        }
+        else {
+            header.put(VaultHeader.TAG_PASSWORD_HASH, passwordHash);
+        }
+
+    }
+
+    /**
+     * Get the key the file is encrypted with: the data key, or the key derived from the master password for files without a data key.
+     * @return the key
+     * @throws IllegalStateException if the session is closed
+     */
+    public SecretKey getSecretKey() {
+
+        if (secretKey.isDestroyed()) {
+            throw new IllegalStateException("session is closed.");
+        }
+        return secretKey;
+
+    }
+
+    /**
+     * Wipe the key. The session can not be used afterwards.
+     */
+    public void close() {
+        secretKey.destroy();
+    }
+
+    /**
+     * A {@link SecretKey} whose key material can be wiped.
+     */
+    private static class SessionKey implements SecretKey {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] key;
+        private final String algorithm;
+        private volatile boolean isDestroyed = false;
+
+        private SessionKey(byte[] key, String algorithm) {
+            this.key = key.clone();
+            this.algorithm = algorithm;
+        }
+
+        private static SessionKey of(SecretKey derivedKey) {
+
+            byte[] encodedKey = derivedKey.getEncoded();
+            SessionKey secretKey = new SessionKey(encodedKey, derivedKey.getAlgorithm());
+            Arrays.fill(encodedKey, (byte)0);
+            return secretKey;
+
+        }
+
+        /**
+         * @return the key check value of this key
+         * @throws Exception if the mac can not be computed
+         */
+        private byte[] check() throws Exception {
+
+            Mac mac = Mac.getInstance(KEY_CHECK_ALGORITHM);
+            mac.init(new SecretKeySpec(key, KEY_CHECK_ALGORITHM));
+            return mac.doFinal(KEY_CHECK_LABEL);
+
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public String getFormat() {
+            return "RAW";
+        }
+
+        @Override
+        public byte[] getEncoded() {
+
+            if (isDestroyed) {
+                throw new IllegalStateException("key is destroyed.");
+            }
+            return key.clone();
+
+        }
+
+        @Override
+        public void destroy() {
+            isDestroyed = true;
+            Arrays.fill(key, (byte)0);
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return isDestroyed;
+        }
+
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.danield.passwordmanager;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+
+/**
+ * The {@code SortedEntrys} class shows the entrys of an {@link EntryStore} sorted by its {@link EntryStore.Column columns}.
+ * <p>
+ * Only the order is stored, an int array that maps every row to the index of its entry (4 bytes per entry).
+ * A row is the {@link EntryStore#get(int) view} of its entry, so views are still only created when a row is requested.
+ * Values are compared with a {@code Collator}, like the default comparator of a {@code TableColumn} does.
+ * <p>
+ * Entrys that get added or changed are moved to their sorted row. Like every listener of the store it expects the entrys
+ * to be changed by one thread at a time.
+ * @author Daniel D
+ */
+public class SortedEntrys extends ObservableListBase<UserCredentials> {
+
+    private final EntryStore store;
+    private final Collator collator = Collator.getInstance();
+    private EntryStore.Column[] columns = new EntryStore.Column[0];
+    private boolean[] isDescending = new boolean[0];
+    private int[] order = null; // entry index by row, null as long as the entrys are not sorted
+
+    SortedEntrys(EntryStore store) {
+
+        this.store = store;
+        store.addListener(this::onStoreChanged);
+
+    }
+
+    @Override
+    public int size() {
+        return order == null ? store.size() : order.length;
+    }
+
+    /**
+     * Get a view of the entry shown in the specified {@code row}.
+     * @param row : the row
+     * @return the view
+     * @throws IndexOutOfBoundsException if the row is out of range (row < 0 || row >= size())
+     */
+    @Override
+    public UserCredentials get(int row) {
+        return store.get(getEntryIndex(row));
+    }
+
+    /**
+     * Map a row to the index of its entry in the {@link DataBase}.
+     * @param row : the row
+     * @return the index of the entry
+     * @throws IndexOutOfBoundsException if the row is out of range (row < 0 || row >= size())
+     */
+    public int getEntryIndex(int row) {
+
+        if (order == null) {
+            return row;
+        }
+        if (row < 0 || row >= order.length) {
+            throw new IndexOutOfBoundsException(String.format("row %d out of range (size %d).", row, order.length));
+        }
+        return order[row];
+
+    }
+
+    /**
+     * Sort the entrys by the given columns, the first column decides first. Entrys with equal values keep the order of their indices.
+     * <p>
+     * Every column is sorted by the rank of its values (see {@link EntryStore#rank(EntryStore.Column, Collator)}) in a stable pass,
+     * starting with the last column. Fires a permutation of the rows.
+     * @param columns : the columns, none to show the entrys in the order of their indices
+     * @param isDescending : whether or not each column is sorted in descending order
+     * @throws IllegalArgumentException if the number of columns and sort directions differ
+     */
+    public void sort(EntryStore.Column[] columns, boolean[] isDescending) {
+
+        if (columns.length != isDescending.length) {
+            throw new IllegalArgumentException("every column needs a sort direction.");
+        }
+
+        int[] oldOrder = order;
+        int size = store.size();
+        int[] newOrder = null;
+        if (columns.length > 0) {
+            newOrder = new int[size];
+            for (int row = 0; row < size; row++) {
+                newOrder[row] = row;
+            }
+            long[] keys = new long[size]; // rank << 32 | row, so sorting the keys keeps equal ranks in the order of their rows
+            for (int c = columns.length - 1; c >= 0; c--) {
+                int[] ranks = store.rank(columns[c], collator);
+                for (int row = 0; row < size; row++) {
+                    int rank = ranks[newOrder[row]];
+                    keys[row] = (long)(isDescending[c] ? Integer.MAX_VALUE - rank : rank) << 32 | row;
+                }
+                Arrays.sort(keys);
+                int[] sorted = new int[size];
+                for (int row = 0; row < size; row++) {
+                    sorted[row] = newOrder[(int)keys[row]];
+                }
+                newOrder = sorted;
+            }
+        }
+        this.order = newOrder;
+        this.columns = columns.clone();
+        this.isDescending = isDescending.clone();
+
+        if (hasListeners() && size > 0 && (oldOrder != null || newOrder != null)) {
+            int[] newRows = new int[size]; // by entry index
+            for (int row = 0; row < size; row++) {
+                newRows[newOrder != null ? newOrder[row] : row] = row;
+            }
+            int[] permutation = new int[size]; // new row of every old row
+            for (int row = 0; row < size; row++) {
+                permutation[row] = newRows[oldOrder != null ? oldOrder[row] : row];
+            }
+            beginChange();
+            nextPermutation(0, size, permutation);
+            endChange();
+        }
+
+    }
+
+    /**
+     * Follow a change of the store: unsorted changes are passed on, sorted ones get mapped to rows.
+     * @param change : the change
+     */
+    private void onStoreChanged(ListChangeListener.Change<? extends UserCredentials> change) {
+
+        beginChange();
+        while (change.next()) {
+            if (order == null) {
+                if (change.wasReplaced()) {
+                    nextReplace(change.getFrom(), change.getTo(), change.getRemoved());
+                }
+                else if (change.wasRemoved()) {
+                    nextRemove(change.getFrom(), change.getRemoved());
+                }
+                else if (change.wasAdded()) {
+                    nextAdd(change.getFrom(), change.getTo());
+                }
+            }
+            else if (change.wasReplaced()) {
+                for (int index = change.getFrom(); index < change.getTo(); index++) {
+                    moveToSortedRow(index, change.getRemoved().get(index - change.getFrom()));
+                }
+            }
+            else if (change.wasRemoved()) {
+                removeRows(change.getFrom(), change.getRemoved());
+            }
+            else if (change.wasAdded()) {
+                addRows(change.getFrom(), change.getTo());
+            }
+        }
+        endChange();
+
+    }
+
+    /**
+     * Remove the rows of removed entrys and shift the indices of the entrys behind them.
+     * @param from : the index of the first removed entry
+     * @param removed : the removed entrys, by index
+     */
+    private void removeRows(int from, List<? extends UserCredentials> removed) {
+
+        int to = from + removed.size();
+        if (removed.size() == order.length) { // e.g. cleared, all rows go at once
+            List<UserCredentials> removedRows = new ArrayList<UserCredentials>();
+            for (int row = 0; row < order.length; row++) {
+                removedRows.add(removed.get(order[row] - from));
+            }
+            nextRemove(0, removedRows);
+            order = new int[0];
+            return;
+        }
+
+        for (int row = order.length - 1; row >= 0; row--) { // the last rows first, so the rows in front stay valid
+            if (order[row] >= from && order[row] < to) {
+                nextRemove(row, removed.get(order[row] - from));
+            }
+        }
+        int[] remaining = new int[order.length - removed.size()];
+        int length = 0;
+        for (int row = 0; row < order.length; row++) {
+            int index = order[row];
+            if (index < from) {
+                remaining[length++] = index;
+            }
+            else if (index >= to) {
+                remaining[length++] = index - removed.size();
+            }
+        }
+        order = remaining;
+
+    }
+
+    /**
+     * Shift the indices of the entrys behind added entrys and insert the added entrys at their sorted rows.
+     * @param from : the index of the first added entry
+     * @param to : the index after the last added entry
+     */
+    private void addRows(int from, int to) {
+
+        for (int row = 0; row < order.length; row++) {
+            if (order[row] >= from) {
+                order[row] += to - from;
+            }
+        }
+        for (int index = from; index < to; index++) {
+            int row = findSortedRow(index);
+            order = insertRow(order, row, index);
+            nextAdd(row, row + 1);
+        }
+
+    }
+
+    /**
+     * Move a changed entry to its sorted row.
+     * @param index : the index of the entry
+     * @param old : the entry before the change
+     */
+    private void moveToSortedRow(int index, UserCredentials old) {
+
+        int row = 0;
+        while (order[row] != index) {
+            row++;
+        }
+        int[] remaining = new int[order.length - 1];
+        System.arraycopy(order, 0, remaining, 0, row);
+        System.arraycopy(order, row + 1, remaining, row, remaining.length - row);
+        order = remaining;
+        int newRow = findSortedRow(index);
+        order = insertRow(order, newRow, index);
+        if (newRow == row) {
+            nextSet(row, old);
+        }
+        else {
+            nextRemove(row, old);
+            nextAdd(newRow, newRow + 1);
+        }
+
+    }
+
+    /**
+     * Find the row an entry belongs to, behind the rows with equal values.
+     * @param index : the index of the entry, not contained in the order
+     * @return the row
+     */
+    private int findSortedRow(int index) {
+
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(index, order[middle]) < 0) {
+                high = middle;
+            }
+            else {
+                low = middle + 1;
+            }
+        }
+        return low;
+
+    }
+
+    private int compare(int index, int otherIndex) {
+
+        for (int c = 0; c < columns.length; c++) {
+            int result = collator.compare(store.getValue(columns[c], index), store.getValue(columns[c], otherIndex));
+            if (result != 0) {
+                return isDescending[c] ? -result : result;
+            }
+        }
+        return 0;
+
+    }
+
+    private static int[] insertRow(int[] order, int row, int index) {
+
+        int[] inserted = new int[order.length + 1];
+        System.arraycopy(order, 0, inserted, 0, row);
+        inserted[row] = index;
+        System.arraycopy(order, row, inserted, row + 1, order.length - row);
+        return inserted;
+
+    }
+
+}
@@ -1,16 +1,27 @@
 package com.danield.passwordmanager;
 
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+
+import com.danield.protector.CipherSuite;
+
 import javafx.beans.property.SimpleStringProperty;
 
 /**
  * The {@code UserCredentials} class represents one entry of the {@link DataBase Model-Class}.
+ * <p>
+ * The password can be kept sealed (encrypted on its own), it then only gets decrypted the first time it is needed.
  * @author Daniel D
  */
 public class UserCredentials {
-    
+
     private SimpleStringProperty application;
     private SimpleStringProperty username;
-    private SimpleStringProperty password;
+    private SimpleStringProperty password; // null as long as the sealed password has not been decrypted
+    private byte[] sealedPassword;
+    private CipherSuite cipherSuite;
+    private SecretKey passwordKey;
 
     public UserCredentials(String application, String username, String password) {
         this.application = new SimpleStringProperty(application);
@@ -18,6 +29,21 @@ public class UserCredentials {
         this.password = new SimpleStringProperty(password);
     }
 
+    /**
+     * @param application : the application
+     * @param username : the username
+     * @param sealedPassword : the password, encrypted on its own with {@link CipherSuite#encrypt(byte[], SecretKey, byte[])}
+     * @param cipherSuite : the cipher suite the password is encrypted with
+     * @param passwordKey : the key the password is encrypted with
+     */
+    UserCredentials(String application, String username, byte[] sealedPassword, CipherSuite cipherSuite, SecretKey passwordKey) {
+        this.application = new SimpleStringProperty(application);
+        this.username = new SimpleStringProperty(username);
+        this.sealedPassword = sealedPassword;
+        this.cipherSuite = cipherSuite;
+        this.passwordKey = passwordKey;
+    }
+
     public String getApplication() {
         return application.get();
     }
@@ -26,8 +52,23 @@ public class UserCredentials {
         return username.get();
     }
 
+    /**
+     * Get the password. A sealed password gets decrypted on the first call.
+     * @return the password
+     * @throws IllegalStateException if the sealed password can not be decrypted
+     */
     public String getPassword() {
+
+        if (password == null) {
+            try {
+                password = new SimpleStringProperty(new String(cipherSuite.decrypt(sealedPassword, passwordKey, null), StandardCharsets.UTF_8));
+            }
+            catch (Exception e) {
+                throw new IllegalStateException("password can not be decrypted.", e);
+            }
+        }
         return password.get();
+
     }
 
     public void setApplication(String application) {
@@ -39,7 +80,15 @@ public class UserCredentials {
     }
 
     public void setPassword(String password) {
-        this.password.set(password);
+
+        if (this.password == null) {
+            this.password = new SimpleStringProperty(password);
+        }
+        else {
+            this.password.set(password);
+        }
+        this.sealedPassword = null;
+
     }
 
 }
@@ -0,0 +1,763 @@
+package com.danield.passwordmanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import javax.crypto.SecretKey;
+
+import com.danield.protector.CipherSuite;
+import com.danield.protector.MerkleTree;
+import com.danield.protector.SHA;
+
+/**
+ * The {@code VaultFile} class reads and writes the segmented vault file format.
+ * <p>
+ * The data is split into segments which get encrypted independently. An encrypted segment table
+ * stores where each segment is located and binds the segments to the {@link VaultHeader header}.
+ * On {@link #write(List, int, SecretKey, int) write} only the segments whose content changed get encrypted again,
+ * the ciphertext of unchanged segments is copied. The new file is written to a temporary file next to the vault file,
+ * flushed to the storage device and then atomically moved over the vault file.
+ * <p>
+ * Layout: HEADER , SEGMENT 0 , ... , SEGMENT n , SEGMENT TABLE , TRAILER
+ * <p>
+ * SEGMENT: encrypted segment data, the segment index is used as additional authentication data.
+ * If the header contains a {@link VaultHeader#TAG_COMPRESSION compression} field, the segment data gets compressed before it is encrypted.
+ * Segments and segment table are encrypted with the {@link VaultHeader#TAG_CIPHER_SUITE cipher suite} of the header. <p>
+ * SEGMENT TABLE: encrypted GENERATION (8 bytes) , FOLDED RECORDS (4 bytes) , ENTRY COUNT (4 bytes) , PLAINTEXT SIZE (8 bytes) , COUNT (4 bytes) ,
+ * { OFFSET (8 bytes) , LENGTH (4 bytes) , TAG (16 bytes) [ , LEAF (32 bytes) ] }, the header (without its key slot, see {@link VaultHeader#toAuthenticatedBytes()})
+ * is used as additional authentication data. If the header contains a {@link VaultHeader#TAG_MERKLE_ROOT Merkle root},
+ * every segment has a LEAF: the {@link MerkleTree} leaf hash of its encrypted data. The tree gets updated on every write,
+ * only the leaves of segments that got encrypted again are hashed. {@link #verify(ByteBuffer, SecretKey, int)} uses the
+ * leaves to find damaged segments without decrypting them.
+ * The generation gets incremented on every write, the number of folded records tells how many records of the previous
+ * generation's {@link Journal} are contained in this generation. Entry count and plaintext size are known before the
+ * first segment gets decrypted, so readers can presize their collections. <p>
+ * TRAILER: OFFSET of the segment table (8 bytes) , LENGTH of the segment table (4 bytes) , MAGIC (4 bytes)
+ * <p>
+ * The key slot of the header can be {@link #replaceKeySlot(VaultHeader) replaced in place}. The new header is written to a
+ * side file first, so a crash while the header is overwritten can be {@link #recover(File) recovered} from.
+ * @author Daniel D
+ */
+public class VaultFile {
+
+    private static final int TRAILER_BYTE_LENGTH = Long.BYTES + Integer.BYTES + VaultHeader.MAGIC.length;
+
+    private final File file;
+    private VaultHeader header;
+    private byte[] headerBytes;
+    private byte[] authenticatedHeaderBytes;
+    private final Compression compression;
+    private final int compressionLevel;
+    private final CipherSuite cipherSuite;
+    private final ArrayList<Segment> segments = new ArrayList<Segment>();
+    private MerkleTree tree; // null if the header contains no Merkle root
+    private boolean isOnDisk;
+    private long generation = 0;
+    private int foldedRecords = 0;
+    private int entryCount = 0;
+    private long plaintextSize = 0;
+
+    /**
+     * Location and content digest of one segment.
+     */
+    private static class Segment {
+
+        private final long offset;
+        private final int length;
+        private final byte[] tag;
+        private final byte[] digest;
+        private final byte[] leaf; // null if the file has no Merkle tree
+
+        private Segment(long offset, int length, byte[] tag, byte[] digest, byte[] leaf) {
+            this.offset = offset;
+            this.length = length;
+            this.tag = tag;
+            this.digest = digest;
+            this.leaf = leaf;
+        }
+
+    }
+
+    /**
+     * The decrypted segment table.
+     */
+    private static class Table {
+
+        private long generation;
+        private int foldedRecords;
+        private int entryCount;
+        private long plaintextSize;
+        private long[] offsets;
+        private int[] lengths;
+        private byte[][] tags;
+        private byte[][] leaves; // null if the file has no Merkle tree
+
+    }
+
+    /**
+     * Receives the decrypted segments of {@link VaultFile#read(ByteBuffer, SecretKey, SegmentConsumer)}.
+     */
+    @FunctionalInterface
+    public interface SegmentConsumer {
+
+        /**
+         * @param segment : the decrypted segment from its position to its limit
+         * @throws Exception if the segment can not be processed, aborts reading
+         */
+        void accept(ByteBuffer segment) throws Exception;
+
+    }
+
+    private VaultFile(File file, VaultHeader header, boolean isOnDisk) throws IOException {
+
+        this.file = file;
+        this.header = header;
+        this.headerBytes = header.toBytes();
+        this.authenticatedHeaderBytes = header.toAuthenticatedBytes();
+        this.isOnDisk = isOnDisk;
+
+        byte[] root = header.get(VaultHeader.TAG_MERKLE_ROOT);
+        if (root != null && root.length != MerkleTree.HASH_BYTE_LENGTH) {
+            throw new IOException("corrupt vault file header.");
+        }
+        this.tree = root == null ? null : new MerkleTree();
+
+        byte[] compression = header.get(VaultHeader.TAG_COMPRESSION);
+        if (compression == null) {
+            this.compression = Compression.NONE;
+            this.compressionLevel = 0;
+        }
+        else if (compression.length == 2) {
+            this.compression = Compression.of(compression[0]);
+            this.compressionLevel = compression[1];
+        }
+        else {
+            throw new IOException("corrupt vault file header.");
+        }
+
+        byte[] cipherSuite = header.get(VaultHeader.TAG_CIPHER_SUITE);
+        if (cipherSuite == null) {
+            this.cipherSuite = CipherSuite.AES_GCM;
+        }
+        else if (cipherSuite.length == 1) {
+            try {
+                this.cipherSuite = CipherSuite.of(cipherSuite[0]);
+            }
+            catch (NoSuchAlgorithmException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        else {
+            throw new IOException("corrupt vault file header.");
+        }
+
+    }
+
+    /**
+     * Create a new segmented vault file.
+     * <p>
+     * Nothing is written to disk until the first call to {@link #write(List, int, SecretKey, int)}, which then replaces the whole file.
+     * @param file : the file
+     * @param header : the header
+     * @return the vault file
+     * @throws IOException if the header contains an unsupported compression or cipher suite
+     */
+    public static VaultFile create(File file, VaultHeader header) throws IOException {
+        return new VaultFile(file, header, false);
+    }
+
+    /**
+     * Open an existing segmented vault file and read its header.
+     * @param file : the file
+     * @param data : the content of the file (e.g. a {@code MappedByteBuffer})
+     * @return the vault file
+     * @throws IOException if the data does not start with a valid header or the header contains an unsupported compression
+     */
+    public static VaultFile open(File file, ByteBuffer data) throws IOException {
+        return new VaultFile(file, VaultHeader.read(data.duplicate()), true);
+    }
+
+    /**
+     * Finish an interrupted {@link #replaceKeySlot(VaultHeader) key slot replacement}. Must be called before the file is opened.
+     * @param file : the file
+     * @throws IOException if the header can not be written
+     */
+    public static void recover(File file) throws IOException {
+
+        File headerFile = getHeaderFile(file);
+        if (!headerFile.exists()) {
+            return;
+        }
+        // The side file is moved into place once it is complete, so it always contains a whole header
+        byte[] headerBytes = Files.readAllBytes(headerFile.toPath());
+        VaultHeader.read(ByteBuffer.wrap(headerBytes));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            writeFully(channel, 0, ByteBuffer.wrap(headerBytes));
+            channel.force(true);
+        }
+        Files.delete(headerFile.toPath());
+
+    }
+
+    /**
+     * Get the side file a new header is written to before it replaces the header of the file.
+     * @param file : the file
+     * @return the side file
+     */
+    private static File getHeaderFile(File file) {
+        return new File(file.getPath() + ".header");
+    }
+
+    /**
+     * Get the header.
+     * @return the header, do not modify it
+     */
+    public VaultHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * Replace the key slot of the header (e.g. after the master password changed) without writing the rest of the file again.
+     * <p>
+     * The new header must only differ in its key slot and gets padded to the length of the current header.
+     * @param header : the new header
+     * @return {@code true} on success, {@code false} if the key slot can not be replaced in place
+     * (the file is not on disk yet, has no wrapped data key or the new header does not fit), nothing has been written then
+     * @throws IOException if the header can not be written
+     */
+    public synchronized boolean replaceKeySlot(VaultHeader header) throws IOException {
+
+        if (!isOnDisk || this.header.get(VaultHeader.TAG_WRAPPED_KEY) == null || header.get(VaultHeader.TAG_WRAPPED_KEY) == null
+                || !Arrays.equals(header.toAuthenticatedBytes(), authenticatedHeaderBytes) || !header.padTo(headerBytes.length)) {
+            return false;
+        }
+        byte[] headerBytes = header.toBytes();
+
+        File headerFile = getHeaderFile(file);
+        File tmpFile = new File(headerFile.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, 0, ByteBuffer.wrap(headerBytes));
+            channel.force(true);
+        }
+        Files.move(tmpFile.toPath(), headerFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            writeFully(channel, 0, ByteBuffer.wrap(headerBytes));
+            channel.force(true);
+        }
+        Files.delete(headerFile.toPath());
+
+        this.header = header;
+        this.headerBytes = headerBytes;
+        return true;
+
+    }
+
+    /**
+     * Get the cipher suite everything in the file is encrypted with, including the {@link Journal} of the file.
+     * @return the cipher suite
+     */
+    CipherSuite getCipherSuite() {
+        return cipherSuite;
+    }
+
+    /**
+     * Get the generation, which gets incremented every time the file is written.
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get the number of {@link Journal} records of the previous generation that are contained in this generation.
+     * @return the number of records
+     */
+    public int getFoldedRecords() {
+        return foldedRecords;
+    }
+
+    /**
+     * Get the number of entrys stored in the segments.
+     * <p>
+     * Known as soon as the first segment is handed to the consumer of {@link #read(ByteBuffer, SecretKey, SegmentConsumer)}.
+     * @return the number of entrys
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Get the total size of all decrypted segments.
+     * <p>
+     * Known as soon as the first segment is handed to the consumer of {@link #read(ByteBuffer, SecretKey, SegmentConsumer)}.
+     * @return the size in bytes
+     */
+    public long getPlaintextSize() {
+        return plaintextSize;
+    }
+
+    /**
+     * Decrypt all segments in order, one at a time.
+     * <p>
+     * The segments get decrypted straight from {@code data}, so a {@code MappedByteBuffer} of the file
+     * does not have to be copied onto the heap. Only one decrypted segment is alive at a time
+     * unless the consumer keeps it.
+     * @param data : the content of the file (e.g. a {@code MappedByteBuffer})
+     * @param secretKey : the key
+     * @param consumer : receives the decrypted segments in order
+     * @throws Exception if the data is corrupt or fails authentication
+     */
+    public void read(ByteBuffer data, SecretKey secretKey, SegmentConsumer consumer) throws Exception {
+        read(data, secretKey, 1, consumer);
+    }
+
+    /**
+     * Decrypt all segments on up to {@code parallelism} threads and hand them to the consumer in order.
+     * <p>
+     * The segments get decrypted, decompressed and hashed by a {@code ForkJoinPool} while the consumer runs on the
+     * calling thread. At most {@code 2 * parallelism} decrypted segments are waiting for the consumer at a time.
+     * @param data : the content of the file (e.g. a {@code MappedByteBuffer})
+     * @param secretKey : the key
+     * @param parallelism : the number of threads, {@code 1} decrypts on the calling thread
+     * @param consumer : receives the decrypted segments in order, always on the calling thread
+     * @throws Exception if the data is corrupt or fails authentication
+     */
+    public synchronized void read(ByteBuffer data, SecretKey secretKey, int parallelism, SegmentConsumer consumer) throws Exception {
+
+        segments.clear();
+
+        Table table = readTable(data, secretKey);
+        generation = table.generation;
+        foldedRecords = table.foldedRecords;
+        entryCount = table.entryCount;
+        plaintextSize = table.plaintextSize;
+        int count = table.offsets.length;
+        long[] offsets = table.offsets;
+        int[] lengths = table.lengths;
+        byte[][] tags = table.tags;
+        byte[][] leaves = table.leaves != null ? table.leaves : new byte[count][];
+        if (table.leaves != null) {
+            tree = new MerkleTree(table.leaves);
+        }
+
+        // Segments
+        if (parallelism <= 1 || count <= 1) {
+            for (int i = 0; i < count; i++) {
+                ByteBuffer plainData = openSegment(data, i, offsets[i], lengths[i], tags[i], secretKey);
+                segments.add(new Segment(offsets[i], lengths[i], tags[i], SHA.SHA256(plainData), leaves[i]));
+                consumer.accept(plainData);
+            }
+        }
+        else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            ArrayDeque<ForkJoinTask<ByteBuffer>> pending = new ArrayDeque<ForkJoinTask<ByteBuffer>>();
+            byte[][] digests = new byte[count][];
+            try {
+                int next = 0;
+                for (int i = 0; i < count; i++) {
+                    while (next < count && next < i + 2 * parallelism) {
+                        final int index = next++;
+                        pending.add(pool.submit(() -> {
+                            ByteBuffer plainData = openSegment(data, index, offsets[index], lengths[index], tags[index], secretKey);
+                            digests[index] = SHA.SHA256(plainData);
+                            return plainData;
+                        }));
+                    }
+                    ByteBuffer plainData;
+                    try {
+                        plainData = pending.poll().get();
+                    }
+                    catch (ExecutionException e) {
+                        throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+                    }
+                    segments.add(new Segment(offsets[i], lengths[i], tags[i], digests[i], leaves[i]));
+                    consumer.accept(plainData);
+                }
+            }
+            finally {
+                pool.shutdownNow();
+            }
+        }
+
+        isOnDisk = true;
+
+    }
+
+    /**
+     * Read the trailer and decrypt the segment table.
+     * @param data : the content of the file
+     * @param secretKey : the key
+     * @return the segment table
+     * @throws Exception if the trailer or the segment table is corrupt or fails authentication
+     */
+    private Table readTable(ByteBuffer data, SecretKey secretKey) throws Exception {
+
+        // Trailer
+        if (data.limit() < headerBytes.length + TRAILER_BYTE_LENGTH) {
+            throw new IOException("truncated vault file.");
+        }
+        ByteBuffer trailer = slice(data, data.limit() - TRAILER_BYTE_LENGTH, TRAILER_BYTE_LENGTH);
+        long tableOffset = trailer.getLong();
+        int tableLength = trailer.getInt();
+        if (!VaultHeader.startsWithMagic(trailer)) {
+            throw new IOException("corrupt vault file trailer.");
+        }
+
+        // Segment Table
+        ByteBuffer plainTable = cipherSuite.decrypt(slice(data, tableOffset, tableLength), secretKey, authenticatedHeaderBytes);
+        Table table = new Table();
+        table.generation = plainTable.getLong();
+        table.foldedRecords = plainTable.getInt();
+        table.entryCount = plainTable.getInt();
+        table.plaintextSize = plainTable.getLong();
+        int count = plainTable.getInt();
+        table.offsets = new long[count];
+        table.lengths = new int[count];
+        table.tags = new byte[count][cipherSuite.getTagByteLength()];
+        table.leaves = tree == null ? null : new byte[count][MerkleTree.HASH_BYTE_LENGTH];
+        for (int i = 0; i < count; i++) {
+            table.offsets[i] = plainTable.getLong();
+            table.lengths[i] = plainTable.getInt();
+            plainTable.get(table.tags[i]);
+            if (table.leaves != null) {
+                plainTable.get(table.leaves[i]);
+            }
+        }
+        if (table.leaves != null && !MessageDigest.isEqual(new MerkleTree(table.leaves).getRoot(), header.get(VaultHeader.TAG_MERKLE_ROOT))) {
+            throw new IOException("segment table does not match the merkle root.");
+        }
+        return table;
+
+    }
+
+    /**
+     * Check which segments of the file are damaged, without stopping at the first one.
+     * <p>
+     * With a {@link MerkleTree} the encrypted segments are only hashed (on up to {@code parallelism} threads) and compared with their leaves.
+     * Files without one get every segment decrypted on the calling thread.
+     * @param data : the content of the file (e.g. a {@code MappedByteBuffer})
+     * @param secretKey : the key
+     * @param parallelism : the number of threads, {@code 1} hashes on the calling thread
+     * @return the indices of the damaged segments in ascending order, empty if the file is intact
+     * @throws Exception if the trailer or the segment table is damaged, then no segment can be located
+     */
+    public synchronized List<Integer> verify(ByteBuffer data, SecretKey secretKey, int parallelism) throws Exception {
+
+        Table table = readTable(data, secretKey);
+        int count = table.offsets.length;
+        ArrayList<Integer> damaged = new ArrayList<Integer>();
+
+        if (table.leaves == null) {
+            for (int i = 0; i < count; i++) {
+                try {
+                    openSegment(data, i, table.offsets[i], table.lengths[i], table.tags[i], secretKey);
+                }
+                catch (Exception e) { // AEADBadTagException or IOException
+                    damaged.add(i);
+                }
+            }
+            return damaged;
+        }
+
+        ArrayList<ByteBuffer> cipherSegments = new ArrayList<ByteBuffer>(count);
+        for (int i = 0; i < count; i++) {
+            try {
+                cipherSegments.add(slice(data, table.offsets[i], table.lengths[i]));
+            }
+            catch (IOException e) { // out of range, e.g. a truncated file
+                cipherSegments.add(ByteBuffer.allocate(0));
+            }
+        }
+        byte[][] leaves = MerkleTree.hashLeaves(cipherSegments, parallelism);
+        for (int i = 0; i < count; i++) {
+            if (!MessageDigest.isEqual(leaves[i], table.leaves[i])) {
+                damaged.add(i);
+            }
+        }
+        return damaged;
+
+    }
+
+    /**
+     * Decrypt and decompress one segment.
+     * @param data : the content of the file
+     * @param index : the segment index
+     * @param offset : the offset of the segment
+     * @param length : the length of the segment
+     * @param tag : the tag of the segment stored in the segment table
+     * @param secretKey : the key
+     * @return the decrypted segment, ready to be read from
+     * @throws Exception if the segment is corrupt or fails authentication
+     */
+    private ByteBuffer openSegment(ByteBuffer data, int index, long offset, int length, byte[] tag, SecretKey secretKey) throws Exception {
+
+        ByteBuffer cipherData = slice(data, offset, length);
+        if (length < tag.length) {
+            throw new IOException(String.format("segment %d is truncated.", index));
+        }
+        byte[] storedTag = new byte[tag.length];
+        cipherData.get(length - tag.length, storedTag);
+        if (!MessageDigest.isEqual(tag, storedTag)) {
+            throw new IOException(String.format("segment %d does not match the segment table.", index));
+        }
+        return compression.decompress(cipherSuite.decrypt(cipherData, secretKey, segmentAAD(index)));
+
+    }
+
+    /**
+     * Encrypt and write the segments.
+     * <p>
+     * Segments which did not change since the last {@link #read(ByteBuffer, SecretKey, SegmentConsumer) read} or write are not encrypted again.
+     * The file gets replaced atomically, either the old or the new content is on disk if the write fails.
+     * @param plainSegments : the segments in order
+     * @param entryCount : the number of entrys stored in the segments
+     * @param secretKey : the key
+     * @param foldedRecords : the number of {@link Journal} records of the current generation that are contained in the segments
+     * @throws Exception if the file can not be written or the data can not be encrypted
+     */
+    public synchronized void write(List<byte[]> plainSegments, int entryCount, SecretKey secretKey, int foldedRecords) throws Exception {
+
+        int count = plainSegments.size();
+        long plaintextSize = 0;
+        for (byte[] plainSegment : plainSegments) {
+            plaintextSize += plainSegment.length;
+        }
+
+        // Find the first segment that changed
+        byte[][] digests = new byte[count][];
+        int firstDirty = -1;
+        for (int i = 0; i < count; i++) {
+            digests[i] = SHA.SHA256(plainSegments.get(i));
+            if (firstDirty == -1 && (i >= segments.size() || !MessageDigest.isEqual(digests[i], segments.get(i).digest))) {
+                firstDirty = i;
+            }
+        }
+        if (firstDirty == -1) {
+            firstDirty = count;
+        }
+        if (!isOnDisk) {
+            firstDirty = 0;
+        }
+
+        // The file gets assembled next to the vault file and moved over it once it is complete,
+        // so a crash while writing never leaves a truncated vault file behind.
+        File tmpFile = new File(file.getPath() + ".tmp");
+        VaultHeader newHeader = header.copy();
+        byte[] newHeaderBytes;
+        byte[] newAuthenticatedHeaderBytes;
+        ArrayList<Segment> written = new ArrayList<Segment>(segments.subList(0, Math.min(firstDirty, segments.size())));
+        try {
+            try (FileChannel source = isOnDisk ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null;
+                 FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+                // Header and unchanged segments get copied as they are
+                long position;
+                if (!isOnDisk) {
+                    position = headerBytes.length; // the header gets written last, it contains the Merkle root
+                }
+                else {
+                    if (firstDirty < segments.size()) {
+                        position = segments.get(firstDirty).offset;
+                    }
+                    else if (!segments.isEmpty()) {
+                        Segment last = segments.get(segments.size() - 1);
+                        position = last.offset + last.length;
+                    }
+                    else {
+                        position = headerBytes.length;
+                    }
+                    transferFully(source, channel, position);
+                }
+
+                // Segments, reuse unchanged ciphertext
+                for (int i = firstDirty; i < count; i++) {
+                    byte[] cipherData;
+                    if (isOnDisk && i < segments.size() && MessageDigest.isEqual(digests[i], segments.get(i).digest)) {
+                        cipherData = readFully(source, segments.get(i).offset, segments.get(i).length).array();
+                    }
+                    else {
+                        cipherData = cipherSuite.encrypt(compression.compress(plainSegments.get(i), compressionLevel), secretKey, segmentAAD(i));
+                    }
+                    byte[] leaf = null;
+                    if (tree != null) {
+                        leaf = isOnDisk && i < segments.size() && MessageDigest.isEqual(digests[i], segments.get(i).digest) ? segments.get(i).leaf : MerkleTree.hashLeaf(ByteBuffer.wrap(cipherData));
+                    }
+                    writeFully(channel, position, ByteBuffer.wrap(cipherData));
+                    written.add(new Segment(position, cipherData.length, Arrays.copyOfRange(cipherData, cipherData.length - cipherSuite.getTagByteLength(), cipherData.length), digests[i], leaf));
+                    position += cipherData.length;
+                }
+
+                // Merkle tree, only the leaves of the segments from the first changed one on can differ
+                if (tree != null) {
+                    tree.resize(count);
+                    for (int i = firstDirty; i < count; i++) {
+                        tree.setLeaf(i, written.get(i).leaf);
+                    }
+                    newHeader.put(VaultHeader.TAG_MERKLE_ROOT, tree.getRoot());
+                }
+                newHeaderBytes = newHeader.toBytes();
+                if (newHeaderBytes.length != headerBytes.length) {
+                    throw new IOException("the length of the header changed.");
+                }
+                newAuthenticatedHeaderBytes = newHeader.toAuthenticatedBytes();
+
+                // Segment Table
+                int leafByteLength = tree == null ? 0 : MerkleTree.HASH_BYTE_LENGTH;
+                ByteBuffer table = ByteBuffer.allocate(2 * Long.BYTES + 3 * Integer.BYTES + count * (Long.BYTES + Integer.BYTES + cipherSuite.getTagByteLength() + leafByteLength));
+                table.putLong(generation + 1);
+                table.putInt(foldedRecords);
+                table.putInt(entryCount);
+                table.putLong(plaintextSize);
+                table.putInt(count);
+                for (Segment segment : written) {
+                    table.putLong(segment.offset);
+                    table.putInt(segment.length);
+                    table.put(segment.tag);
+                    if (tree != null) {
+                        table.put(segment.leaf);
+                    }
+                }
+                byte[] cipherTable = cipherSuite.encrypt(table.array(), secretKey, newAuthenticatedHeaderBytes);
+                long tableOffset = position;
+                writeFully(channel, position, ByteBuffer.wrap(cipherTable));
+                position += cipherTable.length;
+
+                // Trailer
+                ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTE_LENGTH);
+                trailer.putLong(tableOffset);
+                trailer.putInt(cipherTable.length);
+                trailer.put(VaultHeader.MAGIC);
+                trailer.flip();
+                writeFully(channel, position, trailer);
+
+                writeFully(channel, 0, ByteBuffer.wrap(newHeaderBytes));
+                channel.force(true);
+
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (Exception e) {
+            if (tree != null) { // back to the segments that are on disk
+                byte[][] leaves = new byte[segments.size()][];
+                for (int i = 0; i < leaves.length; i++) {
+                    leaves[i] = segments.get(i).leaf;
+                }
+                tree = new MerkleTree(leaves);
+            }
+            throw e;
+        }
+
+        header = newHeader;
+        headerBytes = newHeaderBytes;
+        authenticatedHeaderBytes = newAuthenticatedHeaderBytes;
+
+        segments.clear();
+        segments.addAll(written);
+        this.generation++;
+        this.foldedRecords = foldedRecords;
+        this.entryCount = entryCount;
+        this.plaintextSize = plaintextSize;
+        isOnDisk = true;
+
+    }
+
+    /**
+     * Get the additional authentication data of a segment.
+     * @param index : the segment index
+     * @return the additional authentication data
+     */
+    private static byte[] segmentAAD(int index) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(index).array();
+    }
+
+    /**
+     * Get {@code length} bytes starting at {@code position} of the data without copying them.
+     * @param data : the data
+     * @param position : the position
+     * @param length : the number of bytes
+     * @return a buffer containing the bytes, ready to be read from
+     * @throws IOException if the bytes are out of range
+     */
+    private static ByteBuffer slice(ByteBuffer data, long position, int length) throws IOException {
+
+        if (position < 0 || length < 0 || position + length > data.limit()) {
+            throw new IOException("corrupt vault file.");
+        }
+        return data.slice((int)position, length);
+
+    }
+
+    /**
+     * Read {@code length} bytes starting at {@code position}.
+     * @param channel : the channel
+     * @param position : the position
+     * @param length : the number of bytes to read
+     * @return a buffer containing the bytes, ready to be read from
+     * @throws IOException if the end of the file is reached early
+     */
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+
+        if (position < 0 || length < 0 || position + length > channel.size()) {
+            throw new IOException("corrupt vault file.");
+        }
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        while (byteBuffer.hasRemaining()) {
+            if (channel.read(byteBuffer, position + byteBuffer.position()) == -1) {
+                throw new IOException("unexpected end of vault file.");
+            }
+        }
+        byteBuffer.flip();
+        return byteBuffer;
+
+    }
+
+    /**
+     * Copy the first {@code length} bytes of {@code source} to the beginning of {@code target}.
+     * @param source : the source channel
+     * @param target : the target channel
+     * @param length : the number of bytes to copy
+     * @throws IOException if the end of the source is reached early
+     */
+    private static void transferFully(FileChannel source, FileChannel target, long length) throws IOException {
+
+        if (length > source.size()) {
+            throw new IOException("corrupt vault file.");
+        }
+        long position = 0;
+        while (position < length) {
+            position += target.transferFrom(source, position, length - position);
+        }
+
+    }
+
+    /**
+     * Write all remaining bytes of the buffer starting at {@code position}.
+     * @param channel : the channel
+     * @param position : the position
+     * @param data : the data
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeFully(FileChannel channel, long position, ByteBuffer data) throws IOException {
+
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.danield.passwordmanager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The {@code VaultHeader} class represents the unencrypted header of a segmented {@link VaultFile}.
+ * <p>
+ * The header is stored as a list of tagged fields ( tag / length / value ), so new fields can be added
+ * without breaking older files. Unknown fields are kept as they are.
+ * <p>
+ * Layout: MAGIC (4 bytes) , VERSION (1 byte) , { TAG (1 byte) , LENGTH (2 bytes) , VALUE (LENGTH bytes) } , TAG_END (1 byte)
+ * @author Daniel D
+ */
+public class VaultHeader {
+
+    /** Marks the beginning of a segmented vault file. */
+    public static final byte[] MAGIC = { 'P', 'M', 'V', '2' };
+    public static final byte VERSION = 3;
+    /** Maximum length of a serialized header in bytes. */
+    public static final int MAX_BYTE_LENGTH = 64 * 1024;
+
+    public static final byte TAG_END = 0;
+    /** SHA-256 hash of the master password. Only used by files without {@link #TAG_KDF}, whose key is derived with the password as salt. */
+    public static final byte TAG_PASSWORD_HASH = 1;
+    /** Maximum number of entrys that get stored in one segment. */
+    public static final byte TAG_ENTRYS_PER_SEGMENT = 2;
+    /** {@link Compression} id (1 byte) and compression level (1 byte) the segments are compressed with. Not present means {@link Compression#NONE}. */
+    public static final byte TAG_COMPRESSION = 3;
+    /** Present (empty value) if every password is encrypted on its own inside the segments. */
+    public static final byte TAG_SEALED_PASSWORDS = 4;
+    /**
+     * Key derivation: ALGORITHM (1 byte) , PARAMETERS , SALT (remaining bytes).
+     * <p>
+     * 1 = PBKDF2-HMAC-SHA256: ITERATIONS (4 bytes). 2 = Argon2id: MEMORY in KiB (4 bytes) , ITERATIONS (4 bytes) , LANES (4 bytes).
+     */
+    public static final byte TAG_KDF = 5;
+    /** HMAC-SHA256 of a fixed label, keyed with the derived key. Proves the master password without a second key derivation. */
+    public static final byte TAG_KEY_CHECK = 6;
+    /** {@link com.danield.protector.CipherSuite CipherSuite} id (1 byte) everything in the file is encrypted with. Not present means AES-GCM. */
+    public static final byte TAG_CIPHER_SUITE = 7;
+    /**
+     * Random data key the file is encrypted with, encrypted itself (AES-GCM) with the key derived from the master password.
+     * <p>
+     * Together with {@link #TAG_KDF}, {@link #TAG_KEY_CHECK}, {@link #TAG_KEYFILE} and {@link #TAG_PADDING} it forms the key slot, which is not authenticated
+     * by the segment table (see {@link #toAuthenticatedBytes()}): the wrapped key is authenticated by itself, so the master password can
+     * be changed by replacing the key slot in place.
+     */
+    public static final byte TAG_WRAPPED_KEY = 8;
+    /** Unused bytes that keep the length of the header when the key slot gets replaced. */
+    public static final byte TAG_PADDING = 9;
+    /** Root of the {@link com.danield.protector.MerkleTree MerkleTree} over the encrypted segments (32 bytes). Not present means the segments have no leaf hashes. */
+    public static final byte TAG_MERKLE_ROOT = 10;
+    /** Present (empty value) if the key is derived from the master password together with a {@link KeyFile keyfile}. */
+    public static final byte TAG_KEYFILE = 11;
+
+    private final TreeMap<Byte, byte[]> fields = new TreeMap<Byte, byte[]>();
+
+    public VaultHeader() {}
+
+    /**
+     * Check whether or not the given data starts with the {@link #MAGIC}.
+     * @param data : the data
+     * @return {@code true} if the data starts with the magic, {@code false} otherwise
+     */
+    public static boolean startsWithMagic(ByteBuffer data) {
+
+        if (data.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(data.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+
+    }
+
+    /**
+     * Read a header from the current position of the buffer.
+     * <p>
+     * On success the position of the buffer points to the first byte after the header.
+     * @param data : the data
+     * @return the header
+     * @throws IOException if the data does not contain a valid header
+     */
+    public static VaultHeader read(ByteBuffer data) throws IOException {
+
+        if (!startsWithMagic(data)) {
+            throw new IOException("not a segmented vault file.");
+        }
+        data.position(data.position() + MAGIC.length);
+
+        try {
+            byte version = data.get();
+            if (version != VERSION) {
+                throw new IOException(String.format("unsupported vault file version \"%d\".", version));
+            }
+            VaultHeader header = new VaultHeader();
+            byte tag;
+            while ((tag = data.get()) != TAG_END) {
+                byte[] value = new byte[Short.toUnsignedInt(data.getShort())];
+                data.get(value);
+                header.fields.put(tag, value);
+            }
+            return header;
+        }
+        catch (RuntimeException e) { // BufferUnderflowException
+            throw new IOException("truncated vault file header.", e);
+        }
+
+    }
+
+    /**
+     * Serialize the header.
+     * @return the serialized header
+     */
+    public byte[] toBytes() {
+
+        int length = MAGIC.length + 2;
+        for (byte[] value : fields.values()) {
+            length += 3 + value.length;
+        }
+
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        byteBuffer.put(MAGIC);
+        byteBuffer.put(VERSION);
+        for (Map.Entry<Byte, byte[]> field : fields.entrySet()) {
+            byteBuffer.put(field.getKey());
+            byteBuffer.putShort((short)field.getValue().length);
+            byteBuffer.put(field.getValue());
+        }
+        byteBuffer.put(TAG_END);
+        return byteBuffer.array();
+
+    }
+
+    /**
+     * Serialize the header for the additional authentication data of the segment table.
+     * <p>
+     * Headers with a {@link #TAG_WRAPPED_KEY wrapped data key} leave out the key slot, all other headers are serialized as a whole.
+     * @return the serialized header
+     */
+    public byte[] toAuthenticatedBytes() {
+
+        if (!fields.containsKey(TAG_WRAPPED_KEY)) {
+            return toBytes();
+        }
+        VaultHeader header = copy();
+        for (byte tag : new byte[] { TAG_KDF, TAG_KEY_CHECK, TAG_WRAPPED_KEY, TAG_KEYFILE, TAG_PADDING }) {
+            header.remove(tag);
+        }
+        return header.toBytes();
+
+    }
+
+    /**
+     * Set the {@link #TAG_PADDING padding} so that the serialized header has the given length.
+     * @param length : the length in bytes
+     * @return {@code true} on success, {@code false} if the header is too long (or 1 to 2 bytes too short, a field takes 3 bytes at least)
+     */
+    public boolean padTo(int length) {
+
+        remove(TAG_PADDING);
+        int padding = length - toBytes().length;
+        if (padding == 0) {
+            return true;
+        }
+        if (padding < 3 || length > MAX_BYTE_LENGTH) {
+            return false;
+        }
+        put(TAG_PADDING, new byte[padding - 3]);
+        return true;
+
+    }
+
+    /**
+     * Copy the header.
+     * @return the copy
+     */
+    public VaultHeader copy() {
+
+        VaultHeader header = new VaultHeader();
+        header.fields.putAll(fields); // the values are never changed, put() and get() copy them
+        return header;
+
+    }
+
+    /**
+     * Get the value of a field.
+     * @param tag : the tag of the field
+     * @return a copy of the value <b>OR {@code null} if the field is not present.</b>
+     */
+    public byte[] get(byte tag) {
+
+        byte[] value = fields.get(tag);
+        return value == null ? null : value.clone();
+
+    }
+
+    /**
+     * Get the value of a field as int.
+     * @param tag : the tag of the field
+     * @param defaultValue : returned if the field is not present
+     * @return the value
+     */
+    public int getInt(byte tag, int defaultValue) {
+
+        byte[] value = fields.get(tag);
+        if (value == null || value.length != Integer.BYTES) {
+            return defaultValue;
+        }
+        return ByteBuffer.wrap(value).getInt();
+
+    }
+
+    /**
+     * Set the value of a field.
+     * @param tag : the tag of the field
+     * @param value : the value
+     * @throws IllegalArgumentException if the tag is {@link #TAG_END} or the header would get too long
+     */
+    public void put(byte tag, byte[] value) {
+
+        if (tag == TAG_END) {
+            throw new IllegalArgumentException("TAG_END can not be used as field.");
+        }
+        int length = toBytes().length + 3 + value.length - (fields.containsKey(tag) ? 3 + fields.get(tag).length : 0);
+        if (length > MAX_BYTE_LENGTH) {
+            throw new IllegalArgumentException(String.format("header must not be longer than %d bytes.", MAX_BYTE_LENGTH));
+        }
+        fields.put(tag, value.clone());
+
+    }
+
+    /**
+     * Set the value of a field to an int.
+     * @param tag : the tag of the field
+     * @param value : the value
+     */
+    public void putInt(byte tag, int value) {
+        put(tag, ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    /**
+     * Remove a field.
+     * @param tag : the tag of the field
+     */
+    public void remove(byte tag) {
+        fields.remove(tag);
+    }
+
+}
@@ -1,10 +1,18 @@
 package com.danield.protector;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.security.InvalidParameterException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,12 +22,14 @@ import javax.crypto.spec.*;
 
 /**
  * The {@code AES} class provides secure and easy-to-use AES en- and decryption in GCM mode with a 256 bit key size (optional: derived from a given password).
+ * <p>
+ * Data that should not be held in memory at once can be en- and decrypted as a stream of separately authenticated chunks,
+ * see {@link #encrypt(ReadableByteChannel, WritableByteChannel, SecretKey, byte[], int)}.
  * @author Daniel D
- * @version 0.2
+ * @version 0.4
  */
 public class AES { //TODO add support for 512 bit key size.
 
-	private static final String SECRET_KEY_ALGORITHM = "PBKDF2WithHmacSHA256";
 	/** Transformation String ( Algorithm / Mode / Padding_Scheme ) */
 	private static final String TRANSFORMATION_STRING = "AES/GCM/NoPadding";
 	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
@@ -27,7 +37,25 @@ public class AES { //TODO add support for 512 bit key size.
 	private static final String KEY_ALGORITHM = "AES";
 	private static final int TAG_BIT_LENGTH = 128;
 	private static final int KEY_BIT_LENGTH = 256;
+	/** IV length used by the password and generated key based methods. kept for compatibility with existing data. */
 	private static final int IV_BYTE_LENGTH = 96;
+	/** Standard GCM nonce length used by the {@code SecretKey} based methods. */
+	private static final int NONCE_BYTE_LENGTH = 12;
+	private static final int SALT_BYTE_LENGTH = 16;
+	/** Cipher and nonce per thread, so the {@code SecretKey} based methods do not look up a new cipher on every call. */
+	private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(AES::newCipher);
+	private static final ThreadLocal<byte[]> NONCE = ThreadLocal.withInitial(() -> new byte[NONCE_BYTE_LENGTH]);
+	private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+	/** Default length of the plain data in one chunk of a stream. */
+	public static final int STREAM_CHUNK_BYTE_LENGTH = 64 * 1024;
+	/** Upper bound of the chunk length, so a forged stream header can not make the reader allocate arbitrary amounts of memory. */
+	private static final int MAX_STREAM_CHUNK_BYTE_LENGTH = 16 * 1024 * 1024;
+	private static final byte STREAM_VERSION = 1;
+	/** Nonce of a chunk: random prefix, chunk index (4 bytes), last chunk flag (1 byte). */
+	private static final int STREAM_NONCE_PREFIX_BYTE_LENGTH = NONCE_BYTE_LENGTH - Integer.BYTES - 1;
+	/** Stream header: version (1 byte), chunk length (4 bytes), nonce prefix. */
+	private static final int STREAM_HEADER_BYTE_LENGTH = 1 + Integer.BYTES + STREAM_NONCE_PREFIX_BYTE_LENGTH;
+	private static final long MAX_STREAM_CHUNK_COUNT = 1L << 32;
 
 	private AES() {} // we don't want this class to be instantiated.
 
@@ -55,42 +83,45 @@ public class AES { //TODO add support for 512 bit key size.
 
 	}
 
+	/**
+	 * Create a cipher for the {@link #CIPHER} cache.
+	 * @return the cipher
+	 * @throws IllegalStateException if AES/GCM is not supported
+	 */
+	private static Cipher newCipher() {
+
+		try {
+			return Cipher.getInstance(TRANSFORMATION_STRING);
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException(String.format("transformation \"%s\" not supported.", TRANSFORMATION_STRING), e);
+		}
+
+	}
+
 	/**
 	 * Generates a initialization vector.
+	 * @param length : the length in bytes
 	 * @return the new iv
 	 */
-	private static byte[] generateIV() {
+	private static byte[] generateIV(int length) {
 
-		byte[] iv = new byte[IV_BYTE_LENGTH];
+		byte[] iv = new byte[length];
 		SECURE_RANDOM.nextBytes(iv);
 		return iv;
 		
 	}
 
 	/**
-	 * Password-based Key Generator for Symmetric Encryption using the "PBKDF2WithHmacSHA256" algorithm.
+	 * Password-based Key Generator for Symmetric Encryption using the "PBKDF2WithHmacSHA256" algorithm, see {@link PBKDF2}.
      * @param password : the password.
      * @param salt : the salt.
      * @param iterationCount : the iteration count.
      * @param keySize : the to-be-derived key length.
 	 * @return ENCODED_KEY
 	 */
-    private static byte[] PBEKeyGen(char[] password, byte[] salt, int iterationCount, int keySize)
-    throws NullPointerException, NoSuchAlgorithmException, InvalidKeySpecException, IllegalArgumentException {
-
-        // A user-chosen password that can be used with password-based encryption (PBE).
-		// The password can be viewed as some kind of raw key material, from which the encryption mechanism that uses it derives a cryptographic key.
-        PBEKeySpec keySpec = new PBEKeySpec(password, salt, iterationCount, keySize);
-
-        SecretKeyFactory pbkdfKeyFactory = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
-        
-        SecretKey key = pbkdfKeyFactory.generateSecret(keySpec);
-
-        // Delete sensitive information
-        keySpec.clearPassword();
-
-        return key.getEncoded();
-
+    private static byte[] PBEKeyGen(char[] password, byte[] salt, int iterationCount, int keySize) throws Exception {
+        return PBKDF2.derive(password, salt, iterationCount, keySize / 8);
     }
 
 	/**
@@ -106,7 +137,7 @@ public class AES { //TODO add support for 512 bit key size.
 		SecretKey secretKey = KEYGEN.generateKey();
 		
 		// Create Initialization Vector
-		byte[] iv = generateIV();
+		byte[] iv = generateIV(IV_BYTE_LENGTH);
 
 		// Initialize GCM Parameters
 		GCMParameterSpec gcmParamSpec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
@@ -180,6 +211,546 @@ public class AES { //TODO add support for 512 bit key size.
 
 	}
 
+	/**
+	 * Derive a 256bit aes key from a password.
+	 * <p>
+	 * Use this together with {@link #encrypt(byte[], SecretKey, byte[])} and {@link #decrypt(byte[], SecretKey, byte[])}
+	 * if you need to en- or decrypt multiple messages with the same password, so the key derivation only runs once.
+	 * @param password : the password.
+	 * @return the derived key
+	 * @throws Exception
+	 */
+	public static SecretKey deriveKey(String password) throws Exception {
+		return deriveKey(password.toCharArray());
+	}
+
+	/**
+	 * Derive a 256bit aes key from a password.
+	 * <p>
+	 * Same as {@link #deriveKey(String)}, but the password does not have to be turned into a {@code String}.
+	 * The caller can wipe the array afterwards.
+	 * @param password : the password.
+	 * @return the derived key
+	 * @throws Exception
+	 */
+	public static SecretKey deriveKey(char[] password) throws Exception {
+
+		// Salt: the password encoded like String.getBytes() would
+		ByteBuffer encoded = Charset.defaultCharset().encode(CharBuffer.wrap(password));
+		byte[] salt = new byte[encoded.remaining()];
+		encoded.get(salt);
+		if (encoded.hasArray()) {
+			Arrays.fill(encoded.array(), (byte)0);
+		}
+
+		// Create Password-based Key
+		byte[] key = PBEKeyGen(password, salt, 40000, KEY_BIT_LENGTH);
+
+		// Create Secret Key
+		SecretKey secretKey = new SecretKeySpec(key, KEY_ALGORITHM);
+
+		// Delete sensitive information
+		Arrays.fill(key, (byte)0);
+		Arrays.fill(salt, (byte)0);
+
+		return secretKey;
+
+	}
+
+	/**
+	 * Derive a 256bit aes key from a password and a salt.
+	 * @param password : the password.
+	 * @param salt : the salt. should be random and unique per file, see {@link #generateSalt()}
+	 * @param kdf : the key derivation function, e.g. {@link Argon2} or {@link PBKDF2}
+	 * @return the derived key
+	 * @throws Exception
+	 */
+	public static SecretKey deriveKey(char[] password, byte[] salt, KDF kdf) throws Exception {
+
+		// Create Password-based Key
+		byte[] key = kdf.derive(password, salt, KEY_BIT_LENGTH / 8);
+
+		// Create Secret Key
+		SecretKey secretKey = new SecretKeySpec(key, KEY_ALGORITHM);
+
+		// Delete sensitive information
+		Arrays.fill(key, (byte)0);
+
+		return secretKey;
+
+	}
+
+	/**
+	 * Derive a 256bit aes key from a password, a keyfile and a salt (composite key).
+	 * <p>
+	 * The key derivation function gets the password followed by U+0000 and the SHA-256 hash of the keyfile as 64 hex digits,
+	 * so the key can only be derived with both. The composite password gets wiped, the password array is not changed.
+	 * @param password : the password.
+	 * @param keyFileHash : the SHA-256 hash of the keyfile, see {@link SHA#SHA256(java.io.File)}. {@code null} if there is no keyfile.
+	 * @param salt : the salt. should be random and unique per file, see {@link #generateSalt()}
+	 * @param kdf : the key derivation function, e.g. {@link Argon2} or {@link PBKDF2}
+	 * @return the derived key
+	 * @throws Exception
+	 */
+	public static SecretKey deriveKey(char[] password, byte[] keyFileHash, byte[] salt, KDF kdf) throws Exception {
+
+		if (keyFileHash == null) {
+			return deriveKey(password, salt, kdf);
+		}
+
+		// Create Composite Password
+		char[] composite = Arrays.copyOf(password, password.length + 1 + 2 * keyFileHash.length);
+		composite[password.length] = '\0';
+		for (int i = 0; i < keyFileHash.length; i++) {
+			composite[password.length + 1 + 2 * i] = Character.forDigit((keyFileHash[i] >> 4) & 0xf, 16);
+			composite[password.length + 2 + 2 * i] = Character.forDigit(keyFileHash[i] & 0xf, 16);
+		}
+
+		try {
+			return deriveKey(composite, salt, kdf);
+		}
+		finally {
+			// Delete sensitive information
+			Arrays.fill(composite, '\0');
+		}
+
+	}
+
+	/**
+	 * Generate a random salt for {@link #deriveKey(char[], byte[], KDF)}.
+	 * @return the salt
+	 */
+	public static byte[] generateSalt() {
+		return generateIV(SALT_BYTE_LENGTH);
+	}
+
+	/**
+	 * Generate a random 256bit aes key.
+	 * @return the key
+	 */
+	public static SecretKey generateKey() {
+		return KEYGEN.generateKey();
+	}
+
+	/**
+	 * Encrypt data using a previously derived key.
+	 * @param plainData : the data.
+	 * @param secretKey : the key which the data should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the encrypted data
+	 * @throws Exception
+	 */
+	public static byte[] encrypt(byte[] plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		byte[] cipherMessage = new byte[getCipherByteLength(plainData.length)];
+		encrypt(ByteBuffer.wrap(plainData), ByteBuffer.wrap(cipherMessage), secretKey, additionalAuthenticationData);
+		return cipherMessage;
+
+	}
+
+	/**
+	 * Decrypt data using a previously derived key.
+	 * @param cipherData : the encrypted data.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the decrypted data
+	 * @throws Exception
+	 */
+	public static byte[] decrypt(byte[] cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		byte[] plainData = new byte[Math.max(0, getPlainByteLength(cipherData.length))];
+		decrypt(ByteBuffer.wrap(cipherData), ByteBuffer.wrap(plainData), secretKey, additionalAuthenticationData);
+		return plainData;
+
+	}
+
+	/**
+	 * Encrypt data from one buffer into another using a previously derived key.
+	 * <p>
+	 * Uses a cipher cached per thread and does not allocate any buffers, so it can be called for every record of a large vault.
+	 * The output has the same layout as the output of {@link #encrypt(byte[], SecretKey, byte[])}.
+	 * @param plainData : the data from its position to its limit. the position gets moved to the limit.
+	 * @param cipherData : receives the encrypted data at its position, {@link #getCipherByteLength(int)} bytes have to be remaining.
+	 * the position gets moved behind the encrypted data. may be a direct buffer. should not share its array with the data, the cipher would copy its output then.
+	 * @param secretKey : the key which the data should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws Exception
+	 */
+	public static int encrypt(ByteBuffer plainData, ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		// Create Initialization Vector
+		byte[] nonce = NONCE.get();
+		RANDOM.get().nextBytes(nonce);
+
+		// Initialize Cipher for ENCRYPT_MODE
+		Cipher cipher = CIPHER.get();
+		cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BIT_LENGTH, nonce));
+
+		// Associated Data
+		if (additionalAuthenticationData != null) {
+			cipher.updateAAD(additionalAuthenticationData);
+		}
+
+		// Perform Encryption, "nonce" followed by "cipherData"
+		int start = cipherData.position();
+		cipherData.put(nonce);
+		cipher.doFinal(plainData, cipherData);
+
+		return cipherData.position() - start;
+
+	}
+
+	/**
+	 * Decrypt data from one buffer into another using a previously derived key.
+	 * <p>
+	 * Uses a cipher cached per thread and does not allocate any buffers.
+	 * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit. may be a direct buffer (e.g. a {@code MappedByteBuffer}).
+	 * @param plainData : receives the decrypted data at its position, {@link #getPlainByteLength(int)} bytes have to be remaining.
+	 * the position gets moved behind the decrypted data. should not share its array with the encrypted data, the cipher would copy its output then.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws Exception
+	 */
+	public static int decrypt(ByteBuffer cipherData, ByteBuffer plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		// Read Initialization Vector
+		byte[] nonce = NONCE.get();
+		cipherData.get(nonce);
+
+		// Initialize Cipher for DECRYPT_MODE
+		Cipher cipher = CIPHER.get();
+		cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BIT_LENGTH, nonce));
+
+		// Associated Data
+		if (additionalAuthenticationData != null) {
+			cipher.updateAAD(additionalAuthenticationData);
+		}
+
+		// Perform Decryption
+		return cipher.doFinal(cipherData, plainData);
+
+	}
+
+	/**
+	 * Get the length of the data {@link #encrypt(ByteBuffer, ByteBuffer, SecretKey, byte[])} produces.
+	 * @param plainByteLength : the length of the data in bytes
+	 * @return the length of the encrypted data in bytes
+	 */
+	public static int getCipherByteLength(int plainByteLength) {
+		return NONCE_BYTE_LENGTH + plainByteLength + TAG_BIT_LENGTH / 8;
+	}
+
+	/**
+	 * Get the length of the data {@link #decrypt(ByteBuffer, ByteBuffer, SecretKey, byte[])} produces.
+	 * @param cipherByteLength : the length of the encrypted data in bytes
+	 * @return the length of the decrypted data in bytes. negative if the encrypted data is too short.
+	 */
+	public static int getPlainByteLength(int cipherByteLength) {
+		return cipherByteLength - NONCE_BYTE_LENGTH - TAG_BIT_LENGTH / 8;
+	}
+
+	/**
+	 * Encrypt a stream using a previously derived key, see {@link #encrypt(ReadableByteChannel, WritableByteChannel, SecretKey, byte[], int)}.
+	 * <p>
+	 * Uses chunks of {@value #STREAM_CHUNK_BYTE_LENGTH} bytes. The streams are not closed.
+	 * @param plainData : the data, read until its end.
+	 * @param cipherData : receives the encrypted data.
+	 * @param secretKey : the key which the data should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws Exception
+	 */
+	public static long encrypt(InputStream plainData, OutputStream cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+		return encrypt(Channels.newChannel(plainData), Channels.newChannel(cipherData), secretKey, additionalAuthenticationData, STREAM_CHUNK_BYTE_LENGTH);
+	}
+
+	/**
+	 * Decrypt a stream that was encrypted by {@link #encrypt(InputStream, OutputStream, SecretKey, byte[])},
+	 * see {@link #decrypt(ReadableByteChannel, WritableByteChannel, SecretKey, byte[])}. The streams are not closed.
+	 * @param cipherData : the encrypted data, read until its end.
+	 * @param plainData : receives the decrypted data.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws AEADBadTagException if the data was tampered with or truncated. <b>the data written so far has to be discarded then.</b>
+	 * @throws Exception
+	 */
+	public static long decrypt(InputStream cipherData, OutputStream plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+		return decrypt(Channels.newChannel(cipherData), Channels.newChannel(plainData), secretKey, additionalAuthenticationData);
+	}
+
+	/**
+	 * Encrypt a stream using a previously derived key, with chunks of {@value #STREAM_CHUNK_BYTE_LENGTH} bytes.
+	 * @param plainData : the data, read until its end.
+	 * @param cipherData : receives the encrypted data.
+	 * @param secretKey : the key which the data should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws Exception
+	 * @see #encrypt(ReadableByteChannel, WritableByteChannel, SecretKey, byte[], int)
+	 */
+	public static long encrypt(ReadableByteChannel plainData, WritableByteChannel cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+		return encrypt(plainData, cipherData, secretKey, additionalAuthenticationData, STREAM_CHUNK_BYTE_LENGTH);
+	}
+
+	/**
+	 * Encrypt a stream using a previously derived key.
+	 * <p>
+	 * The data is split into chunks that get encrypted separately (STREAM construction), so only one chunk is held in memory
+	 * and the data can be of any length. The nonce of every chunk is made of a random prefix, the index of the chunk
+	 * and a flag that marks the last chunk, so chunks can not be reordered, dropped or cut off without the decryption failing.
+	 * <p>
+	 * Layout: version (1 byte), chunk length (4 bytes), nonce prefix (7 bytes), chunks (encrypted data + tag).
+	 * The channels have to be blocking and are not closed.
+	 * @param plainData : the data, read until its end.
+	 * @param cipherData : receives the encrypted data.
+	 * @param secretKey : the key which the data should be encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @param chunkByteLength : the length of the plain data in one chunk
+	 * @return the number of bytes written
+	 * @throws IllegalArgumentException if the chunk length is not positive or larger than 16 MiB
+	 * @throws Exception
+	 */
+	public static long encrypt(ReadableByteChannel plainData, WritableByteChannel cipherData, SecretKey secretKey, byte[] additionalAuthenticationData, int chunkByteLength) throws Exception {
+
+		if (chunkByteLength <= 0 || chunkByteLength > MAX_STREAM_CHUNK_BYTE_LENGTH) {
+			throw new IllegalArgumentException(String.format("chunk length must be between 1 and %d bytes.", MAX_STREAM_CHUNK_BYTE_LENGTH));
+		}
+
+		// Stream Header, authenticated with every chunk
+		ByteBuffer header = ByteBuffer.allocate(STREAM_HEADER_BYTE_LENGTH);
+		header.put(STREAM_VERSION).putInt(chunkByteLength).put(generateIV(STREAM_NONCE_PREFIX_BYTE_LENGTH)).flip();
+		long written = writeFully(cipherData, header);
+
+		// One byte more than a chunk is read, so we know whether another chunk follows before the current one gets sealed
+		ByteBuffer plainChunk = ByteBuffer.allocate(chunkByteLength + 1);
+		ByteBuffer cipherChunk = ByteBuffer.allocate(chunkByteLength + TAG_BIT_LENGTH / 8);
+		try {
+			for (long index = 0; ; index++) {
+				boolean isLast = !readFully(plainData, plainChunk);
+				plainChunk.flip();
+				if (!isLast) {
+					plainChunk.limit(chunkByteLength);
+				}
+				cipherChunk.clear();
+				processChunk(Cipher.ENCRYPT_MODE, plainChunk, cipherChunk, secretKey, header.array(), additionalAuthenticationData, index, isLast);
+				written += writeFully(cipherData, cipherChunk.flip());
+				if (isLast) {
+					return written;
+				}
+				plainChunk.limit(plainChunk.capacity()).compact(); // keep the byte read ahead
+			}
+		}
+		finally {
+			// Delete sensitive information
+			Arrays.fill(plainChunk.array(), (byte)0);
+		}
+
+	}
+
+	/**
+	 * Decrypt a stream that was encrypted by {@link #encrypt(ReadableByteChannel, WritableByteChannel, SecretKey, byte[], int)}.
+	 * <p>
+	 * Every chunk is authenticated before it gets written, so a tampered chunk is rejected as soon as it is read.
+	 * A stream that was cut off is only detected at its end though, so the data must not be used before this method returned.
+	 * The channels have to be blocking and are not closed.
+	 * @param cipherData : the encrypted data, read until its end.
+	 * @param plainData : receives the decrypted data.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return the number of bytes written
+	 * @throws AEADBadTagException if the data was tampered with or truncated. <b>the data written so far has to be discarded then.</b>
+	 * @throws Exception
+	 */
+	public static long decrypt(ReadableByteChannel cipherData, WritableByteChannel plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+		// Stream Header
+		ByteBuffer header = ByteBuffer.allocate(STREAM_HEADER_BYTE_LENGTH);
+		if (!readFully(cipherData, header)) {
+			throw new AEADBadTagException("stream is truncated.");
+		}
+		header.flip();
+		byte version = header.get();
+		int chunkByteLength = header.getInt();
+		if (version != STREAM_VERSION || chunkByteLength <= 0 || chunkByteLength > MAX_STREAM_CHUNK_BYTE_LENGTH) {
+			throw new AEADBadTagException("stream header is invalid.");
+		}
+
+		// One byte more than a chunk is read, so we know whether it is the last chunk
+		ByteBuffer cipherChunk = ByteBuffer.allocate(chunkByteLength + TAG_BIT_LENGTH / 8 + 1);
+		ByteBuffer plainChunk = ByteBuffer.allocate(chunkByteLength);
+		long written = 0;
+		try {
+			for (long index = 0; ; index++) {
+				boolean isLast = !readFully(cipherData, cipherChunk);
+				cipherChunk.flip();
+				if (!isLast) {
+					cipherChunk.limit(chunkByteLength + TAG_BIT_LENGTH / 8);
+				}
+				plainChunk.clear();
+				processChunk(Cipher.DECRYPT_MODE, cipherChunk, plainChunk, secretKey, header.array(), additionalAuthenticationData, index, isLast);
+				written += writeFully(plainData, plainChunk.flip());
+				if (isLast) {
+					return written;
+				}
+				cipherChunk.limit(cipherChunk.capacity()).compact(); // keep the byte read ahead
+			}
+		}
+		finally {
+			// Delete sensitive information
+			Arrays.fill(plainChunk.array(), (byte)0);
+		}
+
+	}
+
+	/**
+	 * En- or decrypt one chunk of a stream.
+	 * @param mode : {@code Cipher.ENCRYPT_MODE} or {@code Cipher.DECRYPT_MODE}
+	 * @param input : the chunk from its position to its limit
+	 * @param output : receives the result at its position
+	 * @param secretKey : the key
+	 * @param header : the stream header, contains the nonce prefix
+	 * @param additionalAuthenticationData : is optional.
+	 * @param index : the index of the chunk
+	 * @param isLast : whether it is the last chunk of the stream
+	 * @throws Exception
+	 */
+	private static void processChunk(int mode, ByteBuffer input, ByteBuffer output, SecretKey secretKey, byte[] header, byte[] additionalAuthenticationData, long index, boolean isLast) throws Exception {
+
+		if (index >= MAX_STREAM_CHUNK_COUNT) {
+			throw new IllegalStateException("stream has too many chunks.");
+		}
+
+		// Nonce: prefix, index, last chunk flag
+		byte[] nonce = NONCE.get();
+		System.arraycopy(header, STREAM_HEADER_BYTE_LENGTH - STREAM_NONCE_PREFIX_BYTE_LENGTH, nonce, 0, STREAM_NONCE_PREFIX_BYTE_LENGTH);
+		ByteBuffer.wrap(nonce, STREAM_NONCE_PREFIX_BYTE_LENGTH, Integer.BYTES + 1).putInt((int)index).put((byte)(isLast ? 1 : 0));
+
+		Cipher cipher = CIPHER.get();
+		cipher.init(mode, secretKey, new GCMParameterSpec(TAG_BIT_LENGTH, nonce));
+		cipher.updateAAD(header);
+		if (additionalAuthenticationData != null) {
+			cipher.updateAAD(additionalAuthenticationData);
+		}
+		cipher.doFinal(input, output);
+
+	}
+
+	/**
+	 * Read from a channel until the buffer is full or the channel has reached its end.
+	 * @param channel : the channel
+	 * @param buffer : the buffer
+	 * @return {@code true} if the buffer is full, {@code false} if the channel has reached its end
+	 * @throws IOException
+	 */
+	private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer) < 0) {
+				return false;
+			}
+		}
+		return true;
+
+	}
+
+	/**
+	 * Write the remaining bytes of a buffer to a channel.
+	 * @param channel : the channel
+	 * @param buffer : the buffer
+	 * @return the number of bytes written
+	 * @throws IOException
+	 */
+	private static int writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+
+		int length = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		return length;
+
+	}
+
+	/**
+	 * Decrypt data using a previously derived key.
+	 * <p>
+	 * The data gets decrypted straight from the given buffer (e.g. a {@code MappedByteBuffer}),
+	 * so the encrypted data does not have to be copied onto the heap first.
+	 * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return a buffer containing the decrypted data, ready to be read from
+	 * @throws Exception
+	 */
+	public static ByteBuffer decrypt(ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+		return decrypt(cipherData, secretKey, additionalAuthenticationData, NONCE_BYTE_LENGTH);
+	}
+
+	/**
+	 * Decrypt data that was encrypted by {@link #encrypt(byte[], String, byte[])} using a previously derived key.
+	 * <p>
+	 * Same as {@link #decrypt(ByteBuffer, SecretKey, byte[])} but for the longer initialization vector of the password based methods.
+	 * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit.
+	 * @param secretKey : the key which the data was encrypted with, see {@link #deriveKey(String)}.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @return a buffer containing the decrypted data, ready to be read from
+	 * @throws Exception
+	 */
+	public static ByteBuffer decryptPasswordEncrypted(ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+		return decrypt(cipherData, secretKey, additionalAuthenticationData, IV_BYTE_LENGTH);
+	}
+
+	/**
+	 * Decrypt data straight from a buffer.
+	 * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit.
+	 * @param secretKey : the key which the data was encrypted with.
+	 * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+	 * @param ivLength : the length of the initialization vector in bytes
+	 * @return a buffer containing the decrypted data, ready to be read from
+	 * @throws Exception
+	 */
+	private static ByteBuffer decrypt(ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData, int ivLength) throws Exception {
+
+		// Read Initialization Vector
+		byte[] iv = ivLength == NONCE_BYTE_LENGTH ? NONCE.get() : new byte[ivLength];
+		cipherData.get(iv);
+
+		// Initialize GCM Parameters
+		GCMParameterSpec gcmParamSpec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
+
+		// Cached Cipher Instance
+		Cipher cipher = CIPHER.get();
+		
+        // Initialize Cipher for DECRYPT_MODE
+        cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmParamSpec);
+        
+		// Associated Data
+		if (additionalAuthenticationData != null) {
+			cipher.updateAAD(additionalAuthenticationData);
+		}
+
+        // Perform Decryption
+		ByteBuffer plainData = ByteBuffer.allocate(cipher.getOutputSize(cipherData.remaining()));
+		cipher.doFinal(cipherData, plainData);
+		plainData.flip();
+
+		// Delete sensitive information
+		Arrays.fill(iv, (byte)0);
+
+		return plainData;
+
+	}
+
+	/**
+	 * Get the length of the authentication tag that gets appended to every encrypted message.
+	 * @return the tag length in bytes
+	 */
+	public static int getTagByteLength() {
+		return TAG_BIT_LENGTH / 8;
+	}
+
 	/**
 	 * Encrypt data using a specific password.
 	 * @param plainData : the data.
@@ -197,7 +768,7 @@ public class AES { //TODO add support for 512 bit key size.
 		SecretKey secretKey = new SecretKeySpec(key, KEY_ALGORITHM);
 		
 		// Create Initialization Vector
-		byte[] iv = generateIV();
+		byte[] iv = generateIV(IV_BYTE_LENGTH);
 
 		// Initialize GCM Parameters
 		GCMParameterSpec gcmParamSpec = new GCMParameterSpec(TAG_BIT_LENGTH, iv);
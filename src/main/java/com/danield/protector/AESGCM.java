@@ -0,0 +1,51 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+
+import javax.crypto.SecretKey;
+
+/**
+ * AES-256 in GCM mode, see {@link CipherSuite#AES_GCM}. Delegates to {@link AES}.
+ * @author Daniel D
+ * @version 0.1
+ */
+class AESGCM implements CipherSuite {
+
+    private static final byte ID = 1;
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "AES-GCM";
+    }
+
+    @Override
+    public int encrypt(ByteBuffer plainData, ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+        return AES.encrypt(plainData, cipherData, secretKey, additionalAuthenticationData);
+    }
+
+    @Override
+    public int decrypt(ByteBuffer cipherData, ByteBuffer plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+        return AES.decrypt(cipherData, plainData, secretKey, additionalAuthenticationData);
+    }
+
+    @Override
+    public int getCipherByteLength(int plainByteLength) {
+        return AES.getCipherByteLength(plainByteLength);
+    }
+
+    @Override
+    public int getPlainByteLength(int cipherByteLength) {
+        return AES.getPlainByteLength(cipherByteLength);
+    }
+
+    @Override
+    public int getTagByteLength() {
+        return AES.getTagByteLength();
+    }
+
+}
@@ -0,0 +1,435 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code Argon2} class provides the memory-hard Argon2id key derivation function (RFC 9106, version 0x13).
+ * <p>
+ * The memory is split into lanes which get filled in parallel, so a derivation can use all cores of the machine.
+ * The lane count is a parameter of the function: a file created with 8 lanes can be opened on a machine with fewer cores, it just takes longer.
+ * @author Daniel D
+ * @version 0.1
+ */
+public class Argon2 implements KDF {
+
+    private static final int VERSION = 0x13;
+    private static final int TYPE_ARGON2ID = 2;
+    private static final int BLOCK_LONGS = 128; // a block is 1 KiB
+    private static final int BLOCK_BYTES = BLOCK_LONGS * Long.BYTES;
+    private static final int SYNC_POINTS = 4; // slices per pass
+    private static final long CALIBRATION_BUDGET_MILLIS = 1000;
+    /** Maximum number of lanes. */
+    public static final int MAX_LANES = 0xFFFFFF;
+    /** Maximum memory cost in KiB, the memory has to fit into one array. */
+    public static final int MAX_MEMORY_KIB = Integer.MAX_VALUE / BLOCK_LONGS;
+
+    private final int memoryKiB;
+    private final int iterations;
+    private final int lanes;
+
+    /**
+     * @param memoryKiB : the memory cost in KiB, at least 8 times the lane count
+     * @param iterations : the time cost (number of passes over the memory), at least 1
+     * @param lanes : the degree of parallelism, from 1 to {@value #MAX_LANES}
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public Argon2(int memoryKiB, int iterations, int lanes) {
+
+        if (lanes < 1 || lanes > MAX_LANES) {
+            throw new IllegalArgumentException(String.format("lanes must be between 1 and %d.", MAX_LANES));
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive.");
+        }
+        if (memoryKiB < 2 * SYNC_POINTS * lanes || memoryKiB > MAX_MEMORY_KIB) {
+            throw new IllegalArgumentException(String.format("memory must be between %d and %d KiB.", 2 * SYNC_POINTS * lanes, MAX_MEMORY_KIB));
+        }
+        this.memoryKiB = memoryKiB;
+        this.iterations = iterations;
+        this.lanes = lanes;
+
+    }
+
+    /**
+     * Find the number of iterations at which a key derivation with the given memory and lanes takes about the given time on this machine.
+     * <p>
+     * The result has at least 1 iteration, even if the machine is slower.
+     * The calibration itself takes about a second, so the result should be reused.
+     * @param targetMillis : the time one key derivation should take in milliseconds
+     * @param memoryKiB : the memory cost in KiB
+     * @param lanes : the degree of parallelism
+     * @return the calibrated key derivation function
+     * @throws Exception if the key can not be derived
+     */
+    public static Argon2 calibrate(long targetMillis, int memoryKiB, int lanes) throws Exception {
+
+        long elapsedNanos = new Argon2(memoryKiB, 1, lanes).measure(CALIBRATION_BUDGET_MILLIS);
+        long iterations = Math.round(targetMillis * 1_000_000d / elapsedNanos);
+        return new Argon2(memoryKiB, (int)Math.max(1, Math.min(iterations, Integer.MAX_VALUE)), lanes);
+
+    }
+
+    public int getMemoryKiB() {
+        return memoryKiB;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Derive key material from a password. The password gets encoded as UTF-8.
+     */
+    @Override
+    public byte[] derive(char[] password, byte[] salt, int keyByteLength) throws Exception {
+
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] passwordBytes = new byte[encoded.remaining()];
+        encoded.get(passwordBytes);
+        if (encoded.hasArray()) {
+            Arrays.fill(encoded.array(), (byte)0);
+        }
+        try {
+            return hash(passwordBytes, salt, null, null, keyByteLength);
+        }
+        finally {
+            Arrays.fill(passwordBytes, (byte)0);
+        }
+
+    }
+
+    /**
+     * Compute the Argon2id tag.
+     * @param password : the password
+     * @param salt : the salt, at least 8 bytes
+     * @param secret : is optional. if you don't want to use it pass {@code null} as argument.
+     * @param associatedData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @param tagLength : the tag length in bytes, at least 4
+     * @return the tag
+     * @throws IllegalArgumentException if the salt or the tag is too short
+     */
+    public byte[] hash(byte[] password, byte[] salt, byte[] secret, byte[] associatedData, int tagLength) {
+
+        if (salt.length < 8) {
+            throw new IllegalArgumentException("salt must be at least 8 bytes.");
+        }
+        if (tagLength < 4) {
+            throw new IllegalArgumentException("tag must be at least 4 bytes.");
+        }
+        secret = secret == null ? new byte[0] : secret;
+        associatedData = associatedData == null ? new byte[0] : associatedData;
+
+        int segmentLength = memoryKiB / (lanes * SYNC_POINTS);
+        int laneLength = segmentLength * SYNC_POINTS;
+        int blockCount = laneLength * lanes;
+        long[] memory = new long[blockCount * BLOCK_LONGS];
+
+        try {
+            // H0
+            byte[] h0 = new byte[Blake2b.MAX_DIGEST_LENGTH + 2 * Integer.BYTES];
+            new Blake2b(Blake2b.MAX_DIGEST_LENGTH)
+                .updateInt(lanes).updateInt(tagLength).updateInt(memoryKiB).updateInt(iterations).updateInt(VERSION).updateInt(TYPE_ARGON2ID)
+                .updateInt(password.length).update(password)
+                .updateInt(salt.length).update(salt)
+                .updateInt(secret.length).update(secret)
+                .updateInt(associatedData.length).update(associatedData)
+                .digest(h0, 0);
+
+            // The first two blocks of every lane
+            byte[] blockBytes = new byte[BLOCK_BYTES];
+            for (int lane = 0; lane < lanes; lane++) {
+                for (int block = 0; block < 2; block++) {
+                    writeInt(h0, Blake2b.MAX_DIGEST_LENGTH, block);
+                    writeInt(h0, Blake2b.MAX_DIGEST_LENGTH + Integer.BYTES, lane);
+                    hashLong(h0, blockBytes, BLOCK_BYTES);
+                    loadBlock(blockBytes, memory, (lane * laneLength + block) * BLOCK_LONGS);
+                }
+            }
+            Arrays.fill(h0, (byte)0);
+
+            // Fill the memory, the lanes of a slice are independent of each other
+            for (int pass = 0; pass < iterations; pass++) {
+                for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                    int currentPass = pass;
+                    int currentSlice = slice;
+                    IntStream lanesStream = IntStream.range(0, lanes);
+                    if (lanes > 1) {
+                        lanesStream = lanesStream.parallel();
+                    }
+                    lanesStream.forEach(lane -> fillSegment(memory, currentPass, lane, currentSlice, segmentLength, laneLength, blockCount));
+                }
+            }
+
+            // The tag is the hash of the last blocks of all lanes
+            long[] finalBlock = new long[BLOCK_LONGS];
+            for (int lane = 0; lane < lanes; lane++) {
+                int offset = ((lane + 1) * laneLength - 1) * BLOCK_LONGS;
+                for (int i = 0; i < BLOCK_LONGS; i++) {
+                    finalBlock[i] ^= memory[offset + i];
+                }
+            }
+            storeBlock(finalBlock, blockBytes);
+            byte[] tag = new byte[tagLength];
+            hashLong(blockBytes, tag, tagLength);
+            Arrays.fill(blockBytes, (byte)0);
+            Arrays.fill(finalBlock, 0);
+            return tag;
+        }
+        finally {
+            Arrays.fill(memory, 0);
+        }
+
+    }
+
+    /**
+     * Fill one segment (the part of a lane that belongs to one slice).
+     */
+    private void fillSegment(long[] memory, int pass, int lane, int slice, int segmentLength, int laneLength, int blockCount) {
+
+        long[] r = new long[BLOCK_LONGS];
+        long[] z = new long[BLOCK_LONGS];
+
+        // Argon2id: the first half of the first pass uses data-independent addresses (like Argon2i), the rest data-dependent ones (like Argon2d)
+        boolean isDataIndependent = pass == 0 && slice < SYNC_POINTS / 2;
+        long[] addressBlock = null;
+        long[] inputBlock = null;
+        long[] zeroBlock = null;
+        if (isDataIndependent) {
+            addressBlock = new long[BLOCK_LONGS];
+            inputBlock = new long[BLOCK_LONGS];
+            zeroBlock = new long[BLOCK_LONGS];
+            inputBlock[0] = pass;
+            inputBlock[1] = lane;
+            inputBlock[2] = slice;
+            inputBlock[3] = blockCount;
+            inputBlock[4] = iterations;
+            inputBlock[5] = TYPE_ARGON2ID;
+        }
+
+        int startIndex = 0;
+        if (pass == 0 && slice == 0) {
+            startIndex = 2; // the first two blocks are already filled
+            if (isDataIndependent) {
+                nextAddresses(addressBlock, inputBlock, zeroBlock, r, z);
+            }
+        }
+
+        int currentBlock = lane * laneLength + slice * segmentLength + startIndex;
+        int previousBlock = currentBlock % laneLength == 0 ? currentBlock + laneLength - 1 : currentBlock - 1;
+        for (int index = startIndex; index < segmentLength; index++, currentBlock++, previousBlock++) {
+
+            if (currentBlock % laneLength == 1) {
+                previousBlock = currentBlock - 1;
+            }
+
+            long pseudoRandom;
+            if (isDataIndependent) {
+                if (index % BLOCK_LONGS == 0) {
+                    nextAddresses(addressBlock, inputBlock, zeroBlock, r, z);
+                }
+                pseudoRandom = addressBlock[index % BLOCK_LONGS];
+            }
+            else {
+                pseudoRandom = memory[previousBlock * BLOCK_LONGS];
+            }
+
+            int referenceLane = pass == 0 && slice == 0 ? lane : (int)((pseudoRandom >>> 32) % lanes);
+            int referenceIndex = referenceIndex(pass, slice, index, pseudoRandom & 0xFFFFFFFFL, referenceLane == lane, segmentLength, laneLength);
+            int referenceBlock = referenceLane * laneLength + referenceIndex;
+
+            fillBlock(memory, previousBlock * BLOCK_LONGS, memory, referenceBlock * BLOCK_LONGS, memory, currentBlock * BLOCK_LONGS, pass != 0, r, z);
+
+        }
+
+    }
+
+    /**
+     * Map the pseudo random value to the index of the reference block within its lane.
+     */
+    private static int referenceIndex(int pass, int slice, int index, long pseudoRandom, boolean isSameLane, int segmentLength, int laneLength) {
+
+        // The blocks that may be referenced: everything that is finished, but not the previous block
+        long referenceAreaSize;
+        if (pass == 0) {
+            if (slice == 0) {
+                referenceAreaSize = index - 1;
+            }
+            else if (isSameLane) {
+                referenceAreaSize = (long)slice * segmentLength + index - 1;
+            }
+            else {
+                referenceAreaSize = (long)slice * segmentLength + (index == 0 ? -1 : 0);
+            }
+        }
+        else {
+            if (isSameLane) {
+                referenceAreaSize = laneLength - segmentLength + index - 1;
+            }
+            else {
+                referenceAreaSize = laneLength - segmentLength + (index == 0 ? -1 : 0);
+            }
+        }
+
+        // Non-uniform mapping, recent blocks are more likely (unsigned arithmetic)
+        long relativePosition = (pseudoRandom * pseudoRandom) >>> 32;
+        relativePosition = referenceAreaSize - 1 - ((referenceAreaSize * relativePosition) >>> 32);
+
+        long startPosition = 0;
+        if (pass != 0) {
+            startPosition = slice == SYNC_POINTS - 1 ? 0 : (long)(slice + 1) * segmentLength;
+        }
+        return (int)((startPosition + relativePosition) % laneLength);
+
+    }
+
+    /**
+     * Compute the next 128 data-independent addresses.
+     */
+    private static void nextAddresses(long[] addressBlock, long[] inputBlock, long[] zeroBlock, long[] r, long[] z) {
+
+        inputBlock[6]++;
+        fillBlock(zeroBlock, 0, inputBlock, 0, addressBlock, 0, false, r, z);
+        fillBlock(zeroBlock, 0, addressBlock, 0, addressBlock, 0, false, r, z);
+
+    }
+
+    /**
+     * The compression function G: next = P(x ^ y) ^ (x ^ y), or additionally xored with the old content of next.
+     * @param r : scratch block
+     * @param z : scratch block
+     */
+    private static void fillBlock(long[] x, int xOffset, long[] y, int yOffset, long[] next, int nextOffset, boolean isXor, long[] r, long[] z) {
+
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            r[i] = x[xOffset + i] ^ y[yOffset + i];
+        }
+        if (isXor) {
+            for (int i = 0; i < BLOCK_LONGS; i++) {
+                z[i] = r[i] ^ next[nextOffset + i];
+            }
+        }
+        else {
+            System.arraycopy(r, 0, z, 0, BLOCK_LONGS);
+        }
+
+        // P on the rows (16 consecutive words), then on the columns (pairs of words with a stride of 16)
+        for (int i = 0; i < 8; i++) {
+            int o = 16 * i;
+            round(r, o, o + 1, o + 2, o + 3, o + 4, o + 5, o + 6, o + 7, o + 8, o + 9, o + 10, o + 11, o + 12, o + 13, o + 14, o + 15);
+        }
+        for (int i = 0; i < 8; i++) {
+            int o = 2 * i;
+            round(r, o, o + 1, o + 16, o + 17, o + 32, o + 33, o + 48, o + 49, o + 64, o + 65, o + 80, o + 81, o + 96, o + 97, o + 112, o + 113);
+        }
+
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            next[nextOffset + i] = z[i] ^ r[i];
+        }
+
+    }
+
+    private static void round(long[] v, int v0, int v1, int v2, int v3, int v4, int v5, int v6, int v7,
+                              int v8, int v9, int v10, int v11, int v12, int v13, int v14, int v15) {
+
+        mix(v, v0, v4, v8, v12);
+        mix(v, v1, v5, v9, v13);
+        mix(v, v2, v6, v10, v14);
+        mix(v, v3, v7, v11, v15);
+        mix(v, v0, v5, v10, v15);
+        mix(v, v1, v6, v11, v12);
+        mix(v, v2, v7, v8, v13);
+        mix(v, v3, v4, v9, v14);
+
+    }
+
+    /**
+     * The BLAKE2b mixing function with the additions replaced by the multiplication-hardened BlaMka function.
+     */
+    private static void mix(long[] v, int a, int b, int c, int d) {
+
+        long va = v[a], vb = v[b], vc = v[c], vd = v[d];
+        va = blaMka(va, vb);
+        vd = Long.rotateRight(vd ^ va, 32);
+        vc = blaMka(vc, vd);
+        vb = Long.rotateRight(vb ^ vc, 24);
+        va = blaMka(va, vb);
+        vd = Long.rotateRight(vd ^ va, 16);
+        vc = blaMka(vc, vd);
+        vb = Long.rotateRight(vb ^ vc, 63);
+        v[a] = va;
+        v[b] = vb;
+        v[c] = vc;
+        v[d] = vd;
+
+    }
+
+    private static long blaMka(long x, long y) {
+        return x + y + 2 * (x & 0xFFFFFFFFL) * (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The variable-length hash function H'.
+     * @param input : the input
+     * @param output : receives the hash
+     * @param outputLength : the length of the hash in bytes
+     */
+    private static void hashLong(byte[] input, byte[] output, int outputLength) {
+
+        if (outputLength <= Blake2b.MAX_DIGEST_LENGTH) {
+            new Blake2b(outputLength).updateInt(outputLength).update(input).digest(output, 0);
+            return;
+        }
+
+        // Chain of 64 byte hashes, each contributing its first half
+        int half = Blake2b.MAX_DIGEST_LENGTH / 2;
+        int count = (outputLength + half - 1) / half - 2;
+        byte[] v = new Blake2b(Blake2b.MAX_DIGEST_LENGTH).updateInt(outputLength).update(input).digest();
+        System.arraycopy(v, 0, output, 0, half);
+        int position = half;
+        for (int i = 1; i < count; i++) {
+            v = Blake2b.hash(Blake2b.MAX_DIGEST_LENGTH, v);
+            System.arraycopy(v, 0, output, position, half);
+            position += half;
+        }
+        new Blake2b(outputLength - position).update(v).digest(output, position);
+        Arrays.fill(v, (byte)0);
+
+    }
+
+    private static void loadBlock(byte[] bytes, long[] memory, int offset) {
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            memory[offset + i] = buffer.getLong();
+        }
+
+    }
+
+    private static void storeBlock(long[] block, byte[] bytes) {
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < BLOCK_LONGS; i++) {
+            buffer.putLong(block[i]);
+        }
+
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+
+        bytes[offset] = (byte)value;
+        bytes[offset + 1] = (byte)(value >>> 8);
+        bytes[offset + 2] = (byte)(value >>> 16);
+        bytes[offset + 3] = (byte)(value >>> 24);
+
+    }
+
+}
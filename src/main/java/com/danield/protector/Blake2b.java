@@ -0,0 +1,200 @@
+package com.danield.protector;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Blake2b} class provides the BLAKE2b hash function (RFC 7693) with a variable digest length of 1 to 64 bytes.
+ * <p>
+ * Used by {@link Argon2}, which needs BLAKE2b with digest lengths the JDK does not offer.
+ * An instance is not thread-safe and can be used for one digest.
+ * @author Daniel D
+ * @version 0.1
+ */
+public class Blake2b {
+
+    /** Maximum digest length in bytes. */
+    public static final int MAX_DIGEST_LENGTH = 64;
+    private static final int BLOCK_LENGTH = 128;
+    private static final long[] IV = {
+        0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+        0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+    private static final byte[][] SIGMA = {
+        {  0,  1,  2,  3,  4,  5,  6,  7,  8,  9, 10, 11, 12, 13, 14, 15 },
+        { 14, 10,  4,  8,  9, 15, 13,  6,  1, 12,  0,  2, 11,  7,  5,  3 },
+        { 11,  8, 12,  0,  5,  2, 15, 13, 10, 14,  3,  6,  7,  1,  9,  4 },
+        {  7,  9,  3,  1, 13, 12, 11, 14,  2,  6,  5, 10,  4,  0, 15,  8 },
+        {  9,  0,  5,  7,  2,  4, 10, 15, 14,  1, 11, 12,  6,  8,  3, 13 },
+        {  2, 12,  6, 10,  0, 11,  8,  3,  4, 13,  7,  5, 15, 14,  1,  9 },
+        { 12,  5,  1, 15, 14, 13,  4, 10,  0,  7,  6,  3,  9,  2,  8, 11 },
+        { 13, 11,  7, 14, 12,  1,  3,  9,  5,  0, 15,  4,  8,  6,  2, 10 },
+        {  6, 15, 14,  9, 11,  3,  0,  8, 12,  2, 13,  7,  1,  4, 10,  5 },
+        { 10,  2,  8,  4,  7,  6,  1,  5, 15, 11,  9, 14,  3, 12, 13,  0 }
+    };
+
+    private final int digestLength;
+    private final long[] h = new long[8];
+    private final long[] v = new long[16];
+    private final long[] m = new long[16];
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+    private int bufferLength = 0;
+    private long counter = 0; // bytes compressed so far. messages longer than 2^63 bytes are not supported
+
+    /**
+     * @param digestLength : the digest length in bytes, from 1 to {@value #MAX_DIGEST_LENGTH}
+     * @throws IllegalArgumentException if the digest length is out of range
+     */
+    public Blake2b(int digestLength) {
+
+        if (digestLength < 1 || digestLength > MAX_DIGEST_LENGTH) {
+            throw new IllegalArgumentException(String.format("digest length must be between 1 and %d bytes.", MAX_DIGEST_LENGTH));
+        }
+        this.digestLength = digestLength;
+        System.arraycopy(IV, 0, h, 0, 8);
+        h[0] ^= 0x01010000L ^ digestLength; // parameter block: no key, fanout 1, depth 1
+
+    }
+
+    /**
+     * Hash data in one go.
+     * @param digestLength : the digest length in bytes
+     * @param data : the data
+     * @return the digest
+     */
+    public static byte[] hash(int digestLength, byte[] data) {
+
+        Blake2b blake2b = new Blake2b(digestLength);
+        blake2b.update(data, 0, data.length);
+        return blake2b.digest();
+
+    }
+
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Add data to the digest.
+     * @param data : the data
+     * @param offset : the offset of the data
+     * @param length : the length of the data
+     * @return this
+     */
+    public Blake2b update(byte[] data, int offset, int length) {
+
+        while (length > 0) {
+            if (bufferLength == BLOCK_LENGTH) { // only compress a full block once more data follows, the last block is compressed differently
+                counter += BLOCK_LENGTH;
+                compress(buffer, 0, false);
+                bufferLength = 0;
+            }
+            int count = Math.min(length, BLOCK_LENGTH - bufferLength);
+            System.arraycopy(data, offset, buffer, bufferLength, count);
+            bufferLength += count;
+            offset += count;
+            length -= count;
+        }
+        return this;
+
+    }
+
+    /**
+     * Add data to the digest.
+     * @param data : the data
+     * @return this
+     */
+    public Blake2b update(byte[] data) {
+        return update(data, 0, data.length);
+    }
+
+    /**
+     * Add an int to the digest, in little-endian byte order.
+     * @param value : the value
+     * @return this
+     */
+    public Blake2b updateInt(int value) {
+        return update(new byte[] { (byte)value, (byte)(value >>> 8), (byte)(value >>> 16), (byte)(value >>> 24) }, 0, Integer.BYTES);
+    }
+
+    /**
+     * Finish the digest.
+     * @param output : receives the digest
+     * @param offset : the offset in the output
+     */
+    public void digest(byte[] output, int offset) {
+
+        counter += bufferLength;
+        Arrays.fill(buffer, bufferLength, BLOCK_LENGTH, (byte)0);
+        compress(buffer, 0, true);
+        for (int i = 0; i < digestLength; i++) {
+            output[offset + i] = (byte)(h[i >>> 3] >>> (8 * (i & 7)));
+        }
+
+    }
+
+    /**
+     * Finish the digest.
+     * @return the digest
+     */
+    public byte[] digest() {
+
+        byte[] output = new byte[digestLength];
+        digest(output, 0);
+        return output;
+
+    }
+
+    private void compress(byte[] block, int offset, boolean isLast) {
+
+        for (int i = 0; i < 16; i++) {
+            m[i] = readLong(block, offset + i * 8);
+        }
+        System.arraycopy(h, 0, v, 0, 8);
+        System.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= counter;
+        if (isLast) {
+            v[14] = ~v[14];
+        }
+
+        for (int round = 0; round < 12; round++) {
+            byte[] s = SIGMA[round % 10];
+            mix(0, 4,  8, 12, m[s[0]],  m[s[1]]);
+            mix(1, 5,  9, 13, m[s[2]],  m[s[3]]);
+            mix(2, 6, 10, 14, m[s[4]],  m[s[5]]);
+            mix(3, 7, 11, 15, m[s[6]],  m[s[7]]);
+            mix(0, 5, 10, 15, m[s[8]],  m[s[9]]);
+            mix(1, 6, 11, 12, m[s[10]], m[s[11]]);
+            mix(2, 7,  8, 13, m[s[12]], m[s[13]]);
+            mix(3, 4,  9, 14, m[s[14]], m[s[15]]);
+        }
+
+        for (int i = 0; i < 8; i++) {
+            h[i] ^= v[i] ^ v[i + 8];
+        }
+
+    }
+
+    private void mix(int a, int b, int c, int d, long x, long y) {
+
+        v[a] = v[a] + v[b] + x;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = v[a] + v[b] + y;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+
+    }
+
+    private static long readLong(byte[] data, int offset) {
+
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+
+    }
+
+}
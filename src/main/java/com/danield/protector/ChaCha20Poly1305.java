@@ -0,0 +1,131 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+/**
+ * ChaCha20-Poly1305 (RFC 8439), see {@link CipherSuite#CHACHA20_POLY1305}.
+ * <p>
+ * Accepts any raw 256 bit key, so the keys derived for {@link AES} can be used as well.
+ * @author Daniel D
+ * @version 0.1
+ */
+class ChaCha20Poly1305 implements CipherSuite {
+
+    private static final byte ID = 2;
+    private static final String TRANSFORMATION_STRING = "ChaCha20-Poly1305";
+    private static final int NONCE_BYTE_LENGTH = 12;
+    private static final int TAG_BYTE_LENGTH = 16;
+    /** Cipher and nonce per thread, so a new cipher is not looked up on every call. */
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(ChaCha20Poly1305::newCipher);
+    private static final ThreadLocal<byte[]> NONCE = ThreadLocal.withInitial(() -> new byte[NONCE_BYTE_LENGTH]);
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    /**
+     * Create a cipher for the {@link #CIPHER} cache.
+     * @return the cipher
+     * @throws IllegalStateException if ChaCha20-Poly1305 is not supported
+     */
+    private static Cipher newCipher() {
+
+        try {
+            return Cipher.getInstance(TRANSFORMATION_STRING);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException(String.format("transformation \"%s\" not supported.", TRANSFORMATION_STRING), e);
+        }
+
+    }
+
+    /**
+     * Initialize the cipher of the current thread.
+     * <p>
+     * The JDK refuses to initialize a ChaCha20 cipher with the key and nonce of its previous initialization,
+     * even for decryption (e.g. a message that was just encrypted, or the same message twice). The cached cipher gets replaced then.
+     * @param mode : {@code Cipher.ENCRYPT_MODE} or {@code Cipher.DECRYPT_MODE}
+     * @param secretKey : the key
+     * @param nonce : the nonce
+     * @return the cipher
+     * @throws InvalidKeyException if the key is not a raw 256 bit key
+     * @throws Exception
+     */
+    private static Cipher initCipher(int mode, SecretKey secretKey, byte[] nonce) throws Exception {
+
+        Cipher cipher = CIPHER.get();
+        try {
+            cipher.init(mode, secretKey, new IvParameterSpec(nonce));
+        }
+        catch (InvalidKeyException e) {
+            cipher = newCipher();
+            CIPHER.set(cipher);
+            cipher.init(mode, secretKey, new IvParameterSpec(nonce));
+        }
+        return cipher;
+
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public String getName() {
+        return "ChaCha20-Poly1305";
+    }
+
+    @Override
+    public int encrypt(ByteBuffer plainData, ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+        byte[] nonce = NONCE.get();
+        RANDOM.get().nextBytes(nonce);
+
+        Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, secretKey, nonce);
+        if (additionalAuthenticationData != null) {
+            cipher.updateAAD(additionalAuthenticationData);
+        }
+
+        // "nonce" followed by "cipherData"
+        int start = cipherData.position();
+        cipherData.put(nonce);
+        cipher.doFinal(plainData, cipherData);
+        return cipherData.position() - start;
+
+    }
+
+    @Override
+    public int decrypt(ByteBuffer cipherData, ByteBuffer plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+        byte[] nonce = NONCE.get();
+        cipherData.get(nonce);
+
+        Cipher cipher = initCipher(Cipher.DECRYPT_MODE, secretKey, nonce);
+        if (additionalAuthenticationData != null) {
+            cipher.updateAAD(additionalAuthenticationData);
+        }
+        return cipher.doFinal(cipherData, plainData);
+
+    }
+
+    @Override
+    public int getCipherByteLength(int plainByteLength) {
+        return NONCE_BYTE_LENGTH + plainByteLength + TAG_BYTE_LENGTH;
+    }
+
+    @Override
+    public int getPlainByteLength(int cipherByteLength) {
+        return cipherByteLength - NONCE_BYTE_LENGTH - TAG_BYTE_LENGTH;
+    }
+
+    @Override
+    public int getTagByteLength() {
+        return TAG_BYTE_LENGTH;
+    }
+
+}
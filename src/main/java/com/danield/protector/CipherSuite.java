@@ -0,0 +1,235 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The {@code CipherSuite} interface represents an authenticated encryption algorithm with a 256 bit key.
+ * <p>
+ * Implementations: {@link #AES_GCM}, {@link #CHACHA20_POLY1305}. Both use a random 96 bit nonce and a 128 bit tag,
+ * an encrypted message is made of NONCE (12 bytes) , ENCRYPTED DATA , TAG (16 bytes).
+ * AES-GCM is faster on CPUs with AES instructions, ChaCha20-Poly1305 on CPUs without them (e.g. many ARM devices),
+ * see {@link #fastest(long)}.
+ * @author Daniel D
+ * @version 0.1
+ */
+public interface CipherSuite {
+
+    CipherSuite AES_GCM = new AESGCM();
+    CipherSuite CHACHA20_POLY1305 = new ChaCha20Poly1305();
+
+    /**
+     * Get the cipher suite with the given id.
+     * @param id : the id, see {@link #getId()}
+     * @return the cipher suite
+     * @throws NoSuchAlgorithmException if there is no cipher suite with this id
+     */
+    static CipherSuite of(byte id) throws NoSuchAlgorithmException {
+
+        for (CipherSuite cipherSuite : values()) {
+            if (cipherSuite.getId() == id) {
+                return cipherSuite;
+            }
+        }
+        throw new NoSuchAlgorithmException(String.format("unsupported cipher suite \"%d\".", id));
+
+    }
+
+    /**
+     * @return all cipher suites
+     */
+    static CipherSuite[] values() {
+        return new CipherSuite[] { AES_GCM, CHACHA20_POLY1305 };
+    }
+
+    /**
+     * Find the cipher suite that en- and decrypts fastest on this machine.
+     * <p>
+     * If the Java runtime reports that it uses the AES instructions of the CPU, AES-GCM is returned right away:
+     * the JIT compiler only switches to these instructions after a few thousand messages, which a short measurement would not see.
+     * Otherwise the suites get measured in turns, so each of them gets the same time to be optimized, and the result should be reused.
+     * Suites that are not supported by the Java runtime are skipped.
+     * @param budgetMillis : the time the measurement may take in milliseconds
+     * @return the fastest cipher suite
+     */
+    static CipherSuite fastest(long budgetMillis) {
+
+        if (isAESAccelerated()) {
+            return AES_GCM;
+        }
+
+        CipherSuite[] cipherSuites = values();
+        long[] fastestNanos = new long[cipherSuites.length];
+        Arrays.fill(fastestNanos, Long.MAX_VALUE);
+        long end = System.nanoTime() + budgetMillis * 1_000_000;
+        do {
+            for (int i = 0; i < cipherSuites.length; i++) {
+                if (cipherSuites[i] == null) {
+                    continue;
+                }
+                try {
+                    fastestNanos[i] = Math.min(fastestNanos[i], cipherSuites[i].measure(0));
+                }
+                catch (Exception e) {
+                    e.printStackTrace();
+                    cipherSuites[i] = null; // not supported
+                }
+            }
+        }
+        while (System.nanoTime() < end);
+
+        int fastest = 0; // AES-GCM, unless it is not supported
+        for (int i = 1; i < cipherSuites.length; i++) {
+            if (cipherSuites[i] != null && fastestNanos[i] < fastestNanos[fastest]) {
+                fastest = i;
+            }
+        }
+        return values()[fastest];
+
+    }
+
+    /**
+     * Check whether the Java runtime uses the AES instructions of the CPU (HotSpot option {@code UseAES}).
+     * @return {@code true} if it does, {@code false} if it does not or does not tell
+     */
+    private static boolean isAESAccelerated() {
+        return VMOptions.isEnabled("UseAES");
+    }
+
+    /**
+     * @return the id that identifies the suite in stored data. never changes.
+     */
+    byte getId();
+
+    /**
+     * @return the name of the suite, e.g. "AES-GCM"
+     */
+    String getName();
+
+    /**
+     * Encrypt data from one buffer into another.
+     * <p>
+     * Uses a cipher cached per thread and does not allocate any buffers.
+     * @param plainData : the data from its position to its limit. the position gets moved to the limit.
+     * @param cipherData : receives the encrypted data at its position, {@link #getCipherByteLength(int)} bytes have to be remaining.
+     * the position gets moved behind the encrypted data. should not share its array with the data.
+     * @param secretKey : the key which the data should be encrypted with.
+     * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @return the number of bytes written
+     * @throws Exception
+     */
+    int encrypt(ByteBuffer plainData, ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception;
+
+    /**
+     * Decrypt data from one buffer into another.
+     * <p>
+     * Uses a cipher cached per thread and does not allocate any buffers.
+     * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit. may be a direct buffer (e.g. a {@code MappedByteBuffer}).
+     * @param plainData : receives the decrypted data at its position, {@link #getPlainByteLength(int)} bytes have to be remaining.
+     * the position gets moved behind the decrypted data. should not share its array with the encrypted data.
+     * @param secretKey : the key which the data was encrypted with.
+     * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @return the number of bytes written
+     * @throws Exception
+     */
+    int decrypt(ByteBuffer cipherData, ByteBuffer plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception;
+
+    /**
+     * Encrypt data.
+     * @param plainData : the data.
+     * @param secretKey : the key which the data should be encrypted with.
+     * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @return the encrypted data
+     * @throws Exception
+     */
+    default byte[] encrypt(byte[] plainData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+        byte[] cipherData = new byte[getCipherByteLength(plainData.length)];
+        encrypt(ByteBuffer.wrap(plainData), ByteBuffer.wrap(cipherData), secretKey, additionalAuthenticationData);
+        return cipherData;
+
+    }
+
+    /**
+     * Decrypt data.
+     * @param cipherData : the encrypted data.
+     * @param secretKey : the key which the data was encrypted with.
+     * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @return the decrypted data
+     * @throws Exception
+     */
+    default byte[] decrypt(byte[] cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+        byte[] plainData = new byte[Math.max(0, getPlainByteLength(cipherData.length))];
+        decrypt(ByteBuffer.wrap(cipherData), ByteBuffer.wrap(plainData), secretKey, additionalAuthenticationData);
+        return plainData;
+
+    }
+
+    /**
+     * Decrypt data straight from a buffer (e.g. a {@code MappedByteBuffer}), so it does not have to be copied onto the heap first.
+     * @param cipherData : the encrypted data from its position to its limit. the position gets moved to the limit.
+     * @param secretKey : the key which the data was encrypted with.
+     * @param additionalAuthenticationData : is optional. if you don't want to use it pass {@code null} as argument.
+     * @return a buffer containing the decrypted data, ready to be read from
+     * @throws Exception
+     */
+    default ByteBuffer decrypt(ByteBuffer cipherData, SecretKey secretKey, byte[] additionalAuthenticationData) throws Exception {
+
+        ByteBuffer plainData = ByteBuffer.allocate(Math.max(0, getPlainByteLength(cipherData.remaining())));
+        decrypt(cipherData, plainData, secretKey, additionalAuthenticationData);
+        return plainData.flip();
+
+    }
+
+    /**
+     * Get the length of the data {@link #encrypt(ByteBuffer, ByteBuffer, SecretKey, byte[])} produces.
+     * @param plainByteLength : the length of the data in bytes
+     * @return the length of the encrypted data in bytes
+     */
+    int getCipherByteLength(int plainByteLength);
+
+    /**
+     * Get the length of the data {@link #decrypt(ByteBuffer, ByteBuffer, SecretKey, byte[])} produces.
+     * @param cipherByteLength : the length of the encrypted data in bytes
+     * @return the length of the decrypted data in bytes. negative if the encrypted data is too short.
+     */
+    int getPlainByteLength(int cipherByteLength);
+
+    /**
+     * @return the length of the authentication tag at the end of every encrypted message in bytes
+     */
+    int getTagByteLength();
+
+    /**
+     * Measure how long en- and decrypting a 16 KiB message (about one compressed segment) takes on this machine.
+     * <p>
+     * The message is en- and decrypted repeatedly within the budget (at least once) and the fastest run is returned,
+     * so the first runs, which are slowed down until the JIT compiler has optimized the code, do not count.
+     * @param budgetMillis : the time the measurement may take in milliseconds
+     * @return the duration of the fastest run in nanoseconds
+     * @throws Exception if the suite is not supported by the Java runtime
+     */
+    default long measure(long budgetMillis) throws Exception {
+
+        SecretKey secretKey = new SecretKeySpec(new byte[32], "AES");
+        ByteBuffer plainData = ByteBuffer.allocate(16 * 1024);
+        ByteBuffer cipherData = ByteBuffer.allocate(getCipherByteLength(plainData.capacity()));
+        long end = System.nanoTime() + budgetMillis * 1_000_000;
+        long fastest = Long.MAX_VALUE;
+        do {
+            long start = System.nanoTime();
+            encrypt(plainData.clear(), cipherData.clear(), secretKey, null);
+            decrypt(cipherData.flip(), plainData.clear(), secretKey, null);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        while (System.nanoTime() < end);
+        return fastest;
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.danield.protector;
+
+/**
+ * The {@code KDF} interface represents a password-based key derivation function together with its cost parameters.
+ * <p>
+ * Implementations: {@link PBKDF2}, {@link Argon2}.
+ * @author Daniel D
+ * @version 0.1
+ */
+public interface KDF {
+
+    /**
+     * Derive key material from a password. The password array is not changed.
+     * @param password : the password
+     * @param salt : the salt. should be random and unique per file
+     * @param keyByteLength : the length of the key material in bytes
+     * @return the key material
+     * @throws Exception if the key can not be derived
+     */
+    byte[] derive(char[] password, byte[] salt, int keyByteLength) throws Exception;
+
+    /**
+     * Measure how long one key derivation takes on this machine.
+     * <p>
+     * The first runs are slowed down until the JIT compiler has optimized the code,
+     * so the derivation is repeated within the budget (at least once) and the fastest run is returned.
+     * @param budgetMillis : the time the measurement may take in milliseconds
+     * @return the duration of the fastest run in nanoseconds
+     * @throws Exception if the key can not be derived
+     */
+    default long measure(long budgetMillis) throws Exception {
+
+        char[] password = "calibration".toCharArray();
+        byte[] salt = new byte[16];
+        long end = System.nanoTime() + budgetMillis * 1_000_000;
+        long fastest = Long.MAX_VALUE;
+        do {
+            long start = System.nanoTime();
+            derive(password, salt, 32);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        while (System.nanoTime() < end);
+        return fastest;
+
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code MerkleTree} class provides a binary SHA-256 hash tree over a list of data blocks (e.g. the segments of a vault file).
+ * <p>
+ * The root hash commits to all blocks, but replacing one block only hashes that block and the nodes on its path to the root.
+ * Two trees can be {@link #diff(MerkleTree) compared} by descending only into the subtrees whose hashes differ.
+ * <p>
+ * LEAF = SHA-256( 0x00 , BLOCK ). NODE = SHA-256( 0x01 , LEFT , RIGHT ), a node without right child is its left child.
+ * The root of an empty tree is SHA-256 of nothing.
+ * <p>
+ * An instance is not thread-safe.
+ * @author Daniel D
+ * @version 0.1
+ */
+public class MerkleTree {
+
+    /** Length of every hash in the tree in bytes. */
+    public static final int HASH_BYTE_LENGTH = SHA.SHA256_BYTE_LENGTH;
+    private static final byte LEAF_PREFIX = 0;
+    private static final byte NODE_PREFIX = 1;
+
+    private byte[][][] levels; // levels[0] are the leaves, levels[levels.length - 1] is the root. null marks a node that has to be hashed again
+    private final SHA.Hasher hasher = SHA.newSHA256();
+
+    /**
+     * Create an empty tree.
+     */
+    public MerkleTree() {
+        this.levels = allocateLevels(0);
+    }
+
+    /**
+     * Create a tree from hashed leaves.
+     * @param leaves : the leaf hashes, see {@link #hashLeaf(ByteBuffer)}
+     */
+    public MerkleTree(byte[][] leaves) {
+
+        this.levels = allocateLevels(leaves.length);
+        for (int i = 0; i < leaves.length; i++) {
+            levels[0][i] = checkHash(leaves[i]).clone();
+        }
+
+    }
+
+    /**
+     * Hash one block of data into a leaf.
+     * @param data : the data from its position to its limit. the position of the buffer is not changed.
+     * @return the leaf hash
+     */
+    public static byte[] hashLeaf(ByteBuffer data) {
+        return SHA.newSHA256().update(LEAF_PREFIX).update(data).digest();
+    }
+
+    /**
+     * Hash blocks of data into leaves on several threads.
+     * @param data : the blocks, each from its position to its limit. the positions of the buffers are not changed.
+     * @param parallelism : the number of threads, {@code 1} hashes on the calling thread
+     * @return the leaf hashes in order
+     * @throws InterruptedException if the calling thread gets interrupted while waiting
+     */
+    public static byte[][] hashLeaves(List<ByteBuffer> data, int parallelism) throws InterruptedException {
+
+        byte[][] leaves = new byte[data.size()][];
+        if (parallelism <= 1 || data.size() <= 1) {
+            for (int i = 0; i < leaves.length; i++) {
+                leaves[i] = hashLeaf(data.get(i));
+            }
+            return leaves;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, leaves.length).parallel()
+                .forEach(i -> leaves[i] = hashLeaf(data.get(i).duplicate()))).get();
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        finally {
+            pool.shutdown();
+        }
+        return leaves;
+
+    }
+
+    /**
+     * @return the number of leaves
+     */
+    public int size() {
+        return levels[0].length;
+    }
+
+    /**
+     * Get a leaf hash.
+     * @param index : the index of the leaf
+     * @return the leaf hash, {@code null} if it has not been set after {@link #resize(int)}
+     */
+    public byte[] getLeaf(int index) {
+
+        byte[] leaf = levels[0][index];
+        return leaf == null ? null : leaf.clone();
+
+    }
+
+    /**
+     * Replace a leaf. The nodes on its path get hashed again on the next {@link #getRoot()}.
+     * @param index : the index of the leaf
+     * @param leaf : the leaf hash, see {@link #hashLeaf(ByteBuffer)}
+     */
+    public void setLeaf(int index, byte[] leaf) {
+
+        byte[] hash = checkHash(leaf);
+        if (Arrays.equals(levels[0][index], hash)) {
+            return;
+        }
+        levels[0][index] = hash.clone();
+        for (int level = 1; level < levels.length; level++) {
+            index >>>= 1;
+            levels[level][index] = null;
+        }
+
+    }
+
+    /**
+     * Change the number of leaves. Existing leaves keep their hashes, new leaves have to be {@link #setLeaf(int, byte[]) set} before the root can be computed.
+     * <p>
+     * Only the nodes whose leaves changed get hashed again.
+     * @param size : the number of leaves
+     */
+    public void resize(int size) {
+
+        int keep = Math.min(size, size());
+        byte[][][] resized = allocateLevels(size);
+        for (int level = 0; level < resized.length && level < levels.length; level++) {
+            int complete = keep >>> level; // nodes whose leaves are all kept
+            System.arraycopy(levels[level], 0, resized[level], 0, Math.min(complete, resized[level].length));
+        }
+        this.levels = resized;
+
+    }
+
+    /**
+     * Get the root hash. Nodes whose leaves changed get hashed again.
+     * @return the root hash
+     * @throws IllegalStateException if a leaf has not been set
+     */
+    public byte[] getRoot() {
+
+        if (size() == 0) {
+            return hasher.digest();
+        }
+        for (int i = 0; i < size(); i++) {
+            if (levels[0][i] == null) {
+                throw new IllegalStateException(String.format("leaf %d has not been set.", i));
+            }
+        }
+        for (int level = 1; level < levels.length; level++) {
+            byte[][] children = levels[level - 1];
+            byte[][] nodes = levels[level];
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] == null) {
+                    int left = 2 * i;
+                    nodes[i] = left + 1 < children.length ? hasher.update(NODE_PREFIX).update(children[left]).update(children[left + 1]).digest() : children[left];
+                }
+            }
+        }
+        return levels[levels.length - 1][0].clone();
+
+    }
+
+    /**
+     * Find the leaves that differ from another tree, e.g. the segments that changed between two versions of a file.
+     * <p>
+     * Only subtrees whose hashes differ are visited, so the cost grows with the number of changed leaves, not with the size of the trees.
+     * Leaves that only exist in one of the trees count as different.
+     * @param other : the other tree
+     * @return the indices of the different leaves in ascending order
+     * @throws IllegalStateException if a leaf of either tree has not been set
+     */
+    public List<Integer> diff(MerkleTree other) {
+
+        getRoot();
+        other.getRoot();
+        ArrayList<Integer> indices = new ArrayList<Integer>();
+        int top = Math.max(levels.length, other.levels.length) - 1;
+        diff(other, top, 0, indices);
+        return indices;
+
+    }
+
+    /**
+     * Collect the different leaves below one node.
+     * @param other : the other tree
+     * @param level : the level of the node
+     * @param index : the index of the node in its level
+     * @param indices : receives the indices of the different leaves
+     */
+    private void diff(MerkleTree other, int level, int index, List<Integer> indices) {
+
+        byte[] node = getNode(level, index);
+        byte[] otherNode = other.getNode(level, index);
+        if (node == null && otherNode == null) {
+            return;
+        }
+        if (node != null && otherNode != null && Arrays.equals(node, otherNode) && coverage(level, index) == other.coverage(level, index)) {
+            return;
+        }
+        if (level == 0) {
+            indices.add(index);
+            return;
+        }
+        diff(other, level - 1, 2 * index, indices);
+        diff(other, level - 1, 2 * index + 1, indices);
+
+    }
+
+    /**
+     * @param level : the level of the node
+     * @param index : the index of the node in its level
+     * @return the hash of the node, {@code null} if the tree has no such node
+     */
+    private byte[] getNode(int level, int index) {
+        return level < levels.length && index < levels[level].length ? levels[level][index] : null;
+    }
+
+    /**
+     * @param level : the level of the node
+     * @param index : the index of the node in its level
+     * @return the number of leaves below the node
+     */
+    private int coverage(int level, int index) {
+
+        long first = (long)index << level;
+        return (int)Math.max(0, Math.min(size(), first + (1L << level)) - first);
+
+    }
+
+    /**
+     * Allocate the levels of a tree.
+     * @param size : the number of leaves
+     * @return the levels, all nodes {@code null}
+     */
+    private static byte[][][] allocateLevels(int size) {
+
+        ArrayList<byte[][]> levels = new ArrayList<byte[][]>();
+        int count = size;
+        levels.add(new byte[count][]);
+        while (count > 1) {
+            count = (count + 1) / 2;
+            levels.add(new byte[count][]);
+        }
+        return levels.toArray(new byte[0][][]);
+
+    }
+
+    /**
+     * @param hash : the hash
+     * @return the hash
+     * @throws IllegalArgumentException if the hash does not have {@value #HASH_BYTE_LENGTH} bytes
+     */
+    private static byte[] checkHash(byte[] hash) {
+
+        if (hash == null || hash.length != HASH_BYTE_LENGTH) {
+            throw new IllegalArgumentException(String.format("hash must have %d bytes.", HASH_BYTE_LENGTH));
+        }
+        return hash;
+
+    }
+
+}
@@ -0,0 +1,382 @@
+package com.danield.protector;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * The {@code PBKDF2} class provides the PBKDF2-HMAC-SHA256 key derivation function (RFC 8018).
+ * <p>
+ * The JDK's {@code PBKDF2WithHmacSHA256} runs every iteration through the generic {@code Mac} plumbing,
+ * which hashes both padded keys again, so an iteration costs four SHA-256 compressions. Here the inner and outer HMAC states
+ * are computed once per derivation, an iteration then costs exactly two compressions:
+ * <p>
+ * If the Java runtime compresses SHA-256 with CPU instructions (HotSpot option {@code UseSHA}), the iterations
+ * continue copies of two prepared {@code MessageDigest}s, so they keep using those instructions.
+ * Otherwise they run an allocation-free SHA-256 on int arrays, which is faster than the JDK's plain Java SHA-256.
+ * <p>
+ * The results are the same as the JDK's, the password is encoded as UTF-8. {@link #calibrate(long)} turns the speedup
+ * into a higher iteration count at the same unlock time.
+ * @author Daniel D
+ * @version 0.2
+ */
+public class PBKDF2 implements KDF {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final boolean IS_SHA256_ACCELERATED = VMOptions.isEnabled("UseSHA");
+    private static final int BLOCK_BYTE_LENGTH = 64;
+    private static final int HASH_BYTE_LENGTH = 32;
+    private static final int[] IV = {
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+    private static final int[] K = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+        0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+        0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+        0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+        0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+    };
+    /** Lower bound of {@link #calibrate(long)}. */
+    public static final int MIN_ITERATION_COUNT = 100000;
+    /** Minimum duration of the run {@link #calibrate(long)} extrapolates from. */
+    private static final long CALIBRATION_NANOS = 50_000_000;
+    private static final long CALIBRATION_BUDGET_MILLIS = 1000;
+
+    private final int iterationCount;
+
+    /**
+     * @param iterationCount : the iteration count
+     * @throws IllegalArgumentException if the iteration count is not positive
+     */
+    public PBKDF2(int iterationCount) {
+
+        if (iterationCount <= 0) {
+            throw new IllegalArgumentException("iteration count must be positive.");
+        }
+        this.iterationCount = iterationCount;
+
+    }
+
+    /**
+     * Find the iteration count at which a key derivation takes about the given time on this machine.
+     * <p>
+     * The result is never lower than {@value #MIN_ITERATION_COUNT}, even if the machine is slower.
+     * The calibration itself takes about a second, so the result should be reused.
+     * @param targetMillis : the time one key derivation should take in milliseconds
+     * @return the calibrated key derivation function
+     * @throws Exception if the key can not be derived
+     */
+    public static PBKDF2 calibrate(long targetMillis) throws Exception {
+
+        // Increase the iteration count until one run is long enough to be meaningful
+        int iterationCount = 1000;
+        while (new PBKDF2(iterationCount).measure(0) < CALIBRATION_NANOS && iterationCount < Integer.MAX_VALUE / 2) {
+            iterationCount *= 2;
+        }
+        long elapsedNanos = new PBKDF2(iterationCount).measure(CALIBRATION_BUDGET_MILLIS);
+
+        double iterationsPerMilli = iterationCount / (elapsedNanos / 1_000_000d);
+        long calibrated = Math.round(iterationsPerMilli * targetMillis / 1000d) * 1000;
+        return new PBKDF2((int)Math.max(MIN_ITERATION_COUNT, Math.min(calibrated, Integer.MAX_VALUE - 1000)));
+
+    }
+
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    @Override
+    public byte[] derive(char[] password, byte[] salt, int keyByteLength) throws Exception {
+        return derive(password, salt, iterationCount, keyByteLength);
+    }
+
+    /**
+     * Derive key material with PBKDF2-HMAC-SHA256. The password array is not changed.
+     * @param password : the password, encoded as UTF-8
+     * @param salt : the salt
+     * @param iterationCount : the iteration count
+     * @param keyByteLength : the length of the key material in bytes
+     * @return the key material
+     * @throws IllegalArgumentException if the iteration count or the key length is not positive
+     * @throws Exception if the key can not be derived
+     */
+    public static byte[] derive(char[] password, byte[] salt, int iterationCount, int keyByteLength) throws Exception {
+
+        if (iterationCount <= 0 || keyByteLength <= 0) {
+            throw new IllegalArgumentException("iteration count and key length must be positive.");
+        }
+
+        // HMAC key pads
+        int[] w = new int[64]; // message schedule, the first 16 words are the block
+        byte[] key = encode(password);
+        if (key.length > BLOCK_BYTE_LENGTH) {
+            byte[] hash = hash(IV, new byte[0], key, 0, w);
+            Arrays.fill(key, (byte)0);
+            key = hash;
+        }
+        byte[] innerPad = new byte[BLOCK_BYTE_LENGTH];
+        byte[] outerPad = new byte[BLOCK_BYTE_LENGTH];
+        for (int i = 0; i < BLOCK_BYTE_LENGTH; i++) {
+            byte b = i < key.length ? key[i] : 0;
+            innerPad[i] = (byte)(b ^ 0x36);
+            outerPad[i] = (byte)(b ^ 0x5c);
+        }
+        Arrays.fill(key, (byte)0);
+
+        byte[] derived = new byte[keyByteLength];
+        try {
+            if (IS_SHA256_ACCELERATED) {
+                deriveWithDigests(innerPad, outerPad, salt, iterationCount, derived);
+            }
+            else {
+                deriveWithInts(innerPad, outerPad, salt, iterationCount, derived, w);
+            }
+            return derived;
+        }
+        finally {
+            Arrays.fill(innerPad, (byte)0);
+            Arrays.fill(outerPad, (byte)0);
+            Arrays.fill(w, 0);
+        }
+
+    }
+
+    /**
+     * Run the iterations on copies of two {@code MessageDigest}s that have hashed the key pads, so the runtime's SHA-256 instructions are used.
+     * @param innerPad : the inner key pad
+     * @param outerPad : the outer key pad
+     * @param salt : the salt
+     * @param iterationCount : the iteration count
+     * @param derived : receives the key material
+     * @throws Exception if the digest is not available or can not be copied
+     */
+    private static void deriveWithDigests(byte[] innerPad, byte[] outerPad, byte[] salt, int iterationCount, byte[] derived) throws Exception {
+
+        MessageDigest innerDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        MessageDigest outerDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        innerDigest.update(innerPad);
+        outerDigest.update(outerPad);
+        byte[] u = new byte[HASH_BYTE_LENGTH];
+        byte[] t = new byte[HASH_BYTE_LENGTH];
+
+        try {
+            for (int block = 1, offset = 0; offset < derived.length; block++, offset += HASH_BYTE_LENGTH) {
+
+                // U1 = HMAC(password, salt || block)
+                MessageDigest digest = (MessageDigest)innerDigest.clone();
+                digest.update(salt);
+                digest.update(ByteBuffer.allocate(4).putInt(block).array());
+                digest.digest(u, 0, HASH_BYTE_LENGTH);
+                digest = (MessageDigest)outerDigest.clone();
+                digest.update(u);
+                digest.digest(u, 0, HASH_BYTE_LENGTH);
+                System.arraycopy(u, 0, t, 0, HASH_BYTE_LENGTH);
+
+                // Un = HMAC(password, Un-1)
+                for (int i = 1; i < iterationCount; i++) {
+                    digest = (MessageDigest)innerDigest.clone();
+                    digest.update(u);
+                    digest.digest(u, 0, HASH_BYTE_LENGTH);
+                    digest = (MessageDigest)outerDigest.clone();
+                    digest.update(u);
+                    digest.digest(u, 0, HASH_BYTE_LENGTH);
+                    for (int j = 0; j < HASH_BYTE_LENGTH; j++) {
+                        t[j] ^= u[j];
+                    }
+                }
+
+                System.arraycopy(t, 0, derived, offset, Math.min(HASH_BYTE_LENGTH, derived.length - offset));
+            }
+        }
+        finally {
+            innerDigest.reset();
+            outerDigest.reset();
+            Arrays.fill(u, (byte)0);
+            Arrays.fill(t, (byte)0);
+        }
+
+    }
+
+    /**
+     * Run the iterations on int arrays, without allocation.
+     * @param innerPad : the inner key pad
+     * @param outerPad : the outer key pad
+     * @param salt : the salt
+     * @param iterationCount : the iteration count
+     * @param derived : receives the key material
+     * @param w : the message schedule to work in
+     */
+    private static void deriveWithInts(byte[] innerPad, byte[] outerPad, byte[] salt, int iterationCount, byte[] derived, int[] w) {
+
+        int[] innerState = IV.clone();
+        int[] outerState = IV.clone();
+        int[] state = new int[8];
+        int[] u = new int[8];
+        int[] t = new int[8];
+        compress(innerState, innerPad, 0, w);
+        compress(outerState, outerPad, 0, w);
+
+        try {
+            for (int block = 1, offset = 0; offset < derived.length; block++, offset += HASH_BYTE_LENGTH) {
+
+                // U1 = HMAC(password, salt || block)
+                byte[] innerHash = hash(innerState, salt, ByteBuffer.allocate(4).putInt(block).array(), BLOCK_BYTE_LENGTH, w);
+                ByteBuffer.wrap(innerHash).asIntBuffer().get(state);
+                Arrays.fill(innerHash, (byte)0);
+                finish(outerState, state, u, w);
+                System.arraycopy(u, 0, t, 0, 8);
+
+                // Un = HMAC(password, Un-1), the message is always one hash long
+                for (int i = 1; i < iterationCount; i++) {
+                    finish(innerState, u, state, w);
+                    finish(outerState, state, u, w);
+                    for (int j = 0; j < 8; j++) {
+                        t[j] ^= u[j];
+                    }
+                }
+
+                for (int i = 0; i < HASH_BYTE_LENGTH && offset + i < derived.length; i++) {
+                    derived[offset + i] = (byte)(t[i >>> 2] >>> (24 - 8 * (i & 3)));
+                }
+            }
+        }
+        finally {
+            for (int[] array : new int[][] { innerState, outerState, state, u, t }) {
+                Arrays.fill(array, 0);
+            }
+        }
+
+    }
+
+    /**
+     * Encode the password as UTF-8, like the JDK's {@code PBKDF2WithHmacSHA256}.
+     * @param password : the password
+     * @return the encoded password
+     */
+    private static byte[] encode(char[] password) {
+
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] key = new byte[encoded.remaining()];
+        encoded.get(key);
+        if (encoded.hasArray()) {
+            Arrays.fill(encoded.array(), (byte)0);
+        }
+        return key;
+
+    }
+
+    /**
+     * Finish a HMAC whose message is one hash: hash the message on top of a precomputed pad state.
+     * @param padState : the state after the inner or outer key pad
+     * @param message : the message, 8 words
+     * @param result : receives the hash, 8 words. must not be {@code message}
+     * @param w : the message schedule to work in
+     */
+    private static void finish(int[] padState, int[] message, int[] result, int[] w) {
+
+        System.arraycopy(padState, 0, result, 0, 8);
+        System.arraycopy(message, 0, w, 0, 8);
+        w[8] = 0x80000000;
+        Arrays.fill(w, 9, 15, 0);
+        w[15] = (BLOCK_BYTE_LENGTH + HASH_BYTE_LENGTH) * 8;
+        compress(result, w);
+
+    }
+
+    /**
+     * Hash a message of any length on top of a state. Not used in the iteration loop, so it may allocate.
+     * @param initialState : the state to start from, not changed
+     * @param first : the first part of the message
+     * @param second : the second part of the message
+     * @param hashedByteLength : the number of bytes the state already contains
+     * @param w : the message schedule to work in
+     * @return the hash
+     */
+    private static byte[] hash(int[] initialState, byte[] first, byte[] second, int hashedByteLength, int[] w) {
+
+        int length = first.length + second.length;
+        byte[] message = new byte[(length + 8) / BLOCK_BYTE_LENGTH * BLOCK_BYTE_LENGTH + BLOCK_BYTE_LENGTH];
+        System.arraycopy(first, 0, message, 0, first.length);
+        System.arraycopy(second, 0, message, first.length, second.length);
+        message[length] = (byte)0x80;
+        ByteBuffer.wrap(message).putLong(message.length - 8, (hashedByteLength + (long)length) * 8);
+
+        int[] state = initialState.clone();
+        for (int offset = 0; offset < message.length; offset += BLOCK_BYTE_LENGTH) {
+            compress(state, message, offset, w);
+        }
+        Arrays.fill(message, (byte)0);
+
+        byte[] hash = new byte[HASH_BYTE_LENGTH];
+        ByteBuffer.wrap(hash).asIntBuffer().put(state);
+        Arrays.fill(state, 0);
+        return hash;
+
+    }
+
+    /**
+     * Compress one block of bytes into the state.
+     * @param state : the state
+     * @param block : the bytes
+     * @param offset : the offset of the block
+     * @param w : the message schedule to work in
+     */
+    private static void compress(int[] state, byte[] block, int offset, int[] w) {
+
+        for (int i = 0; i < 16; i++, offset += 4) {
+            w[i] = (block[offset] << 24) | ((block[offset + 1] & 0xff) << 16) | ((block[offset + 2] & 0xff) << 8) | (block[offset + 3] & 0xff);
+        }
+        compress(state, w);
+
+    }
+
+    /**
+     * The SHA-256 compression function (FIPS 180-4).
+     * @param state : the state
+     * @param w : the message schedule, the block in its first 16 words
+     */
+    private static void compress(int[] state, int[] w) {
+
+        for (int i = 16; i < 64; i++) {
+            int w15 = w[i - 15];
+            int w2 = w[i - 2];
+            int s0 = Integer.rotateRight(w15, 7) ^ Integer.rotateRight(w15, 18) ^ (w15 >>> 3);
+            int s1 = Integer.rotateRight(w2, 17) ^ Integer.rotateRight(w2, 19) ^ (w2 >>> 10);
+            w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+        }
+
+        int a = state[0], b = state[1], c = state[2], d = state[3];
+        int e = state[4], f = state[5], g = state[6], h = state[7];
+        for (int i = 0; i < 64; i++) {
+            int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+            int ch = (e & f) ^ (~e & g);
+            int t1 = h + s1 + ch + K[i] + w[i];
+            int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+            int maj = (a & b) ^ (a & c) ^ (b & c);
+            int t2 = s0 + maj;
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
+
+    }
+
+}
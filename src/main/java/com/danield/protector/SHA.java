@@ -1,21 +1,148 @@
 package com.danield.protector;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
 /**
  * The {@code SHA} class provides secure hashing using SHA-256/384/512 algorithms.
+ * <p>
+ * The message digests are cached per thread, so hashing does not look up a new digest on every call.
+ * Data that is not available in one piece can be hashed with a {@link Hasher}, files of any size with {@link #SHA256(File)}.
  * @author Daniel D
- * @version 0.1
+ * @version 0.3
  */
 public class SHA {
 
     private static final String SHA256_ALGORITHM = "SHA-256";
     private static final String SHA384_ALGORITHM = "SHA-384";
     private static final String SHA512_ALGORITHM = "SHA-512";
+    /** Length of a SHA-256 hash in bytes. */
+    public static final int SHA256_BYTE_LENGTH = 32;
+    private static final ThreadLocal<MessageDigest> SHA256_DIGEST = ThreadLocal.withInitial(() -> newMessageDigest(SHA256_ALGORITHM));
+    private static final ThreadLocal<MessageDigest> SHA384_DIGEST = ThreadLocal.withInitial(() -> newMessageDigest(SHA384_ALGORITHM));
+    private static final ThreadLocal<MessageDigest> SHA512_DIGEST = ThreadLocal.withInitial(() -> newMessageDigest(SHA512_ALGORITHM));
+    private static final long MAPPING_BYTE_LENGTH = 64L * 1024 * 1024; // files get mapped in windows of this size
 
     private SHA() {} // we don't want this class to be instantiated.
 
+    /**
+     * The {@code Hasher} class hashes data that is fed in pieces. After {@link #digest()} it starts over.
+     * <p>
+     * An instance is not thread-safe.
+     */
+    public static final class Hasher {
+
+        private final MessageDigest messageDigest;
+
+        private Hasher(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+
+        /**
+         * @param data : the byte to append
+         * @return this hasher
+         */
+        public Hasher update(byte data) {
+            messageDigest.update(data);
+            return this;
+        }
+
+        /**
+         * @param data : the data to append
+         * @return this hasher
+         */
+        public Hasher update(byte[] data) {
+            messageDigest.update(data);
+            return this;
+        }
+
+        /**
+         * @param data : the data to append from its position to its limit. the position of the buffer is not changed.
+         * @return this hasher
+         */
+        public Hasher update(ByteBuffer data) {
+            int position = data.position();
+            messageDigest.update(data);
+            data.position(position);
+            return this;
+        }
+
+        /**
+         * Finish the hash and start over.
+         * @return the resulting hash
+         */
+        public byte[] digest() {
+            return messageDigest.digest();
+        }
+
+        /**
+         * Finish the hash without allocating the result and start over.
+         * @param hash : receives the resulting hash
+         * @param offset : the offset in {@code hash}
+         * @return {@code true} on success, {@code false} on failure
+         */
+        public boolean digest(byte[] hash, int offset) {
+
+            try {
+                messageDigest.digest(hash, offset, messageDigest.getDigestLength());
+                return true;
+            } catch (DigestException e) {
+                e.printStackTrace();
+                return false;
+            }
+
+        }
+
+    }
+
+    /**
+     * Create a message digest for the per-thread cache.
+     * @param algorithm : the algorithm
+     * @return the message digest <b>OR {@code null} if the algorithm is not supported.</b>
+     */
+    private static MessageDigest newMessageDigest(String algorithm) {
+
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+    }
+
+    /**
+     * Get the cached message digest of the current thread, ready to be used.
+     * @param cache : the cache
+     * @return the message digest <b>OR {@code null} if the algorithm is not supported.</b>
+     */
+    private static MessageDigest getMessageDigest(ThreadLocal<MessageDigest> cache) {
+
+        MessageDigest messageDigest = cache.get();
+        if (messageDigest != null) {
+            messageDigest.reset();
+        }
+        return messageDigest;
+
+    }
+
+    /**
+     * Create a {@link Hasher} for incremental hashing using the SHA-256 algorithm.
+     * @return the hasher. <b>OR {@code null} on failure.</b>
+     */
+    public static Hasher newSHA256() {
+
+        MessageDigest messageDigest = newMessageDigest(SHA256_ALGORITHM);
+        return messageDigest == null ? null : new Hasher(messageDigest);
+
+    }
+
     /**
      * Securely perfom hashing using the SHA-256 algorithm.
      * @param data : the data (to hash)
@@ -23,14 +150,80 @@ public class SHA {
      */
     public static byte[] SHA256(byte[] data) {
 
-        MessageDigest messageDigest;
+        MessageDigest messageDigest = getMessageDigest(SHA256_DIGEST);
+        if (messageDigest == null) {
+            return null;
+        }
+        messageDigest.update(data);
+        return messageDigest.digest();
+
+    }
+
+    /**
+     * Securely perfom hashing using the SHA-256 algorithm.
+     * @param data : the data (to hash) from its position to its limit. the position of the buffer is not changed.
+     * @return the resulting hash. <b>OR {@code null} on failure.</b>
+     */
+    public static byte[] SHA256(ByteBuffer data) {
+
+        MessageDigest messageDigest = getMessageDigest(SHA256_DIGEST);
+        if (messageDigest == null) {
+            return null;
+        }
+        int position = data.position();
+        messageDigest.update(data);
+        data.position(position);
+        return messageDigest.digest();
+
+    }
+
+    /**
+     * Securely perfom hashing using the SHA-256 algorithm, without allocating the result.
+     * @param data : the data (to hash) from its position to its limit. the position of the buffer is not changed.
+     * @param hash : receives the resulting hash
+     * @param offset : the offset in {@code hash}, {@value #SHA256_BYTE_LENGTH} bytes get written
+     * @return {@code true} on success, {@code false} on failure
+     */
+    public static boolean SHA256(ByteBuffer data, byte[] hash, int offset) {
+
+        MessageDigest messageDigest = getMessageDigest(SHA256_DIGEST);
+        if (messageDigest == null) {
+            return false;
+        }
+        int position = data.position();
+        messageDigest.update(data);
+        data.position(position);
         try {
-            messageDigest = MessageDigest.getInstance(SHA256_ALGORITHM);
-        } catch (NoSuchAlgorithmException e) {
+            messageDigest.digest(hash, offset, SHA256_BYTE_LENGTH);
+            return true;
+        } catch (DigestException e) {
             e.printStackTrace();
+            return false;
+        }
+
+    }
+
+    /**
+     * Securely perfom hashing of a whole file using the SHA-256 algorithm.
+     * <p>
+     * The file is memory-mapped in windows of 64 MiB which are streamed through the digest,
+     * so files of several hundred MB (or disk images) never have to fit on the heap.
+     * @param file : the file (to hash)
+     * @return the resulting hash. <b>OR {@code null} on failure.</b>
+     * @throws IOException if the file can not be read
+     */
+    public static byte[] SHA256(File file) throws IOException {
+
+        MessageDigest messageDigest = getMessageDigest(SHA256_DIGEST);
+        if (messageDigest == null) {
             return null;
         }
-        messageDigest.update(data);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAPPING_BYTE_LENGTH) {
+                messageDigest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_BYTE_LENGTH, size - position)));
+            }
+        }
         return messageDigest.digest();
 
     }
@@ -41,12 +234,9 @@ public class SHA {
      * @return the resulting hash. <b>OR {@code null} on failure.</b>
      */
     public static byte[] SHA384(byte[] data) {
-        
-        MessageDigest messageDigest;
-        try {
-            messageDigest = MessageDigest.getInstance(SHA384_ALGORITHM);
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
+
+        MessageDigest messageDigest = getMessageDigest(SHA384_DIGEST);
+        if (messageDigest == null) {
             return null;
         }
         messageDigest.update(data);
@@ -61,16 +251,13 @@ public class SHA {
      */
     public static byte[] SHA512(byte[] data) {
 
-        MessageDigest messageDigest;
-        try {
-            messageDigest = MessageDigest.getInstance(SHA512_ALGORITHM);
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
+        MessageDigest messageDigest = getMessageDigest(SHA512_DIGEST);
+        if (messageDigest == null) {
             return null;
         }
         messageDigest.update(data);
         return messageDigest.digest();
-        
+
     }
 
 }
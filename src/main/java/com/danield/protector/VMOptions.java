@@ -0,0 +1,35 @@
+package com.danield.protector;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * The {@code VMOptions} class reads options of the HotSpot virtual machine, e.g. whether or not an intrinsic is used.
+ * @author Daniel D
+ * @version 0.1
+ */
+final class VMOptions {
+
+    private VMOptions() {} // we don't want this class to be instantiated.
+
+    /**
+     * Check whether or not a boolean option of the virtual machine is enabled.
+     * @param name : the name of the option, e.g. "UseAES"
+     * @return {@code true} if the option is enabled, {@code false} if it is disabled or can not be read (not HotSpot, or the management modules are not available)
+     */
+    static boolean isEnabled(String name) {
+
+        try {
+            Object option = ManagementFactory.getPlatformMBeanServer().invoke(new ObjectName("com.sun.management:type=HotSpotDiagnostic"),
+                "getVMOption", new Object[] { name }, new String[] { String.class.getName() });
+            return Boolean.parseBoolean(String.valueOf(((CompositeData)option).get("value")));
+        }
+        catch (Exception | LinkageError e) {
+            return false;
+        }
+
+    }
+
+}
@@ -2,6 +2,7 @@ open module com.danield.passwordmanager {
     
     requires transitive javafx.controls;
     requires javafx.fxml;
+    requires java.management;
 
     exports com.danield.passwordmanager;
 
@@ -0,0 +1,224 @@
+package com.danield.passwordgenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code MarkovTableGenerator} class writes the table of {@link MarkovTables}. It is a build tool, not part of the application.
+ * <p>
+ * Run it from the project directory with:
+ * <pre>
+ * java src/tools/java/com/danield/passwordgenerator/MarkovTableGenerator.java /usr/share/common-licenses src/main/java/com/danield/passwordgenerator/MarkovTables.java
+ * </pre>
+ * <p>
+ * Corpus: every file of the directory (the license texts of Debian's base-files package: Apache-2.0, Artistic, BSD, CC0-1.0,
+ * GFDL-1.2, GFDL-1.3, GPL-1, GPL-2, GPL-3, LGPL-2, LGPL-2.1, LGPL-3, MPL-1.1, MPL-2.0), the symlinks GFDL, GPL and LGPL are read once.
+ * The texts are decoded as UTF-8 (invalid bytes are dropped) and lowercased. Every run of the letters a-z with at least 2 letters is a word,
+ * the table that is checked in was counted from 35,940 words.
+ * <p>
+ * Counting: every letter of a word is counted in the context of the two letters before it, {@code START} standing in for the letters
+ * before the first one, and also in the context of the last letter alone (bigram) and without context (unigram).
+ * <p>
+ * Back-off: the start state {@code (START, START)} always uses its own counts. Every other state uses its trigram counts if it has
+ * at least {@value #MIN_SAMPLES} samples, otherwise the bigram counts of its last letter if there are any, otherwise the unigram counts.
+ * <p>
+ * Scaling: the counts of a state are scaled to a total of 256 by the largest remainder method: every letter gets the integer part of
+ * its share, the remaining units go to the letters with the largest fractional parts (ties to the earlier letter).
+ * @author Daniel D
+ */
+public class MarkovTableGenerator {
+
+	private static final int LETTERS = 26;
+	private static final int START = LETTERS;
+	private static final int TOTAL_WEIGHT = 256;
+	private static final int MIN_SAMPLES = 32;
+	private static final int STATES_PER_LINE = 9;
+	private static final String TABLE_START = "\tprivate static final char[] CUMULATIVE = (";
+	private static final String TABLE_END = "\t).toCharArray();";
+
+	private MarkovTableGenerator() {}
+
+	/**
+	 * @param args : the corpus directory and the MarkovTables.java file to rewrite
+	 * @throws IOException if a file can not be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+
+		if (args.length != 2) {
+			System.err.println("usage: MarkovTableGenerator <corpus directory> <MarkovTables.java>");
+			System.exit(2);
+		}
+
+		// Count
+		long[][] trigrams = new long[(LETTERS + 1) * (LETTERS + 1)][LETTERS];
+		long[][] bigrams = new long[LETTERS][LETTERS];
+		long[] unigrams = new long[LETTERS];
+		int words = 0;
+		Pattern word = Pattern.compile("[a-z]+");
+		for (String text : readCorpus(new File(args[0]))) {
+			String lowerCaseText = text.toLowerCase(Locale.ROOT);
+			Matcher matcher = word.matcher(lowerCaseText);
+			while (matcher.find()) {
+				if (matcher.end() - matcher.start() < 2) {
+					continue;
+				}
+				words++;
+				int a = START;
+				int b = START;
+				for (int i = matcher.start(); i < matcher.end(); i++) {
+					int c = lowerCaseText.charAt(i) - 'a';
+					trigrams[a * (LETTERS + 1) + b][c]++;
+					if (b != START) {
+						bigrams[b][c]++;
+					}
+					unigrams[c]++;
+					a = b;
+					b = c;
+				}
+			}
+		}
+
+		// Back off and scale
+		List<int[]> rows = new ArrayList<int[]>();
+		for (int a = 0; a <= LETTERS; a++) {
+			for (int b = 0; b <= LETTERS; b++) {
+				long[] counts = trigrams[a * (LETTERS + 1) + b];
+				if (!(a == START && b == START) && sum(counts) < MIN_SAMPLES) {
+					counts = b != START && sum(bigrams[b]) > 0 ? bigrams[b] : unigrams;
+				}
+				rows.add(cumulate(scale(counts)));
+			}
+		}
+
+		// Rewrite the table
+		Path file = new File(args[1]).toPath();
+		List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		int start = lines.indexOf(TABLE_START);
+		int end = lines.indexOf(TABLE_END);
+		if (start == -1 || end < start) {
+			throw new IOException("table not found in " + file + ".");
+		}
+		List<String> table = new ArrayList<String>();
+		for (int row = 0; row < rows.size(); row += STATES_PER_LINE) {
+			StringBuilder line = new StringBuilder(table.isEmpty() ? "\t\t  \"" : "\t\t+ \"");
+			for (int[] cumulative : rows.subList(row, Math.min(row + STATES_PER_LINE, rows.size()))) {
+				for (int value : cumulative) {
+					line.append(toLiteral(value));
+				}
+			}
+			table.add(line.append('"').toString());
+		}
+		List<String> rewritten = new ArrayList<String>(lines.subList(0, start + 1));
+		rewritten.addAll(table);
+		rewritten.addAll(lines.subList(end, lines.size()));
+		Files.write(file, rewritten, StandardCharsets.UTF_8);
+		System.out.printf("%d words, %d states%n", words, rows.size());
+
+	}
+
+	/**
+	 * Read every file of the corpus once, in the order of their names.
+	 * @param directory : the corpus directory
+	 * @return the texts
+	 * @throws IOException if a file can not be read
+	 */
+	private static List<String> readCorpus(File directory) throws IOException {
+
+		String[] names = directory.list();
+		if (names == null) {
+			throw new IOException(directory + " is not a directory.");
+		}
+		Arrays.sort(names);
+		LinkedHashSet<Path> files = new LinkedHashSet<Path>(); // symlinks point to files that are already read
+		for (String name : names) {
+			Path path = new File(directory, name).toPath().toRealPath();
+			if (Files.isRegularFile(path)) {
+				files.add(path);
+			}
+		}
+		List<String> texts = new ArrayList<String>();
+		for (Path path : files) {
+			texts.add(StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.IGNORE)
+				.onUnmappableCharacter(CodingErrorAction.IGNORE)
+				.decode(ByteBuffer.wrap(Files.readAllBytes(path)))
+				.toString());
+		}
+		return texts;
+
+	}
+
+	private static long sum(long[] counts) {
+		return Arrays.stream(counts).sum();
+	}
+
+	/**
+	 * Scale counts to a total of {@value #TOTAL_WEIGHT} by the largest remainder method.
+	 * @param counts : the counts, not all 0
+	 * @return the weights
+	 */
+	private static int[] scale(long[] counts) {
+
+		long total = sum(counts);
+		int[] weights = new int[LETTERS];
+		double[] remainders = new double[LETTERS];
+		int rest = TOTAL_WEIGHT;
+		for (int letter = 0; letter < LETTERS; letter++) {
+			double exact = (double)(counts[letter] * TOTAL_WEIGHT) / total;
+			weights[letter] = (int)exact;
+			remainders[letter] = exact - weights[letter];
+			rest -= weights[letter];
+		}
+		Integer[] letters = new Integer[LETTERS];
+		for (int letter = 0; letter < LETTERS; letter++) {
+			letters[letter] = letter;
+		}
+		Arrays.sort(letters, (x, y) -> Double.compare(remainders[y], remainders[x])); // stable, ties keep the earlier letter first
+		for (int i = 0; i < rest; i++) {
+			weights[letters[i]]++;
+		}
+		return weights;
+
+	}
+
+	private static int[] cumulate(int[] weights) {
+
+		int[] cumulative = new int[LETTERS];
+		int sum = 0;
+		for (int letter = 0; letter < LETTERS; letter++) {
+			sum += weights[letter];
+			cumulative[letter] = sum;
+		}
+		return cumulative;
+
+	}
+
+	/**
+	 * @param value : a cumulative weight, 0 to 256
+	 * @return the value as a char in a Java string literal
+	 */
+	private static String toLiteral(int value) {
+
+		if (value == TOTAL_WEIGHT) {
+			return "\\u0100";
+		}
+		if (value >= 32 && value < 127 && value != '"' && value != '\\') {
+			return String.valueOf((char)value);
+		}
+		return String.format("\\%03o", value);
+
+	}
+
+}